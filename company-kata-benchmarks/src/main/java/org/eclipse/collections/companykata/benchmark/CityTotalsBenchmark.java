@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The total order value by city, summed over every customer and read from the city totals that {@link Company} keeps
+ * up to date, for a plain and a concurrent company.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CityTotalsBenchmark
+{
+    @Param({"false", "true"})
+    public boolean concurrent;
+
+    private Company company;
+
+    @Setup
+    public void setUp()
+    {
+        Company plain = CompanyBenchmarkData.company(100_000);
+        if (this.concurrent)
+        {
+            this.company = Company.newConcurrentCompany(plain.getName());
+            plain.getCustomers().each(this.company::addCustomer);
+        }
+        else
+        {
+            this.company = plain;
+        }
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> sumByCity()
+    {
+        return this.company.getCustomers().sumByDouble(Customer::getCity, Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> materializedView()
+    {
+        return this.company.getTotalOrderValuesByCity();
+    }
+}
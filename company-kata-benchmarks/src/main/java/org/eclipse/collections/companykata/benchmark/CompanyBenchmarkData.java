@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.Random;
+
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+
+/**
+ * Builds companies of a given size for the benchmarks. The data is generated from a fixed seed so that every run of
+ * a benchmark sees the same company.
+ */
+public final class CompanyBenchmarkData
+{
+    public static final String[] CITIES = {"London", "Liphook", "Leeds", "York", "Bath", "Derby", "Ely", "Wells"};
+    public static final String[] ITEMS = {
+            "shed", "big shed", "huge shed", "cup", "saucer", "bowl", "dog", "cat", "goldfish", "gnome",
+            "table", "sofa", "chair", "kettle", "plasma screen", "sandwich toaster"};
+
+    private CompanyBenchmarkData()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    public static String customerName(int index)
+    {
+        return "Customer " + index;
+    }
+
+    /**
+     * Creates a company with the given number of customers, each with one order of a few line items.
+     */
+    public static Company company(int customerCount)
+    {
+        return CompanyBenchmarkData.company(customerCount, 1, 3);
+    }
+
+    public static Company company(int customerCount, int ordersPerCustomer, int lineItemsPerOrder)
+    {
+        Random random = new Random(42L);
+        Order.resetNextOrderNumber();
+        Company company = new Company("Benchmark Supplies");
+        for (int i = 0; i < customerCount; i++)
+        {
+            Customer customer = new Customer(CompanyBenchmarkData.customerName(i), CITIES[random.nextInt(CITIES.length)]);
+            for (int j = 0; j < ordersPerCustomer; j++)
+            {
+                Order order = new Order();
+                for (int k = 0; k < lineItemsPerOrder; k++)
+                {
+                    LineItem item = new LineItem(ITEMS[random.nextInt(ITEMS.length)], (1 + random.nextInt(2000)) / 4.0);
+                    order.addLineItems(item, 1 + random.nextInt(3));
+                }
+                customer.addOrder(order);
+            }
+            company.addCustomer(customer);
+        }
+        return company;
+    }
+}
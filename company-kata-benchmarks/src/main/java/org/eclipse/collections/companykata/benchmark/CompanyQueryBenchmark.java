@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanyDataGenerator;
+import org.eclipse.collections.companykata.CompanyQuery;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares "undelivered orders of a rare item by customers in a city" as a chain of {@code select} and
+ * {@code flatCollect} calls over the customers with the same query through {@link CompanyQuery}, which looks the item
+ * up in the item index, and through {@link CompanyQuery#withoutIndexes()}, which scans lazily.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CompanyQueryBenchmark
+{
+    private static final String CITY = CompanyDataGenerator.cityName(0);
+    private static final String ITEM = CompanyDataGenerator.itemName(500);
+
+    @Param({"100000"})
+    public int customers;
+
+    private Company company;
+
+    @Setup
+    public void setUp()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            this.company = new CompanyDataGenerator(42L)
+                    .withCustomers(this.customers)
+                    .generate("Benchmark Supplies", executor);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public MutableList<Order> chainedSelect()
+    {
+        return this.company.getCustomers()
+                .selectWith(Customer::livesIn, CITY)
+                .flatCollect(Customer::getOrders)
+                .select(order -> !order.isDelivered() && order.containsItemNamed(ITEM));
+    }
+
+    @Benchmark
+    public MutableList<Order> plannedQuery()
+    {
+        return this.query().getOrders();
+    }
+
+    @Benchmark
+    public MutableList<Order> scannedQuery()
+    {
+        return this.query().withoutIndexes().getOrders();
+    }
+
+    private CompanyQuery query()
+    {
+        return this.company.query().inCity(CITY).orderedItemNamed(ITEM).delivered(false);
+    }
+}
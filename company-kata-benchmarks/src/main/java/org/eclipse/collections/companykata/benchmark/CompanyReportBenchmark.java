@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the boxed {@code aggregateBy} totals by item from Exercise8Test with the primitive-accumulator reports on
+ * {@link Company}. Every invocation folds {@link #ROWS} line items, so scores and the GC profiler's
+ * {@code gc.alloc.rate.norm} are per line item. Run {@link #main(String[])} to get the allocation figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(CompanyReportBenchmark.ROWS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CompanyReportBenchmark
+{
+    static final int ROWS = 1_000_000;
+    private static final int ORDERS_PER_CUSTOMER = 2;
+    private static final int LINE_ITEMS_PER_ORDER = 5;
+
+    private Company company;
+
+    @Setup
+    public void setUp()
+    {
+        this.company = CompanyBenchmarkData.company(
+                ROWS / (ORDERS_PER_CUSTOMER * LINE_ITEMS_PER_ORDER),
+                ORDERS_PER_CUSTOMER,
+                LINE_ITEMS_PER_ORDER);
+    }
+
+    @Benchmark
+    public MutableMap<String, Double> boxedAggregateBy()
+    {
+        return this.company
+                .getOrders()
+                .flatCollect(Order::getLineItems)
+                .aggregateBy(LineItem::getName, () -> 0.0, (result, lineItem) -> result + lineItem.getValue());
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> flatCollectSumByDouble()
+    {
+        return this.company
+                .getOrders()
+                .flatCollect(Order::getLineItems)
+                .sumByDouble(LineItem::getName, LineItem::getValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> primitiveAccumulator()
+    {
+        return this.company.sumLineItemValuesBy(LineItem::getName);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> primitiveAccumulatorInParallel()
+    {
+        return this.company.sumLineItemValuesByInParallel(LineItem::getName, ForkJoinPool.commonPool(), 10_000);
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+                .include(CompanyReportBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
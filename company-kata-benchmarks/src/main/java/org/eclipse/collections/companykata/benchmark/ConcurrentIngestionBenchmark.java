@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ingestion of customers, orders and line items into a concurrent {@link Company} compared with a plain company
+ * guarded by a single lock. Every ingestion adds a new customer with an order, adds a line item to the order after it
+ * is attached, and adds an order to one of a fixed set of existing customers. Run {@link #main(String[])} to measure
+ * at 1 to 64 threads, or pass {@code -t} to the benchmarks jar for a single thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentIngestionBenchmark
+{
+    private static final int EXISTING_CUSTOMERS = 1_024;
+
+    private final AtomicInteger nextCustomer = new AtomicInteger();
+    private Company concurrentCompany;
+    private Company synchronizedCompany;
+    private Customer[] concurrentCustomers;
+    private Customer[] synchronizedCustomers;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        this.nextCustomer.set(0);
+        this.concurrentCompany = Company.newConcurrentCompany("Concurrent Supplies");
+        this.synchronizedCompany = new Company("Synchronized Supplies");
+        this.concurrentCustomers = ConcurrentIngestionBenchmark.addCustomers(this.concurrentCompany);
+        this.synchronizedCustomers = ConcurrentIngestionBenchmark.addCustomers(this.synchronizedCompany);
+    }
+
+    private static Customer[] addCustomers(Company company)
+    {
+        Customer[] customers = new Customer[EXISTING_CUSTOMERS];
+        for (int i = 0; i < EXISTING_CUSTOMERS; i++)
+        {
+            customers[i] = new Customer("Existing " + i, CompanyBenchmarkData.CITIES[i % CompanyBenchmarkData.CITIES.length]);
+            company.addCustomer(customers[i]);
+        }
+        return customers;
+    }
+
+    @Benchmark
+    public Customer concurrentCompany()
+    {
+        int index = this.nextCustomer.getAndIncrement();
+        return ConcurrentIngestionBenchmark.ingest(this.concurrentCompany, this.concurrentCustomers, index);
+    }
+
+    @Benchmark
+    public Customer synchronizedCompany()
+    {
+        int index = this.nextCustomer.getAndIncrement();
+        synchronized (this.synchronizedCompany)
+        {
+            return ConcurrentIngestionBenchmark.ingest(this.synchronizedCompany, this.synchronizedCustomers, index);
+        }
+    }
+
+    private static Customer ingest(Company company, Customer[] existingCustomers, int index)
+    {
+        Customer customer = new Customer(
+                CompanyBenchmarkData.customerName(index),
+                CompanyBenchmarkData.CITIES[index % CompanyBenchmarkData.CITIES.length]);
+        Order order = Order.newColumnarOrder();
+        order.addLineItems(new LineItem(CompanyBenchmarkData.ITEMS[index % CompanyBenchmarkData.ITEMS.length], 7.5), 2);
+        customer.addOrder(order);
+        company.addCustomer(customer);
+        order.addLineItem(new LineItem(CompanyBenchmarkData.ITEMS[(index + 1) % CompanyBenchmarkData.ITEMS.length], 12.25));
+
+        Order repeatOrder = Order.newColumnarOrder();
+        existingCustomers[index & (EXISTING_CUSTOMERS - 1)].addOrder(repeatOrder);
+        repeatOrder.addLineItem(new LineItem(CompanyBenchmarkData.ITEMS[(index + 2) % CompanyBenchmarkData.ITEMS.length], 3.0));
+        return customer;
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        for (int threads = 1; threads <= 64; threads <<= 1)
+        {
+            new Runner(new OptionsBuilder()
+                    .include(ConcurrentIngestionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanyCsvLoader;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a CSV dump of orders with three rows per order and four orders per customer, with {@link CompanyCsvLoader}
+ * and by reading it line by line, splitting every line into strings and adding one line item per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CsvLoadBenchmark
+{
+    private static final int ROWS_PER_ORDER = 3;
+    private static final int ORDERS_PER_CUSTOMER = 4;
+
+    @Param("3000000")
+    public int rows;
+
+    private Path dump;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.dump = Files.createTempFile("orders", ".csv");
+        Random random = new Random(42L);
+        try (BufferedWriter writer = Files.newBufferedWriter(this.dump, StandardCharsets.UTF_8))
+        {
+            writer.write("customer,city,order,item,value,count\n");
+            for (int row = 0; row < this.rows; row++)
+            {
+                int order = row / ROWS_PER_ORDER;
+                int customer = order / ORDERS_PER_CUSTOMER;
+                int item = random.nextInt(CompanyBenchmarkData.ITEMS.length);
+                writer.write(CompanyBenchmarkData.customerName(customer));
+                writer.write(',');
+                writer.write(CompanyBenchmarkData.CITIES[customer % CompanyBenchmarkData.CITIES.length]);
+                writer.write(',');
+                writer.write(Integer.toString(order + 1));
+                writer.write(',');
+                writer.write(CompanyBenchmarkData.ITEMS[item]);
+                writer.write(',');
+                writer.write(Double.toString((1 + item * 37 % 400) / 4.0));
+                writer.write(',');
+                writer.write(Integer.toString(1 + random.nextInt(3)));
+                writer.write('\n');
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(this.dump);
+    }
+
+    @Benchmark
+    public Company mappedLoader() throws IOException
+    {
+        Company company = new Company("Benchmark Supplies");
+        CompanyCsvLoader.load(company, this.dump);
+        return company;
+    }
+
+    @Benchmark
+    public Company splitLines() throws IOException
+    {
+        Order.resetNextOrderNumber();
+        Company company = new Company("Benchmark Supplies");
+        MutableIntObjectMap<Order> orders = new IntObjectHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(this.dump, StandardCharsets.UTF_8))
+        {
+            reader.readLine();
+            for (String line = reader.readLine(); line != null; line = reader.readLine())
+            {
+                String[] fields = line.split(",");
+                Customer customer = company.getCustomerNamed(fields[0]);
+                if (customer == null)
+                {
+                    customer = new Customer(fields[0], fields[1]);
+                    company.addCustomer(customer);
+                }
+                Order order = orders.get(Integer.parseInt(fields[2]));
+                if (order == null)
+                {
+                    order = Order.newColumnarOrder();
+                    orders.put(Integer.parseInt(fields[2]), order);
+                    customer.addOrder(order);
+                }
+                order.addLineItems(new LineItem(fields[3], Double.parseDouble(fields[4])), Integer.parseInt(fields[5]));
+            }
+        }
+        return company;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link Company#getCustomerNamed(String)}, which uses the name index, with a linear detect over
+ * {@link Company#getCustomers()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CustomerLookupBenchmark
+{
+    @Param({"10000", "100000", "1000000"})
+    public int size;
+
+    private Company company;
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp()
+    {
+        this.company = CompanyBenchmarkData.company(this.size);
+        this.names = new String[1024];
+        for (int i = 0; i < this.names.length; i++)
+        {
+            this.names[i] = CompanyBenchmarkData.customerName((int) ((long) i * this.size / this.names.length));
+        }
+    }
+
+    private String nextName()
+    {
+        this.next = (this.next + 1) & (this.names.length - 1);
+        return this.names[this.next];
+    }
+
+    @Benchmark
+    public Customer indexed()
+    {
+        return this.company.getCustomerNamed(this.nextName());
+    }
+
+    @Benchmark
+    public Customer scan()
+    {
+        String name = this.nextName();
+        return this.company.getCustomers().detect(customer -> customer.getName().equals(name));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counting and listing the undelivered orders by asking every order, and from the delivery bitmap of {@link Company}.
+ * Every customer has four columnar orders and nine in ten orders are delivered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DeliveryIndexBenchmark
+{
+    private static final int ORDERS_PER_CUSTOMER = 4;
+
+    @Param({"1000000", "10000000"})
+    public int orders;
+
+    private Company company;
+
+    @Setup
+    public void setUp()
+    {
+        Order.resetNextOrderNumber();
+        this.company = new Company("Benchmark Supplies");
+        for (int i = 0; i < this.orders / ORDERS_PER_CUSTOMER; i++)
+        {
+            Customer customer = new Customer(CompanyBenchmarkData.customerName(i), "London");
+            for (int j = 0; j < ORDERS_PER_CUSTOMER; j++)
+            {
+                Order order = Order.newColumnarOrder();
+                order.addLineItem(new LineItem(CompanyBenchmarkData.ITEMS[j], 1.5));
+                if ((i * ORDERS_PER_CUSTOMER + j) % 10 != 0)
+                {
+                    order.deliver();
+                }
+                customer.addOrder(order);
+            }
+            this.company.addCustomer(customer);
+        }
+    }
+
+    @Benchmark
+    public int countUndeliveredScan()
+    {
+        return this.company.ordersView().count(order -> !order.isDelivered());
+    }
+
+    @Benchmark
+    public int countUndeliveredBitmap()
+    {
+        return this.company.getUndeliveredOrderCount();
+    }
+
+    @Benchmark
+    public MutableList<Order> undeliveredOrdersScan()
+    {
+        return this.company.getOrders().reject(Order::isDelivered);
+    }
+
+    @Benchmark
+    public MutableList<Order> undeliveredOrdersBitmap()
+    {
+        return this.company.getUndeliveredOrders();
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.multimap.Multimap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanyDataGenerator;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.eclipse.collections.companykata.Supplier;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The queries of Exercise1Test to Exercise8Test, each run eagerly on the company's lists, lazily through
+ * {@code asLazy()} and in parallel through {@code asParallel()}. The company comes from {@link CompanyDataGenerator}
+ * with about {@link #LINE_ITEMS_PER_CUSTOMER} line items per customer, so {@code rows} is the number of line items.
+ * Its orders are columnar, which keeps ten million rows within the heap but means that {@link Order#getLineItems()}
+ * creates a bag on each call.
+ * <p/>
+ * Parallel iterables have no {@code sumByDouble}, so the parallel totals by city use {@code aggregateBy} and the
+ * parallel totals by item use {@link Company#sumLineItemValuesByInParallel}.
+ * <p/>
+ * Run {@link #main(String[])} to write the results as JSON, e.g. to compare them with those of an earlier build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExerciseQueryBenchmark
+{
+    static final int LINE_ITEMS_PER_CUSTOMER = 5;
+    private static final int BATCH_SIZE = 10_000;
+    private static final String CITY = CompanyDataGenerator.cityName(1);
+    private static final String ITEM = CompanyDataGenerator.itemName(10);
+    private static final double ORDER_VALUE = 500.0;
+
+    @Param({"1000", "100000", "10000000"})
+    public int rows;
+
+    private Company company;
+    private MutableList<Customer> customers;
+    private MutableList<Supplier> suppliers;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.company = new CompanyDataGenerator(42L)
+                .withCustomers(this.rows / LINE_ITEMS_PER_CUSTOMER)
+                .generate("Benchmark Supplies", this.executor);
+        this.customers = this.company.getCustomers();
+        this.suppliers = this.company.getSuppliers();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    // Exercise 1: get the name of each customer
+
+    @Benchmark
+    public MutableList<String> customerNamesEager()
+    {
+        return this.customers.collect(Customer::getName);
+    }
+
+    @Benchmark
+    public MutableList<String> customerNamesLazy()
+    {
+        return this.customers.asLazy().collect(Customer::getName).toList();
+    }
+
+    @Benchmark
+    public MutableList<String> customerNamesParallel()
+    {
+        return this.customers.asParallel(this.executor, BATCH_SIZE).collect(Customer::getName).toList();
+    }
+
+    // Exercise 2: how many customers live in a city
+
+    @Benchmark
+    public int customersInCityEager()
+    {
+        return this.customers.countWith(Customer::livesIn, CITY);
+    }
+
+    @Benchmark
+    public int customersInCityLazy()
+    {
+        return this.customers.asLazy().countWith(Customer::livesIn, CITY);
+    }
+
+    @Benchmark
+    public int customersInCityParallel()
+    {
+        return this.customers.asParallel(this.executor, BATCH_SIZE).count(customer -> customer.livesIn(CITY));
+    }
+
+    // Exercise 3: get the orders, and all the item names that have been ordered
+
+    @Benchmark
+    public MutableList<Order> ordersEager()
+    {
+        return this.company.getOrders();
+    }
+
+    @Benchmark
+    public MutableList<Order> ordersLazy()
+    {
+        return this.company.ordersView().toList();
+    }
+
+    @Benchmark
+    public MutableList<Order> ordersParallel()
+    {
+        return this.company.ordersViewInParallel(this.executor, BATCH_SIZE).toList();
+    }
+
+    @Benchmark
+    public MutableSet<String> itemNamesEager()
+    {
+        return this.company.getOrders().flatCollect(Order::getLineItems).collect(LineItem::getName).toSet();
+    }
+
+    @Benchmark
+    public MutableSet<String> itemNamesLazy()
+    {
+        return this.company.ordersView().flatCollect(Order::getLineItems).collect(LineItem::getName).toSet();
+    }
+
+    @Benchmark
+    public MutableSet<String> itemNamesParallel()
+    {
+        return this.company.ordersViewInParallel(this.executor, BATCH_SIZE)
+                .flatCollect(Order::getLineItems)
+                .collect(LineItem::getName)
+                .toSet();
+    }
+
+    // Exercise 4: who supplies an item
+
+    @Benchmark
+    public Supplier supplierOfItemEager()
+    {
+        return this.suppliers.detect(supplier -> ArrayIterate.contains(supplier.getItemNames(), ITEM));
+    }
+
+    @Benchmark
+    public Supplier supplierOfItemLazy()
+    {
+        return this.suppliers.asLazy().detect(supplier -> ArrayIterate.contains(supplier.getItemNames(), ITEM));
+    }
+
+    @Benchmark
+    public Supplier supplierOfItemParallel()
+    {
+        return this.suppliers.asParallel(this.executor, 1)
+                .detect(supplier -> ArrayIterate.contains(supplier.getItemNames(), ITEM));
+    }
+
+    // Exercise 5: get the orders with a value above a threshold
+
+    @Benchmark
+    public MutableList<Order> valuableOrdersEager()
+    {
+        return this.company.getOrders().select(order -> order.getValue() > ORDER_VALUE);
+    }
+
+    @Benchmark
+    public MutableList<Order> valuableOrdersLazy()
+    {
+        return this.company.ordersView().select(order -> order.getValue() > ORDER_VALUE).toList();
+    }
+
+    @Benchmark
+    public MutableList<Order> valuableOrdersParallel()
+    {
+        return this.company.ordersViewInParallel(this.executor, BATCH_SIZE)
+                .select(order -> order.getValue() > ORDER_VALUE)
+                .toList();
+    }
+
+    // Exercise 6: the maximum total order value of a customer
+
+    @Benchmark
+    public double maximumTotalOrderValueEager()
+    {
+        return this.customers.collectDouble(Customer::getTotalOrderValue).max();
+    }
+
+    @Benchmark
+    public double maximumTotalOrderValueLazy()
+    {
+        return this.customers.asLazy().collectDouble(Customer::getTotalOrderValue).max();
+    }
+
+    @Benchmark
+    public double maximumTotalOrderValueParallel()
+    {
+        return this.customers.asParallel(this.executor, BATCH_SIZE)
+                .maxBy(Customer::getTotalOrderValue)
+                .getTotalOrderValue();
+    }
+
+    // Exercise 7: group the customers by city
+
+    @Benchmark
+    public Multimap<String, Customer> customersByCityEager()
+    {
+        return this.customers.groupBy(Customer::getCity);
+    }
+
+    @Benchmark
+    public Multimap<String, Customer> customersByCityLazy()
+    {
+        return this.customers.asLazy().groupBy(Customer::getCity);
+    }
+
+    @Benchmark
+    public Multimap<String, Customer> customersByCityParallel()
+    {
+        return this.customers.asParallel(this.executor, BATCH_SIZE).groupBy(Customer::getCity);
+    }
+
+    // Exercise 8: total order values by city and by item
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByCityEager()
+    {
+        return this.customers.sumByDouble(Customer::getCity, Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByCityLazy()
+    {
+        return this.customers.asLazy().sumByDouble(Customer::getCity, Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public MapIterable<String, Double> totalsByCityParallel()
+    {
+        return this.customers.asParallel(this.executor, BATCH_SIZE)
+                .aggregateBy(Customer::getCity, () -> 0.0, (total, customer) -> total + customer.getTotalOrderValue());
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByItemEager()
+    {
+        return this.company.getOrders()
+                .flatCollect(Order::getLineItems)
+                .sumByDouble(LineItem::getName, LineItem::getValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByItemLazy()
+    {
+        return this.company.ordersView()
+                .flatCollect(Order::getLineItems)
+                .sumByDouble(LineItem::getName, LineItem::getValue);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByItemParallel()
+    {
+        return this.company.sumLineItemValuesByInParallel(LineItem::getName, this.executor, BATCH_SIZE);
+    }
+
+    // Customer.orderedItemNamed: how many customers ordered an item
+
+    @Benchmark
+    public int customersWhoOrderedItemEager()
+    {
+        return this.customers.countWith(Customer::orderedItemNamed, ITEM);
+    }
+
+    @Benchmark
+    public int customersWhoOrderedItemLazy()
+    {
+        return this.customers.asLazy().countWith(Customer::orderedItemNamed, ITEM);
+    }
+
+    @Benchmark
+    public int customersWhoOrderedItemParallel()
+    {
+        return this.customers.asParallel(this.executor, BATCH_SIZE)
+                .count(customer -> customer.orderedItemNamed(ITEM));
+    }
+
+    /**
+     * Runs the benchmarks and writes the results as JSON to the file named by the first argument, or to
+     * {@code exercise-queries.json}.
+     */
+    public static void main(String[] args) throws RunnerException
+    {
+        String resultFile = args.length > 0 ? args[0] : "exercise-queries.json";
+        new Runner(new OptionsBuilder()
+                .include(ExerciseQueryBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build()).run();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.factory.Bags;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanyDataGenerator;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.ItemCooccurrence;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares "customers who bought X also bought Y" through nested {@code flatCollect} and bags of item names with the
+ * packed primitive counts of {@link ItemCooccurrence}, both for one item and for all pairs of items. Run
+ * {@link #main(String[])} to get the allocation figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemCooccurrenceBenchmark
+{
+    private static final String ITEM = CompanyDataGenerator.itemName(3);
+    private static final int NEIGHBORS = 10;
+
+    @Param({"100000"})
+    public int customers;
+
+    private Company company;
+    private ItemCooccurrence cooccurrence;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp()
+    {
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.company = new CompanyDataGenerator(42L)
+                .withCustomers(this.customers)
+                .withColumnarOrders(false)
+                .generate("Benchmark Supplies", this.executor);
+        this.cooccurrence = this.company.getItemCooccurrence();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Benchmark
+    public MutableList<ObjectIntPair<String>> alsoBoughtNested()
+    {
+        return this.company.getCustomers()
+                .selectWith(Customer::orderedItemNamed, ITEM)
+                .flatCollect(ItemCooccurrenceBenchmark::itemNames)
+                .countBy(itemName -> itemName)
+                .topOccurrences(NEIGHBORS + 1)
+                .reject(pair -> ITEM.equals(pair.getOne()));
+    }
+
+    @Benchmark
+    public MutableList<ObjectIntPair<String>> alsoBoughtMatrix()
+    {
+        return this.cooccurrence.topNeighbors(ITEM, NEIGHBORS);
+    }
+
+    @Benchmark
+    public MutableBag<String> allPairsNested()
+    {
+        MutableBag<String> pairs = Bags.mutable.empty();
+        this.company.getCustomers().collect(ItemCooccurrenceBenchmark::itemNames).each(basket ->
+                basket.each(item -> basket.each(other ->
+                {
+                    if (item.compareTo(other) < 0)
+                    {
+                        pairs.add(item + '|' + other);
+                    }
+                })));
+        return pairs;
+    }
+
+    @Benchmark
+    public ItemCooccurrence allPairsMatrix()
+    {
+        return this.company.getItemCooccurrence();
+    }
+
+    @Benchmark
+    public ItemCooccurrence allPairsMatrixInParallel()
+    {
+        return this.company.getItemCooccurrenceInParallel(this.executor, 10_000);
+    }
+
+    private static MutableSet<String> itemNames(Customer customer)
+    {
+        return customer.getOrders().flatCollect(Order::getLineItems).collect(LineItem::getName).toSet();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+                .include(ItemCooccurrenceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
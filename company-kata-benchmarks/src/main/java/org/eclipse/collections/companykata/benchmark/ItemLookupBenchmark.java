@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares "who ordered X" through the company's item index with the nested scan of
+ * {@link Customer#orderedItemNamed(String)}. The footprint of the index is reported by {@code CompanyMemoryTest} in
+ * the company-kata-solutions module.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemLookupBenchmark
+{
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"gnome", "plasma screen"})
+    public String itemName;
+
+    private Company company;
+
+    @Setup
+    public void setUp()
+    {
+        this.company = CompanyBenchmarkData.company(this.size, 2, 3);
+    }
+
+    @Benchmark
+    public SetIterable<Customer> indexed()
+    {
+        return this.company.getCustomersWhoOrderedItemNamed(this.itemName);
+    }
+
+    @Benchmark
+    public MutableList<Customer> scan()
+    {
+        return this.company.getCustomers().selectWith(Customer::orderedItemNamed, this.itemName);
+    }
+}
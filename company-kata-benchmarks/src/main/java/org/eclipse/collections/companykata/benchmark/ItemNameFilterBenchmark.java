@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanyDataGenerator;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Miss-heavy item lookups with and without the per-order Bloom filter of {@link Order#setItemNameFilterEnabled}.
+ * The rare item is the last of a Zipf-distributed catalog, so almost every {@link Order#containsItemNamed(String)}
+ * misses, and the absent item is not ordered by anybody, so {@link Customer#orderedItemNamed(String)} is answered by
+ * the company's filter. {@link #customersWhoOrderedAbsentItemScan()} is the scan over the orders that it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ItemNameFilterBenchmark
+{
+    private static final int ITEMS = 1_000;
+    private static final String RARE_ITEM = CompanyDataGenerator.itemName(ITEMS - 1);
+    private static final String ABSENT_ITEM = CompanyDataGenerator.itemName(ITEMS);
+
+    @Param({"100000"})
+    public int customers;
+
+    @Param({"false", "true"})
+    public boolean orderFilter;
+
+    private MutableList<Customer> customerList;
+    private MutableList<Order> orders;
+
+    @Setup
+    public void setUp()
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Order.setItemNameFilterEnabled(this.orderFilter);
+        try
+        {
+            Company company = new CompanyDataGenerator(42L)
+                    .withCustomers(this.customers)
+                    .withItems(ITEMS, 1.0)
+                    .withColumnarOrders(false)
+                    .generate("Benchmark Supplies", executor);
+            this.customerList = company.getCustomers();
+            this.orders = company.getOrders();
+        }
+        finally
+        {
+            Order.setItemNameFilterEnabled(false);
+            executor.shutdown();
+        }
+    }
+
+    @Benchmark
+    public int ordersContainingRareItem()
+    {
+        return this.orders.countWith(Order::containsItemNamed, RARE_ITEM);
+    }
+
+    @Benchmark
+    public int customersWhoOrderedRareItem()
+    {
+        return this.customerList.countWith(Customer::orderedItemNamed, RARE_ITEM);
+    }
+
+    @Benchmark
+    public int customersWhoOrderedAbsentItem()
+    {
+        return this.customerList.countWith(Customer::orderedItemNamed, ABSENT_ITEM);
+    }
+
+    @Benchmark
+    public int customersWhoOrderedAbsentItemScan()
+    {
+        return this.customerList.countWith(
+                (customer, itemName) -> customer.getOrders().anySatisfyWith(Order::containsItemNamed, itemName),
+                ABSENT_ITEM);
+    }
+}
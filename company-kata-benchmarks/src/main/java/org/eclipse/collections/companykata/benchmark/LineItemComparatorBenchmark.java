@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.impl.factory.SortedBags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the string comparator that orders used before item names were interned with {@link LineItem#byName()},
+ * which recognizes equal names by id, when line items are added to a sorted bag as in an order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LineItemComparatorBenchmark
+{
+    private static final Comparator<LineItem> BY_NAME_STRING = Comparators.byFunction(LineItem::getName);
+
+    private LineItem[] lineItems;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42L);
+        this.lineItems = new LineItem[1024];
+        for (int i = 0; i < this.lineItems.length; i++)
+        {
+            String name = CompanyBenchmarkData.ITEMS[random.nextInt(CompanyBenchmarkData.ITEMS.length)];
+            this.lineItems[i] = new LineItem(new String(name.toCharArray()), 1.5);
+        }
+    }
+
+    private MutableSortedBag<LineItem> addAll(Comparator<LineItem> comparator)
+    {
+        MutableSortedBag<LineItem> bag = SortedBags.mutable.empty(comparator);
+        for (LineItem lineItem : this.lineItems)
+        {
+            bag.add(lineItem);
+        }
+        return bag;
+    }
+
+    @Benchmark
+    public MutableSortedBag<LineItem> compareNames()
+    {
+        return this.addAll(BY_NAME_STRING);
+    }
+
+    @Benchmark
+    public MutableSortedBag<LineItem> compareNameIds()
+    {
+        return this.addAll(LineItem.byName());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the city and item totals computed with {@code double} values and with fixed-point {@code long}
+ * minor units. Each order has five distinct line items, so the number of customers is a tenth of the line items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MoneyAggregationBenchmark
+{
+    @Param({"1000000", "10000000"})
+    public int lineItems;
+
+    private Company company;
+
+    @Setup
+    public void setUp()
+    {
+        this.company = CompanyBenchmarkData.company(this.lineItems / 10, 2, 5);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByCityDouble()
+    {
+        return this.company.getCustomers().sumByDouble(Customer::getCity, Customer::getTotalOrderValue);
+    }
+
+    @Benchmark
+    public ObjectLongMap<String> totalsByCityMinorUnits()
+    {
+        return this.company.getTotalOrderValuesInMinorUnitsByCity();
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> totalsByItemDouble()
+    {
+        return this.company.getOrders().flatCollect(Order::getLineItems).sumByDouble(LineItem::getName, LineItem::getValue);
+    }
+
+    @Benchmark
+    public ObjectLongMap<String> totalsByItemMinorUnits()
+    {
+        return this.company.getTotalOrderValuesInMinorUnitsByItem();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.MutationLog;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Ingestion of customers with four orders of three line items each into a company without a {@link MutationLog}, and
+ * with one that is committed once at the end or after every thousand customers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MutationLogBenchmark
+{
+    private static final int ORDERS_PER_CUSTOMER = 4;
+    private static final int LINE_ITEMS_PER_ORDER = 3;
+
+    @Param("100000")
+    public int customers;
+
+    private Path path;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.path = Files.createTempFile("company", ".log");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(this.path);
+    }
+
+    @Benchmark
+    public Company withoutLog() throws IOException
+    {
+        Company company = new Company("Benchmark Supplies");
+        this.ingest(company, null, 0);
+        return company;
+    }
+
+    @Benchmark
+    public Company commitAtEnd() throws IOException
+    {
+        Company company = new Company("Benchmark Supplies");
+        try (MutationLog log = MutationLog.create(company, this.path))
+        {
+            this.ingest(company, log, 0);
+        }
+        return company;
+    }
+
+    @Benchmark
+    public Company commitEveryThousandCustomers() throws IOException
+    {
+        Company company = new Company("Benchmark Supplies");
+        try (MutationLog log = MutationLog.create(company, this.path))
+        {
+            this.ingest(company, log, 1_000);
+        }
+        return company;
+    }
+
+    private void ingest(Company company, MutationLog log, int commitEvery) throws IOException
+    {
+        Random random = new Random(42L);
+        Order.resetNextOrderNumber();
+        for (int i = 0; i < this.customers; i++)
+        {
+            Customer customer = new Customer(
+                    CompanyBenchmarkData.customerName(i),
+                    CompanyBenchmarkData.CITIES[random.nextInt(CompanyBenchmarkData.CITIES.length)]);
+            company.addCustomer(customer);
+            for (int j = 0; j < ORDERS_PER_CUSTOMER; j++)
+            {
+                Order order = Order.newColumnarOrder();
+                customer.addOrder(order);
+                for (int k = 0; k < LINE_ITEMS_PER_ORDER; k++)
+                {
+                    String name = CompanyBenchmarkData.ITEMS[random.nextInt(CompanyBenchmarkData.ITEMS.length)];
+                    order.addLineItems(new LineItem(name, (1 + random.nextInt(2000)) / 4.0), 1 + random.nextInt(3));
+                }
+            }
+            if (commitEvery > 0 && (i + 1) % commitEvery == 0)
+            {
+                log.commit();
+            }
+        }
+    }
+}
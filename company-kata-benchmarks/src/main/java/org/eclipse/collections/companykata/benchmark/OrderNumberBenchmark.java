@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.collections.companykata.Order;
+import org.eclipse.collections.companykata.OrderNumberAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Order number allocation from a single shared {@link AtomicInteger} compared with per-thread blocks leased from
+ * {@link OrderNumberAllocator}, and end to end order creation. Run {@link #main(String[])} to measure at 1 to 64
+ * threads, or pass {@code -t} to the benchmarks jar for a single thread count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrderNumberBenchmark
+{
+    private final AtomicInteger sharedCounter = new AtomicInteger(1);
+    private final OrderNumberAllocator blockAllocator = new OrderNumberAllocator();
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        this.sharedCounter.set(1);
+        this.blockAllocator.reset();
+        Order.resetNextOrderNumber();
+    }
+
+    @Benchmark
+    public int sharedCounter()
+    {
+        return this.sharedCounter.getAndIncrement();
+    }
+
+    @Benchmark
+    public int blockAllocator()
+    {
+        return this.blockAllocator.next();
+    }
+
+    @Benchmark
+    public Order newOrder()
+    {
+        return Order.newColumnarOrder();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        for (int threads = 1; threads <= 64; threads <<= 1)
+        {
+            new Runner(new OptionsBuilder()
+                    .include(OrderNumberBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
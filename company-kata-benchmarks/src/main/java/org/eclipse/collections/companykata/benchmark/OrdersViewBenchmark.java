@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Exercise-style queries over all orders, answered by copying them with {@link Company#getOrders()}, through the lazy
+ * {@link Company#ordersView()}, and through {@link Company#ordersViewInParallel(ExecutorService, int)}. Every customer
+ * has four orders and every third order is delivered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class OrdersViewBenchmark
+{
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "1000000"})
+    public int customers;
+
+    private Company company;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp()
+    {
+        this.company = CompanyBenchmarkData.company(this.customers, 4, 2);
+        MutableList<Order> orders = this.company.getOrders();
+        for (int i = 0; i < orders.size(); i += 3)
+        {
+            orders.get(i).deliver();
+        }
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Benchmark
+    public int deliveredOrdersCopy()
+    {
+        return this.company.getOrders().count(Order::isDelivered);
+    }
+
+    @Benchmark
+    public int deliveredOrdersView()
+    {
+        return this.company.ordersView().count(Order::isDelivered);
+    }
+
+    @Benchmark
+    public int deliveredOrdersParallelView()
+    {
+        return this.company.ordersViewInParallel(this.executor, BATCH_SIZE).count(Order::isDelivered);
+    }
+
+    @Benchmark
+    public double totalValueCopy()
+    {
+        return this.company.getOrders().sumOfDouble(Order::getValue);
+    }
+
+    @Benchmark
+    public double totalValueView()
+    {
+        return this.company.ordersView().sumOfDouble(Order::getValue);
+    }
+
+    @Benchmark
+    public double totalValueParallelView()
+    {
+        return this.company.ordersViewInParallel(this.executor, BATCH_SIZE).sumOfDouble(Order::getValue);
+    }
+
+    @Benchmark
+    public Order firstUndeliveredOrderView()
+    {
+        return this.company.ordersView().detect(order -> !order.isDelivered());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanyDataGenerator;
+import org.eclipse.collections.companykata.RevenueRollup;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares "revenue in the last N minutes by city" by scanning the orders of a company and by summing the buckets of
+ * a {@link RevenueRollup} of one-minute buckets kept over a day. The orders are spread over the day before a fixed
+ * clock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RevenueRollupBenchmark
+{
+    private static final long NOW = 1_609_545_600_000L;
+    private static final Duration DAY = Duration.ofDays(1L);
+
+    @Param({"100000"})
+    public int customers;
+
+    @Param({"15", "1440"})
+    public int minutes;
+
+    private Company company;
+    private RevenueRollup rollup;
+    private Duration window;
+
+    @Setup
+    public void setUp()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try
+        {
+            this.company = new CompanyDataGenerator(42L)
+                    .withCustomers(this.customers)
+                    .withTimestamps(NOW - DAY.toMillis(), NOW)
+                    .generate("Benchmark Supplies", executor);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW - 1L), ZoneOffset.UTC);
+        this.rollup = this.company.addRevenueRollup(Duration.ofMinutes(1L), (int) DAY.toMinutes(), clock);
+        this.window = Duration.ofMinutes(this.minutes);
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> revenueByCityScan()
+    {
+        long from = NOW - this.window.toMillis();
+        MutableObjectDoubleMap<String> result = new ObjectDoubleHashMap<>();
+        this.company.getCustomers().each(customer -> customer.getOrders().each(order ->
+        {
+            if (order.getTimestamp() >= from && order.getTimestamp() < NOW)
+            {
+                result.addToValue(customer.getCity(), order.getValue());
+            }
+        }));
+        return result;
+    }
+
+    @Benchmark
+    public ObjectDoubleMap<String> revenueByCityRollup()
+    {
+        return this.rollup.getRevenueByCity(this.window);
+    }
+}
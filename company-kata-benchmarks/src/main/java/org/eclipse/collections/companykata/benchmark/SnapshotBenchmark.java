@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.CompanySnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold start of a company of four orders per customer: building it through the add methods as
+ * {@link CompanyBenchmarkData} does, loading it from a {@link CompanySnapshot}, and writing the snapshot. Run it with
+ * {@code -gc true}, so that the garbage of one single-shot iteration is not collected in the next.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SnapshotBenchmark
+{
+    private static final int ORDERS_PER_CUSTOMER = 4;
+
+    @Param("1000000")
+    public int orders;
+
+    private Company company;
+    private Path snapshot;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        this.company = CompanyBenchmarkData.company(this.orders / ORDERS_PER_CUSTOMER, ORDERS_PER_CUSTOMER, 3);
+        this.snapshot = Files.createTempFile("company", ".snapshot");
+        CompanySnapshot.write(this.company, this.snapshot);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        Files.deleteIfExists(this.snapshot);
+    }
+
+    @Benchmark
+    public Company rebuild()
+    {
+        return CompanyBenchmarkData.company(this.orders / ORDERS_PER_CUSTOMER, ORDERS_PER_CUSTOMER, 3);
+    }
+
+    @Benchmark
+    public Company loadSnapshot() throws IOException
+    {
+        return CompanySnapshot.read(this.snapshot);
+    }
+
+    @Benchmark
+    public Path writeSnapshot() throws IOException
+    {
+        CompanySnapshot.write(this.company, this.snapshot);
+        return this.snapshot;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.Customer;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.eclipse.collections.companykata.Supplier;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Finding the suppliers of an item, and the ordered items that no supplier can supply, by scanning every supplier's
+ * item names and through the supplier index of {@link Company}. Each supplier supplies five of
+ * {@value #ITEM_NAMES} item names, and the last tenth of the names are ordered but never supplied.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SupplierLookupBenchmark
+{
+    private static final int ITEM_NAMES = 20_000;
+    private static final int SUPPLIED_ITEM_NAMES = ITEM_NAMES * 9 / 10;
+    private static final int CUSTOMERS = 10_000;
+    private static final int ITEMS_PER_SUPPLIER = 5;
+
+    @Param("100000")
+    public int suppliers;
+
+    private Company company;
+    private String[] itemNames;
+    private int nextItem;
+
+    @Setup
+    public void setUp()
+    {
+        Random random = new Random(42L);
+        this.itemNames = new String[ITEM_NAMES];
+        for (int i = 0; i < ITEM_NAMES; i++)
+        {
+            this.itemNames[i] = "item " + i;
+        }
+        this.company = new Company("Benchmark Supplies");
+        for (int i = 0; i < this.suppliers; i++)
+        {
+            String[] supplied = new String[ITEMS_PER_SUPPLIER];
+            for (int j = 0; j < ITEMS_PER_SUPPLIER; j++)
+            {
+                supplied[j] = this.itemNames[random.nextInt(SUPPLIED_ITEM_NAMES)];
+            }
+            this.company.addSupplier(new Supplier("Supplier " + i, supplied));
+        }
+        for (int i = 0; i < CUSTOMERS; i++)
+        {
+            Customer customer = new Customer(CompanyBenchmarkData.customerName(i), "London");
+            Order order = new Order();
+            for (int j = 0; j < 5; j++)
+            {
+                order.addLineItem(new LineItem(this.itemNames[random.nextInt(ITEM_NAMES)], 1.0));
+            }
+            customer.addOrder(order);
+            this.company.addCustomer(customer);
+        }
+    }
+
+    private String nextItemName()
+    {
+        this.nextItem = (this.nextItem + 7919) % ITEM_NAMES;
+        return this.itemNames[this.nextItem];
+    }
+
+    @Benchmark
+    public ListIterable<Supplier> suppliersForItemScan()
+    {
+        String itemName = this.nextItemName();
+        return this.company.getSuppliers().select(supplier -> ArrayIterate.contains(supplier.getItemNames(), itemName));
+    }
+
+    @Benchmark
+    public ListIterable<Supplier> suppliersForItemIndex()
+    {
+        return this.company.getSuppliersOfItemNamed(this.nextItemName());
+    }
+
+    @Benchmark
+    public MutableSet<String> itemsWithNoSupplierScan()
+    {
+        MutableSet<String> supplied = this.company.getSuppliers().flatCollect(
+                supplier -> Lists.mutable.with(supplier.getItemNames()),
+                Sets.mutable.empty());
+        return this.company.getOrders()
+                .flatCollect(Order::getLineItems)
+                .collect(LineItem::getName, Sets.mutable.empty())
+                .reject(supplied::contains);
+    }
+
+    @Benchmark
+    public MutableSet<String> itemsWithNoSupplierIndex()
+    {
+        return this.company.getItemNamesWithoutSupplier();
+    }
+}
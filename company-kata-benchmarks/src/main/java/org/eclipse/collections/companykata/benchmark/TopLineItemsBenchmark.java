@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata.benchmark;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.companykata.Company;
+import org.eclipse.collections.companykata.LineItem;
+import org.eclipse.collections.companykata.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The K most expensive line items of a company of 1,000,000 line items, by sorting every line item as in the
+ * Exercise 8 extra credit, and with the bounded heaps of {@link Company#topLineItemsBy}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TopLineItemsBenchmark
+{
+    private static final int LINE_ITEMS = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10", "1000"})
+    public int k;
+
+    private Company company;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp()
+    {
+        this.company = CompanyBenchmarkData.company(LINE_ITEMS / 10, 2, 5);
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        this.executor.shutdown();
+    }
+
+    @Benchmark
+    public MutableList<LineItem> fullSort()
+    {
+        return this.company.getOrders()
+                .flatCollect(Order::getLineItems)
+                .sortThis(Comparator.comparingDouble(LineItem::getValue).reversed())
+                .take(this.k);
+    }
+
+    @Benchmark
+    public MutableList<LineItem> boundedHeap()
+    {
+        return this.company.topLineItemsBy(this.k, LineItem::getValue);
+    }
+
+    @Benchmark
+    public MutableList<LineItem> boundedHeapInParallel()
+    {
+        return this.company.topLineItemsByInParallel(this.k, LineItem::getValue, this.executor, BATCH_SIZE);
+    }
+}
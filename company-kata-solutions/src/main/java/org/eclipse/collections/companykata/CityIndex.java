@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.multimap.list.SynchronizedPutFastListMultimap;
+
+/**
+ * An index from city to the {@link Customer}s who live there, in the order they were added. It is kept up to date by
+ * {@link Company} as customers are added.
+ * <p/>
+ * The index of a concurrent company synchronizes puts on the list of each city, and its lookups return a copy of the
+ * list taken under the same monitor instead of a view.
+ */
+final class CityIndex
+{
+    private final MutableListMultimap<String, Customer> customersByCity;
+    private final boolean concurrent;
+
+    CityIndex()
+    {
+        this(Multimaps.mutable.list.empty(), false);
+    }
+
+    private CityIndex(MutableListMultimap<String, Customer> customersByCity, boolean concurrent)
+    {
+        this.customersByCity = customersByCity;
+        this.concurrent = concurrent;
+    }
+
+    static CityIndex newConcurrentIndex()
+    {
+        return new CityIndex(SynchronizedPutFastListMultimap.newMultimap(), true);
+    }
+
+    void add(Customer customer)
+    {
+        this.customersByCity.put(customer.getCity(), customer);
+    }
+
+    ListIterable<Customer> getCustomers(String city)
+    {
+        MutableList<Customer> list = this.customersByCity.get(city);
+        if (!this.concurrent)
+        {
+            return list.asUnmodifiable();
+        }
+        synchronized (list)
+        {
+            return list.toImmutable();
+        }
+    }
+}
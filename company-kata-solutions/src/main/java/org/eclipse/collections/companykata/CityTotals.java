@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * A materialized view of the total order value of the customers in each city. It is kept up to date by
+ * {@link Company} with the value of each order added to a customer and of each line item added to an order, so
+ * reading it does not scan the customers. Totals are kept both as doubles and exactly in minor currency units.
+ * <p/>
+ * The totals of a concurrent company are kept in a {@link DoubleAdder} and a {@link LongAdder} per city, so they can
+ * be read while orders are being added without taking the customer locks; reads return a snapshot.
+ */
+final class CityTotals
+{
+    private final MutableObjectDoubleMap<String> values;
+    private final MutableObjectLongMap<String> valuesInMinorUnits;
+    private final ConcurrentHashMap<String, Adders> adders;
+
+    CityTotals()
+    {
+        this.values = new ObjectDoubleHashMap<>();
+        this.valuesInMinorUnits = new ObjectLongHashMap<>();
+        this.adders = null;
+    }
+
+    private CityTotals(ConcurrentHashMap<String, Adders> adders)
+    {
+        this.values = null;
+        this.valuesInMinorUnits = null;
+        this.adders = adders;
+    }
+
+    static CityTotals newConcurrentView()
+    {
+        return new CityTotals(ConcurrentHashMap.newMap());
+    }
+
+    void add(Customer customer, double value, long valueInMinorUnits)
+    {
+        String city = customer.getCity();
+        if (this.adders == null)
+        {
+            this.values.addToValue(city, value);
+            this.valuesInMinorUnits.addToValue(city, valueInMinorUnits);
+        }
+        else
+        {
+            Adders cityAdders = this.adders.getIfAbsentPut(city, Adders::new);
+            cityAdders.value.add(value);
+            cityAdders.valueInMinorUnits.add(valueInMinorUnits);
+        }
+    }
+
+    /**
+     * Returns a read-only view of the totals, or a snapshot of them for a concurrent company.
+     */
+    ObjectDoubleMap<String> values()
+    {
+        if (this.adders == null)
+        {
+            return this.values.asUnmodifiable();
+        }
+        MutableObjectDoubleMap<String> snapshot = new ObjectDoubleHashMap<>();
+        this.adders.forEachKeyValue((city, cityAdders) -> snapshot.put(city, cityAdders.value.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Returns a read-only view of the exact totals, or a snapshot of them for a concurrent company.
+     */
+    ObjectLongMap<String> valuesInMinorUnits()
+    {
+        if (this.adders == null)
+        {
+            return this.valuesInMinorUnits.asUnmodifiable();
+        }
+        MutableObjectLongMap<String> snapshot = new ObjectLongHashMap<>();
+        this.adders.forEachKeyValue((city, cityAdders) -> snapshot.put(city, cityAdders.valueInMinorUnits.sum()));
+        return snapshot;
+    }
+
+    private static final class Adders
+    {
+        private final DoubleAdder value = new DoubleAdder();
+        private final LongAdder valueInMinorUnits = new LongAdder();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.impl.factory.SortedBags;
+
+/**
+ * Keeps the line items of an {@link Order} in parallel primitive arrays: the item name as its
+ * {@link LineItem#getNameId() id}, the value as a {@code double} and in minor units, and the number of occurrences. Line
+ * items are only created when they are read through {@link #asBag()} or {@link #forEachWithOccurrences}; the
+ * company's hooks read the columns through {@link #forEachColumns} instead.
+ */
+final class ColumnarLineItemStore implements LineItemStore
+{
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private long[] valuesInMinorUnits = new long[INITIAL_CAPACITY];
+    private int[] occurrences = new int[INITIAL_CAPACITY];
+    private int distinctSize;
+    private int size;
+
+    @Override
+    public LineItem add(LineItem item, int occurrences)
+    {
+        if (occurrences < 0)
+        {
+            throw new IllegalArgumentException("Cannot add a negative number of occurrences: " + occurrences);
+        }
+        int nameId = item.getNameId();
+        int index = this.indexOf(nameId);
+        if (occurrences == 0)
+        {
+            return index < 0 ? item : this.recordedAt(index, item);
+        }
+        if (index < 0)
+        {
+            index = this.distinctSize++;
+            this.ensureCapacity(this.distinctSize);
+            this.nameIds[index] = nameId;
+            this.values[index] = item.getValue();
+            this.valuesInMinorUnits[index] = item.getValueInMinorUnits();
+        }
+        this.occurrences[index] += occurrences;
+        this.size += occurrences;
+        return this.recordedAt(index, item);
+    }
+
+    /**
+     * Returns the item itself if the column values at the index are its own, so that the common case allocates
+     * nothing, and otherwise the line item recorded at the index.
+     */
+    private LineItem recordedAt(int index, LineItem item)
+    {
+        return this.values[index] == item.getValue() && this.valuesInMinorUnits[index] == item.getValueInMinorUnits()
+                ? item
+                : this.lineItemAt(index);
+    }
+
+    private int indexOf(int nameId)
+    {
+        for (int i = 0; i < this.distinctSize; i++)
+        {
+            if (this.nameIds[i] == nameId)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void ensureCapacity(int capacity)
+    {
+        if (capacity > this.nameIds.length)
+        {
+            int newCapacity = Math.max(capacity, this.nameIds.length << 1);
+            this.nameIds = Arrays.copyOf(this.nameIds, newCapacity);
+            this.values = Arrays.copyOf(this.values, newCapacity);
+            this.valuesInMinorUnits = Arrays.copyOf(this.valuesInMinorUnits, newCapacity);
+            this.occurrences = Arrays.copyOf(this.occurrences, newCapacity);
+        }
+    }
+
+    private LineItem lineItemAt(int index)
+    {
+        return new LineItem(this.nameIds[index], this.values[index], this.valuesInMinorUnits[index]);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns an unmodifiable sorted bag of line items created from the columns.
+     */
+    @Override
+    public Bag<LineItem> asBag()
+    {
+        MutableSortedBag<LineItem> bag = SortedBags.mutable.empty(SortedBagLineItemStore.BY_NAME);
+        for (int i = 0; i < this.distinctSize; i++)
+        {
+            bag.addOccurrences(this.lineItemAt(i), this.occurrences[i]);
+        }
+        return bag.asUnmodifiable();
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super LineItem> procedure)
+    {
+        for (int i = 0; i < this.distinctSize; i++)
+        {
+            procedure.value(this.lineItemAt(i), this.occurrences[i]);
+        }
+    }
+
+    /**
+     * Passes the columns of each line item without creating it.
+     */
+    @Override
+    public void forEachColumns(LineItemColumnsProcedure procedure)
+    {
+        for (int i = 0; i < this.distinctSize; i++)
+        {
+            procedure.value(this.nameIds[i], this.values[i], this.valuesInMinorUnits[i], this.occurrences[i]);
+        }
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        double sum = 0.0;
+        for (int i = 0; i < this.distinctSize; i++)
+        {
+            sum += this.values[i] * this.occurrences[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sumOfValuesInMinorUnits()
+    {
+        long sum = 0L;
+        for (int i = 0; i < this.distinctSize; i++)
+        {
+            sum += this.valuesInMinorUnits[i] * this.occurrences[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public boolean containsItemNamed(String itemName)
+    {
+        int nameId = ItemNameDictionary.shared().getIfPresent(itemName);
+        return nameId >= 0 && this.indexOf(nameId) >= 0;
+    }
+}
@@ -10,31 +10,116 @@
 
 package org.eclipse.collections.companykata;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
 import java.util.function.IntFunction;
 
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.ParallelIterable;
 import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
 import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.api.multimap.list.MutableListMultimap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.impl.factory.Multimaps;
 import org.eclipse.collections.impl.list.mutable.ArrayListAdapter;
 import org.eclipse.collections.impl.list.mutable.FastList;
+import org.eclipse.collections.impl.list.mutable.MultiReaderFastList;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.multimap.list.SynchronizedPutFastListMultimap;
 import org.junit.jupiter.api.Assertions;
 
 /**
  * A company has a {@link MutableList} of {@link Customer}s.  It has an array of {@link Supplier}s, and a name.
+ * Customers are also indexed by name so that {@link #getCustomerNamed(String)} does not need to scan the list, and
+ * by city; the orders and customers are indexed by the names of the items ordered. Orders are also kept in a bitmap
+ * by order number, so an order number can only be used by one order of a company. {@link #query()} combines these
+ * indexes.
+ * <p/>
+ * A company created with {@link #newConcurrentCompany(String)} can be built up from many threads at once: customers
+ * and suppliers can be added, and orders and line items added to its customers, without external locking. Each
+ * customer is changed under one of a set of striped locks, so ingestion for different customers runs in parallel.
+ * Readers that need a consistent view of several customers should run their query through
+ * {@link #withReadLock(Function)}. Customers and orders must not be shared between threads before they are added.
+ * <p/>
+ * The changes made to a company can be recorded in a {@link MutationLog}, from which it can be rebuilt, and its recent
+ * revenue can be rolled up by time in a {@link RevenueRollup}.
  */
 public class Company
 {
     private final String name;
-    private final MutableList<Customer> customers = Lists.mutable.empty();
-    private final MutableList<Supplier> suppliers = Lists.mutable.empty();
+    private final MutableList<Customer> customers;
+    private final MutableList<Supplier> suppliers;
+    private final MutableMap<String, Customer> customersByName;
+    private final MutableListMultimap<String, Customer> laterCustomersByName;
+    private final ItemIndex itemIndex;
+    private final SupplierIndex supplierIndex;
+    private final DeliveryIndex deliveryIndex;
+    private final CityIndex cityIndex;
+    private final CityTotals cityTotals;
+    private final ItemNameFilter itemNameFilter;
+    private final CustomerLocks locks;
+    private final AtomicLong version = new AtomicLong();
+    private volatile MutationLog mutationLog;
+    private volatile ImmutableList<RevenueRollup> revenueRollups = Lists.immutable.empty();
 
     public Company(String name)
     {
         this.name = name;
+        this.customers = Lists.mutable.empty();
+        this.suppliers = Lists.mutable.empty();
+        this.customersByName = Maps.mutable.empty();
+        this.laterCustomersByName = Multimaps.mutable.list.empty();
+        this.itemIndex = new ItemIndex();
+        this.supplierIndex = new SupplierIndex();
+        this.deliveryIndex = new DeliveryIndex();
+        this.cityIndex = new CityIndex();
+        this.cityTotals = new CityTotals();
+        this.itemNameFilter = new ItemNameFilter();
+        this.locks = null;
+    }
+
+    private Company(String name, CustomerLocks locks)
+    {
+        this.name = name;
+        this.customers = MultiReaderFastList.newList();
+        this.suppliers = MultiReaderFastList.newList();
+        this.customersByName = new ConcurrentHashMap<>();
+        this.laterCustomersByName = SynchronizedPutFastListMultimap.newMultimap();
+        this.itemIndex = ItemIndex.newConcurrentIndex();
+        this.supplierIndex = SupplierIndex.newConcurrentIndex();
+        this.deliveryIndex = DeliveryIndex.newConcurrentIndex();
+        this.cityIndex = CityIndex.newConcurrentIndex();
+        this.cityTotals = CityTotals.newConcurrentView();
+        this.itemNameFilter = ItemNameFilter.newConcurrentFilter();
+        this.locks = locks;
+    }
+
+    /**
+     * Creates a company that can be built up from many threads at once. Its customer and supplier lists are
+     * {@link MultiReaderFastList}s, so iterate over them with internal iterators rather than {@code iterator()}.
+     */
+    public static Company newConcurrentCompany(String name)
+    {
+        return new Company(name, new CustomerLocks());
     }
 
     public String getName()
@@ -42,9 +127,215 @@ public class Company
         return this.name;
     }
 
+    /**
+     * Adds the customer and indexes it by name. If a customer with the same name was added earlier,
+     * {@link #getCustomerNamed(String)} keeps returning the earlier one, which matches the "first match wins" behavior
+     * of a linear detect over the customer list, and {@link #getCustomersNamed(String)} returns both.
+     */
     public void addCustomer(Customer aCustomer)
     {
-        this.customers.add(aCustomer);
+        Lock lock = this.writeLockFor(aCustomer);
+        lock.lock();
+        try
+        {
+            aCustomer.setCompany(this);
+            this.customers.add(aCustomer);
+            this.indexByName(aCustomer);
+            this.cityIndex.add(aCustomer);
+            this.cityTotals.add(aCustomer, 0.0, 0L);
+            this.version.incrementAndGet();
+            MutationLog log = this.mutationLog;
+            if (log != null)
+            {
+                log.customerAdded(aCustomer);
+            }
+            aCustomer.getOrders().each(order -> this.orderAdded(aCustomer, order));
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds customers whose orders are complete, e.g. when a snapshot is loaded, and builds the indexes from them in
+     * bulk rather than through {@link #addCustomer(Customer)} and a hook per order and line item. No lock is taken
+     * and no mutation log or revenue rollup is told, so the company must be new and not yet shared with other
+     * threads. The version changes once.
+     */
+    void restoreCustomers(ListIterable<Customer> restored)
+    {
+        MutableMap<String, MutableList<Order>> ordersByItemName = Maps.mutable.empty();
+        MutableMap<String, MutableList<Customer>> customersByItemName = Maps.mutable.empty();
+        restored.each(customer ->
+        {
+            customer.setCompany(this);
+            this.indexByName(customer);
+            this.cityIndex.add(customer);
+            this.cityTotals.add(customer, customer.getTotalOrderValue(), customer.getTotalOrderValueInMinorUnits());
+            this.deliveryIndex.addAll(customer.getOrders());
+            customer.getOrders().each(order -> order.forEachLineItemColumns((nameId, value, minorUnits, occurrences) ->
+            {
+                String itemName = ItemNameDictionary.shared().nameOf(nameId);
+                ordersByItemName.getIfAbsentPut(itemName, Lists.mutable::empty).add(order);
+                MutableList<Customer> customers = customersByItemName.getIfAbsentPut(itemName, Lists.mutable::empty);
+                if (customers.isEmpty() || customers.getLast() != customer)
+                {
+                    customers.add(customer);
+                }
+            }));
+        });
+        this.customers.addAllIterable(restored);
+        ordersByItemName.forEachKeyValue((itemName, orders) ->
+        {
+            this.itemIndex.addAll(itemName, orders, customersByItemName.get(itemName));
+            this.itemNameFilter.add(itemName);
+        });
+        this.version.incrementAndGet();
+    }
+
+    private void indexByName(Customer customer)
+    {
+        if (this.customersByName.putIfAbsent(customer.getName(), customer) != null)
+        {
+            this.laterCustomersByName.put(customer.getName(), customer);
+        }
+    }
+
+    /**
+     * Returns the modification version of this company, which changes whenever a customer or supplier is added, an
+     * order is added to one of its customers, a line item is added to one of their orders, or one of their orders is
+     * delivered. A result computed from the company is still current while the version has not changed. Changes made
+     * directly to the lists returned by {@link #getCustomers()} and {@link #getSuppliers()} are not seen.
+     *
+     * @see ReportCache
+     */
+    public long getVersion()
+    {
+        return this.version.get();
+    }
+
+    public boolean isConcurrent()
+    {
+        return this.locks != null;
+    }
+
+    /**
+     * Returns the lock that guards changes to the customer, its orders and their line items, or the adding of the
+     * supplier.
+     */
+    Lock writeLockFor(Object customerOrSupplier)
+    {
+        return this.locks == null ? CustomerLocks.NO_LOCK : this.locks.writeLockFor(customerOrSupplier);
+    }
+
+    /**
+     * Evaluates the query against this company while no customer, supplier, order or line item is being added, e.g.
+     * {@code company.withReadLock(Company::getOrders)}. Ingestion waits until the query returns, so the query sees a
+     * consistent snapshot. For a company that is not concurrent the query is simply evaluated.
+     */
+    public <V> V withReadLock(Function<? super Company, ? extends V> query)
+    {
+        if (this.locks == null)
+        {
+            return query.valueOf(this);
+        }
+        return this.locks.withAllReadLocks(() -> query.valueOf(this));
+    }
+
+    /**
+     * Attaches the log that records the changes made to this company, or detaches it if the log is null.
+     */
+    void setMutationLog(MutationLog log)
+    {
+        this.mutationLog = log;
+    }
+
+    /**
+     * Creates a rollup of the revenue of this company by city and by item over the last {@code bucketCount} spans of
+     * {@code bucketWidth}, by the system clock, and fills it with the orders the company already has. It is kept up
+     * to date with the orders and line items added afterwards.
+     */
+    public RevenueRollup addRevenueRollup(Duration bucketWidth, int bucketCount)
+    {
+        return this.addRevenueRollup(bucketWidth, bucketCount, Clock.systemUTC());
+    }
+
+    /**
+     * Same as {@link #addRevenueRollup(Duration, int)}, but the window of a query ends at the time of the clock.
+     */
+    public RevenueRollup addRevenueRollup(Duration bucketWidth, int bucketCount, Clock clock)
+    {
+        RevenueRollup rollup = new RevenueRollup(bucketWidth, bucketCount, clock);
+        return this.withReadLock(company ->
+        {
+            synchronized (this)
+            {
+                this.revenueRollups = this.revenueRollups.newWith(rollup);
+            }
+            this.customers.each(customer -> customer.getOrders().each(order -> rollup.add(customer, order)));
+            return rollup;
+        });
+    }
+
+    /**
+     * Adds the order to the delivery index ahead of {@link #orderAdded(Customer, Order)}, so that an order number
+     * already used by another order is rejected with an {@link IllegalArgumentException} before the customer is
+     * changed. Claiming the number again from {@code orderAdded} does nothing.
+     */
+    void claimOrderNumber(Order order)
+    {
+        this.deliveryIndex.add(order);
+    }
+
+    /**
+     * Returns whether an order of this company has the order number.
+     */
+    boolean hasOrderNumbered(int orderNumber)
+    {
+        return this.deliveryIndex.contains(orderNumber);
+    }
+
+    void orderAdded(Customer customer, Order order)
+    {
+        this.itemIndex.addOrder(customer, order);
+        ItemNameDictionary dictionary = ItemNameDictionary.shared();
+        order.forEachLineItemColumns((nameId, value, valueInMinorUnits, occurrences) ->
+                this.itemNameFilter.add(dictionary.nameOf(nameId)));
+        this.deliveryIndex.add(order);
+        this.cityTotals.add(customer, order.getValue(), order.getValueInMinorUnits());
+        this.revenueRollups.each(rollup -> rollup.add(customer, order));
+        this.version.incrementAndGet();
+        MutationLog log = this.mutationLog;
+        if (log != null)
+        {
+            log.orderAdded(customer, order);
+        }
+    }
+
+    void orderDelivered(Customer customer, Order order)
+    {
+        this.deliveryIndex.delivered(order);
+        this.version.incrementAndGet();
+        MutationLog log = this.mutationLog;
+        if (log != null)
+        {
+            log.orderDelivered(order);
+        }
+    }
+
+    void lineItemsAdded(Customer customer, Order order, LineItem item, int count)
+    {
+        this.itemIndex.add(customer, order, item.getName());
+        this.itemNameFilter.add(item.getName());
+        this.cityTotals.add(customer, item.getValue() * count, item.getValueInMinorUnits() * count);
+        this.revenueRollups.each(rollup -> rollup.add(customer, order, item, count));
+        this.version.incrementAndGet();
+        MutationLog log = this.mutationLog;
+        if (log != null)
+        {
+            log.lineItemsAdded(order, item, count);
+        }
     }
 
     public MutableList<Customer> getCustomers()
@@ -62,33 +353,317 @@ public class Company
         return this.customers.flatCollect(Customer::getOrders);
     }
 
+    /**
+     * Returns a lazy view of the orders of all customers. Unlike {@link #getOrders()} no list is built; each
+     * terminal operation iterates over the customers' order lists in place, e.g.
+     * {@code ordersView().count(Order::isDelivered)}.
+     */
+    public LazyIterable<Order> ordersView()
+    {
+        return new OrdersView(this.customers);
+    }
+
+    /**
+     * Same as {@link #ordersView()}, but terminal operations process batches of customers on the executor.
+     */
+    public ParallelIterable<Order> ordersViewInParallel(ExecutorService executor, int batchSize)
+    {
+        return this.customers.asParallel(executor, batchSize).flatCollect(Customer::getOrders);
+    }
+
     public Customer getMostRecentCustomer()
     {
         return this.customers.getLast();
     }
 
     /**
-     * Simplify after refactoring to use a MutableList&lt;Supplier&gt;.
+     * Adds the supplier and indexes it by the items it can supply.
      */
     public void addSupplier(Supplier supplier)
     {
-
-        this.suppliers.add(supplier);
-
+        Lock lock = this.writeLockFor(supplier);
+        lock.lock();
+        try
+        {
+            this.suppliers.add(supplier);
+            this.supplierIndex.add(supplier);
+            this.version.incrementAndGet();
+            MutationLog log = this.mutationLog;
+            if (log != null)
+            {
+                log.supplierAdded(supplier);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
     }
 
     public MutableList<Supplier> getSuppliers()
     {
         return this.suppliers;
     }
-        /**
-     * Remove the Assertions.fail() and replace the null with an appropriate implementation.
-     * Use a {@link Predicate} to find a {@link Customer} with the name given.
+    /**
+     * Finds the first {@link Customer} added with the given name using the name index. The result is the same as
+     * {@code getCustomers().detect(customer -> customer.getName().equals(name))} for customers added through
+     * {@link #addCustomer(Customer)}.
      *
      * @see org.eclipse.collections.api.RichIterable#detect(Predicate)
      */
     public Customer getCustomerNamed(String name)
     {
-        return this.customers.detect(customer -> customer.getName().equals(name));
+        return this.customersByName.get(name);
+    }
+
+    /**
+     * Returns every customer added with the given name, the one {@link #getCustomerNamed(String)} returns first. Names
+     * are usually unique, so the customers after the first are kept in a separate index that is empty for most names.
+     */
+    public ListIterable<Customer> getCustomersNamed(String name)
+    {
+        Customer first = this.customersByName.get(name);
+        if (first == null)
+        {
+            return Lists.immutable.empty();
+        }
+        MutableList<Customer> later = this.laterCustomersByName.get(name);
+        if (!this.isConcurrent())
+        {
+            return later.isEmpty() ? Lists.immutable.with(first) : Lists.immutable.with(first).newWithAll(later);
+        }
+        synchronized (later)
+        {
+            return later.isEmpty() ? Lists.immutable.with(first) : Lists.immutable.with(first).newWithAll(later);
+        }
+    }
+
+    /**
+     * Returns the orders of this company's customers that contain at least one item with the given name.
+     */
+    public SetIterable<Order> getOrdersContainingItemNamed(String itemName)
+    {
+        return this.itemIndex.getOrders(itemName);
+    }
+
+    /**
+     * Returns {@code false} if none of this company's customers has ordered an item with the given name, and
+     * {@code true} if one of them might have. The answer comes from a Bloom filter of the ordered item names, so it
+     * takes no locks and does not look the name up in the item index.
+     */
+    boolean mightHaveOrderedItemNamed(String itemName)
+    {
+        return this.itemNameFilter.mightContain(itemName);
+    }
+
+    ItemNameFilter getItemNameFilter()
+    {
+        return this.itemNameFilter;
+    }
+
+    /**
+     * Returns the customers of this company that ordered an item with the given name. This is a single lookup in
+     * the item index rather than {@code getCustomers().selectWith(Customer::orderedItemNamed, itemName)}.
+     */
+    public SetIterable<Customer> getCustomersWhoOrderedItemNamed(String itemName)
+    {
+        return this.itemIndex.getCustomers(itemName);
+    }
+
+    /**
+     * Returns the customers of this company who live in the city, in the order they were added. This is a single
+     * lookup in the city index rather than {@code getCustomers().selectWith(Customer::livesIn, city)}.
+     */
+    public ListIterable<Customer> getCustomersInCity(String city)
+    {
+        return this.cityIndex.getCustomers(city);
+    }
+
+    /**
+     * Starts a query over the customers and orders of this company, which looks them up in one of the company's
+     * indexes where it can, see {@link CompanyQuery}.
+     */
+    public CompanyQuery query()
+    {
+        return new CompanyQuery(this);
+    }
+
+    DeliveryIndex getDeliveryIndex()
+    {
+        return this.deliveryIndex;
+    }
+
+    /**
+     * Returns the number of orders of this company's customers, without iterating over them.
+     */
+    public int getOrderCount()
+    {
+        return this.deliveryIndex.size();
+    }
+
+    /**
+     * Returns the number of undelivered orders from the delivery bitmap, without iterating over the orders.
+     */
+    public int getUndeliveredOrderCount()
+    {
+        return this.deliveryIndex.undeliveredCount();
+    }
+
+    /**
+     * Returns the undelivered orders in order number order. The orders are found from the delivery bitmap, a word of
+     * 64 order numbers at a time, rather than by asking every order whether it has been delivered.
+     */
+    public MutableList<Order> getUndeliveredOrders()
+    {
+        return this.deliveryIndex.getUndeliveredOrders();
+    }
+
+    /**
+     * Returns the suppliers that can supply the item, in the order they were added, using the supplier index rather
+     * than scanning every supplier's item names.
+     */
+    public ListIterable<Supplier> getSuppliersOfItemNamed(String itemName)
+    {
+        return this.supplierIndex.getSuppliers(itemName);
+    }
+
+    /**
+     * Returns the names of the items that have been ordered from this company but that no supplier can supply.
+     */
+    public MutableSet<String> getItemNamesWithoutSupplier()
+    {
+        return this.itemIndex.itemNames().reject(this.supplierIndex::isSupplied, Sets.mutable.empty());
+    }
+
+    /**
+     * Returns the total order value of the customers in each city, the same as
+     * {@code sumOrderValuesBy(Customer::getCity)} up to rounding. The totals are kept up to date as orders and line
+     * items are added, so no customer is scanned. The result is a live read-only view, or for a concurrent company a
+     * snapshot that can be taken while orders are being added.
+     */
+    public ObjectDoubleMap<String> getTotalOrderValuesByCity()
+    {
+        return this.cityTotals.values();
+    }
+
+    /**
+     * Returns the exact total order value of the customers in each city, in minor currency units. Like
+     * {@link #getTotalOrderValuesByCity()} the totals are kept up to date as orders and line items are added.
+     */
+    public ObjectLongMap<String> getTotalOrderValuesInMinorUnitsByCity()
+    {
+        return this.cityTotals.valuesInMinorUnits();
+    }
+
+    /**
+     * Returns the exact total value ordered of each item, in minor currency units.
+     */
+    public ObjectLongMap<String> getTotalOrderValuesInMinorUnitsByItem()
+    {
+        return this.sumLineItemValuesInMinorUnitsBy(LineItem::getName);
+    }
+
+    /**
+     * Returns the total order value of the customers in each group, e.g. {@code sumOrderValuesBy(Customer::getCity)}.
+     * The running customer totals are added into an {@link ObjectDoubleHashMap} without boxing.
+     */
+    public <K> ObjectDoubleMap<K> sumOrderValuesBy(Function<? super Customer, ? extends K> groupBy)
+    {
+        MutableObjectDoubleMap<K> totals = new ObjectDoubleHashMap<>();
+        this.customers.each(customer -> totals.addToValue(groupBy.valueOf(customer), customer.getTotalOrderValue()));
+        return totals;
+    }
+
+    /**
+     * Returns the total value of every line item occurrence in each group, e.g.
+     * {@code sumLineItemValuesBy(LineItem::getName)}. No object is allocated per line item.
+     */
+    public <K> ObjectDoubleMap<K> sumLineItemValuesBy(Function<? super LineItem, ? extends K> groupBy)
+    {
+        return LineItemTotals.sumValues(this.customers, groupBy);
+    }
+
+    /**
+     * Same as {@link #sumLineItemValuesBy(Function)}, but exact in minor currency units.
+     */
+    public <K> ObjectLongMap<K> sumLineItemValuesInMinorUnitsBy(Function<? super LineItem, ? extends K> groupBy)
+    {
+        return LineItemTotals.sumMinorUnits(this.customers, groupBy);
+    }
+
+    /**
+     * Same as {@link #sumLineItemValuesBy(Function)}, but folds batches of customers on the executor into one map per
+     * batch and merges the maps.
+     */
+    public <K> ObjectDoubleMap<K> sumLineItemValuesByInParallel(
+            Function<? super LineItem, ? extends K> groupBy,
+            ExecutorService executor,
+            int batchSize)
+    {
+        return LineItemTotals.sumValuesInParallel(this.customers, groupBy, executor, batchSize);
+    }
+
+    /**
+     * Same as {@link #sumLineItemValuesInMinorUnitsBy(Function)}, but folds batches of customers on the executor into
+     * one map per batch and merges the maps.
+     */
+    public <K> ObjectLongMap<K> sumLineItemValuesInMinorUnitsByInParallel(
+            Function<? super LineItem, ? extends K> groupBy,
+            ExecutorService executor,
+            int batchSize)
+    {
+        return LineItemTotals.sumMinorUnitsInParallel(this.customers, groupBy, executor, batchSize);
+    }
+
+    /**
+     * Returns the K line item occurrences with the highest values of the function, from highest to lowest, e.g.
+     * {@code topLineItemsBy(10, LineItem::getValue)}. An item ordered three times can appear three times. Only K line
+     * items are kept at a time, so this takes O(n log K) time rather than sorting every line item, and a K larger than
+     * the number of line items only takes space for the line items.
+     */
+    public MutableList<LineItem> topLineItemsBy(int k, DoubleFunction<? super LineItem> function)
+    {
+        return TopLineItems.of(this.customers, k, function);
+    }
+
+    /**
+     * Same as {@link #topLineItemsBy(int, DoubleFunction)}, but keeps the top K of each batch of customers on the
+     * executor and merges them.
+     */
+    public MutableList<LineItem> topLineItemsByInParallel(
+            int k,
+            DoubleFunction<? super LineItem> function,
+            ExecutorService executor,
+            int batchSize)
+    {
+        return TopLineItems.ofInParallel(this.customers, k, function, executor, batchSize);
+    }
+
+    /**
+     * Counts the customers who ordered each pair of items, for "customers who bought X also bought Y" queries.
+     *
+     * @see ItemCooccurrence#topNeighbors(String, int)
+     */
+    public ItemCooccurrence getItemCooccurrence()
+    {
+        return ItemCooccurrence.of(this.customers);
+    }
+
+    public ItemCooccurrence getItemCooccurrenceInParallel(ExecutorService executor, int batchSize)
+    {
+        return ItemCooccurrence.ofInParallel(this.customers, executor, batchSize);
+    }
+
+    /**
+     * Returns the total value of the line items that each supplier can supply. An item supplied by several suppliers
+     * counts towards each of them.
+     */
+    public ObjectDoubleMap<Supplier> sumLineItemValuesBySupplier()
+    {
+        ObjectDoubleMap<String> valuesByItemName = this.sumLineItemValuesBy(LineItem::getName);
+        MutableObjectDoubleMap<Supplier> totals = new ObjectDoubleHashMap<>();
+        valuesByItemName.forEachKeyValue((itemName, value) -> this.supplierIndex.getSuppliers(itemName).each(
+                supplier -> totals.addToValue(supplier, value)));
+        return totals;
     }
 }
@@ -0,0 +1,625 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+
+/**
+ * Loads a dump of orders into a {@link Company} from a UTF-8 CSV file with one row per line item:
+ * <pre>
+ * customer,city,order,item,value,count
+ * Fred,London,1001,cup,1.5,2
+ * </pre>
+ * The header row is optional. Fields are not quoted, so names cannot contain commas. Rows of the same order should be
+ * next to each other; an order whose rows are split up is added to again when its number comes back.
+ * <p/>
+ * The file is mapped in chunks of 64MB, so it can be much larger than the heap, and the fields are parsed from the
+ * mapped bytes. Customer, city and item names are looked up by their bytes in small hash tables, so only the first row
+ * that mentions a name creates a {@link String}, and line items with the same name and value share one
+ * {@link LineItem}. Consecutive rows of the same line item are added with one call to
+ * {@link Order#addLineItems(LineItem, Integer)}, and each new order is added to its customer once all of its rows
+ * have been read, so the company's indexes see every order once.
+ * <p/>
+ * Customers that the company already has get the new orders; other customers are created with the city of their
+ * first row. Orders keep the numbers in the file and are created with {@link Order#newColumnarOrder() columnar}
+ * line items; the file has no timestamps, so orders are timestamped when they are loaded. If a row is malformed, or
+ * names an item that would take the item names past {@code -Dcompanykata.maxItemNames}, an
+ * {@link IOException} with its line number is thrown, and the rows before it stay loaded: the order being read is
+ * added to its customer with the rows it had so far, and the order number allocator is moved past the largest order
+ * number read, as it is after a complete load.
+ */
+public final class CompanyCsvLoader
+{
+    private static final long CHUNK_SIZE = 1L << 26;
+    private static final int FIELDS = 6;
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final double[] POWERS_OF_TEN = {
+            1.0e0, 1.0e1, 1.0e2, 1.0e3, 1.0e4, 1.0e5, 1.0e6, 1.0e7, 1.0e8, 1.0e9,
+            1.0e10, 1.0e11, 1.0e12, 1.0e13, 1.0e14, 1.0e15, 1.0e16, 1.0e17, 1.0e18};
+
+    private final Company company;
+    private final Path path;
+    private final int maximumItemNames;
+    private final NameCache<Customer> customers = new NameCache<>();
+    private final NameCache<String> cities = new NameCache<>();
+    private final NameCache<LineItem> lineItems = new NameCache<>();
+    private final MutableIntObjectMap<Order> orders = new IntObjectHashMap<>();
+    private final int[] commas = new int[FIELDS - 1];
+
+    private Customer customer;
+    private Order order;
+    private boolean orderIsNew;
+    private LineItem pendingItem;
+    private int pendingCount;
+    private int largestOrderNumber;
+    private long lineNumber;
+    private long rows;
+    private int customersAdded;
+
+    private CompanyCsvLoader(Company company, Path path, int maximumItemNames)
+    {
+        this.company = company;
+        this.path = path;
+        this.maximumItemNames = maximumItemNames;
+    }
+
+    public static Statistics load(Company company, Path path) throws IOException
+    {
+        return CompanyCsvLoader.load(company, path, CHUNK_SIZE);
+    }
+
+    static Statistics load(Company company, Path path, long chunkSize) throws IOException
+    {
+        return CompanyCsvLoader.load(company, path, chunkSize, ItemNameDictionary.MAXIMUM_UNTRUSTED_SIZE);
+    }
+
+    static Statistics load(Company company, Path path, long chunkSize, int maximumItemNames) throws IOException
+    {
+        return new CompanyCsvLoader(company, path, maximumItemNames).loadChunks(chunkSize);
+    }
+
+    private Statistics loadChunks(long chunkSize) throws IOException
+    {
+        long start = System.nanoTime();
+        long size;
+        try
+        {
+            size = this.parseFile(chunkSize);
+            this.completeOrder();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            try
+            {
+                this.completeOrder();
+            }
+            catch (RuntimeException suppressed)
+            {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        finally
+        {
+            Order.reserveOrderNumbersThrough(this.largestOrderNumber);
+        }
+        return new Statistics(this.rows, this.orders.size(), this.customersAdded, size, System.nanoTime() - start);
+    }
+
+    /**
+     * Parses the file a chunk at a time and returns its size.
+     */
+    private long parseFile(long chunkSize) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            long position = 0L;
+            while (position < size)
+            {
+                long length = Math.min(chunkSize, size - position);
+                boolean last = position + length == size;
+                int consumed = this.parseChunk(channel.map(FileChannel.MapMode.READ_ONLY, position, length), last);
+                if (consumed == 0)
+                {
+                    throw new IOException(
+                            "Line " + (this.lineNumber + 1) + " is longer than " + chunkSize + " bytes: " + this.path);
+                }
+                position += consumed;
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Parses the complete lines of the chunk, and the rest of it too if it is the end of the file. Returns the number
+     * of bytes parsed; the next chunk starts at the first line that was not.
+     */
+    private int parseChunk(ByteBuffer buffer, boolean last) throws IOException
+    {
+        int limit = buffer.limit();
+        int lineStart = 0;
+        int commaCount = 0;
+        for (int i = 0; i < limit; i++)
+        {
+            byte b = buffer.get(i);
+            if (b == ',')
+            {
+                if (commaCount < this.commas.length)
+                {
+                    this.commas[commaCount] = i;
+                }
+                commaCount++;
+            }
+            else if (b == '\n')
+            {
+                this.parseLine(buffer, lineStart, i, commaCount);
+                lineStart = i + 1;
+                commaCount = 0;
+            }
+        }
+        if (last && lineStart < limit)
+        {
+            this.parseLine(buffer, lineStart, limit, commaCount);
+            return limit;
+        }
+        return lineStart;
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end, int commaCount) throws IOException
+    {
+        this.lineNumber++;
+        if (end > start && buffer.get(end - 1) == '\r')
+        {
+            end--;
+        }
+        if (end == start)
+        {
+            return;
+        }
+        if (commaCount != FIELDS - 1)
+        {
+            throw this.malformed("expected " + FIELDS + " fields but found " + (commaCount + 1));
+        }
+        int[] c = this.commas;
+        if (this.lineNumber == 1L && (c[1] + 1 == c[2] || !CompanyCsvLoader.isDigit(buffer.get(c[1] + 1))))
+        {
+            return;
+        }
+        Customer rowCustomer = this.customerOf(buffer, start, c[0], c[1]);
+        int orderNumber = this.parseCount(buffer, c[1] + 1, c[2], "order number");
+        if (this.order == null || this.order.getOrderNumber() != orderNumber)
+        {
+            this.startOrder(rowCustomer, orderNumber);
+        }
+        else if (rowCustomer != this.customer)
+        {
+            throw this.malformed("order " + orderNumber + " belongs to another customer");
+        }
+        LineItem item = this.lineItemOf(buffer, c[2] + 1, c[3], c[4]);
+        int count = this.parseCount(buffer, c[4] + 1, end, "count");
+        if (item == this.pendingItem)
+        {
+            this.pendingCount += count;
+        }
+        else
+        {
+            this.addPendingLineItems();
+            this.pendingItem = item;
+            this.pendingCount = count;
+        }
+        this.rows++;
+    }
+
+    private void startOrder(Customer rowCustomer, int orderNumber) throws IOException
+    {
+        this.completeOrder();
+        Order existing = this.orders.get(orderNumber);
+        if (existing == null && this.company.hasOrderNumbered(orderNumber))
+        {
+            throw this.malformed("order " + orderNumber + " is already an order of the company");
+        }
+        if (existing == null)
+        {
+            this.order = Order.withOrderNumber(orderNumber, System.currentTimeMillis(), true);
+            this.orders.put(orderNumber, this.order);
+            this.orderIsNew = true;
+            this.largestOrderNumber = Math.max(this.largestOrderNumber, orderNumber);
+        }
+        else if (existing.getCustomer() != rowCustomer)
+        {
+            throw this.malformed("order " + orderNumber + " belongs to another customer");
+        }
+        else
+        {
+            this.order = existing;
+            this.orderIsNew = false;
+        }
+        this.customer = rowCustomer;
+    }
+
+    /**
+     * Adds the pending line items to the current order and a new order to its customer. Calling it again does nothing,
+     * even if it failed part way.
+     */
+    private void completeOrder()
+    {
+        if (this.order != null)
+        {
+            this.addPendingLineItems();
+            if (this.orderIsNew)
+            {
+                this.orderIsNew = false;
+                this.customer.addOrder(this.order);
+            }
+        }
+    }
+
+    private void addPendingLineItems()
+    {
+        LineItem item = this.pendingItem;
+        if (item != null)
+        {
+            this.pendingItem = null;
+            this.order.addLineItems(item, this.pendingCount);
+        }
+    }
+
+    private Customer customerOf(ByteBuffer buffer, int start, int nameEnd, int cityEnd)
+    {
+        int hash = NameCache.hash(buffer, start, nameEnd);
+        Customer cached = this.customers.get(buffer, start, nameEnd, hash);
+        if (cached != null)
+        {
+            return cached;
+        }
+        String name = CompanyCsvLoader.decode(buffer, start, nameEnd);
+        Customer named = this.company.getCustomerNamed(name);
+        if (named == null)
+        {
+            named = new Customer(name, this.cityOf(buffer, nameEnd + 1, cityEnd));
+            this.company.addCustomer(named);
+            this.customersAdded++;
+        }
+        this.customers.put(buffer, start, nameEnd, hash, named);
+        return named;
+    }
+
+    private String cityOf(ByteBuffer buffer, int start, int end)
+    {
+        int hash = NameCache.hash(buffer, start, end);
+        String city = this.cities.get(buffer, start, end, hash);
+        if (city == null)
+        {
+            city = CompanyCsvLoader.decode(buffer, start, end);
+            this.cities.put(buffer, start, end, hash, city);
+        }
+        return city;
+    }
+
+    /**
+     * Returns the last line item created for the item name if it has the value of this row, or a new one. An order
+     * that already has the item name keeps its first value, see {@link LineItemStore#add(LineItem, int)}, so
+     * the running totals stay equal to the recomputed ones when a name comes back at another value.
+     */
+    private LineItem lineItemOf(ByteBuffer buffer, int start, int nameEnd, int valueEnd) throws IOException
+    {
+        double value = this.parseValue(buffer, nameEnd + 1, valueEnd);
+        int hash = NameCache.hash(buffer, start, nameEnd);
+        LineItem cached = this.lineItems.get(buffer, start, nameEnd, hash);
+        if (cached != null && Double.doubleToLongBits(cached.getValue()) == Double.doubleToLongBits(value))
+        {
+            return cached;
+        }
+        int nameId = cached == null ? this.itemNameId(buffer, start, nameEnd) : cached.getNameId();
+        LineItem item = new LineItem(nameId, value, Math.round(value * LineItem.MINOR_UNITS_PER_MAJOR_UNIT));
+        this.lineItems.put(buffer, start, nameEnd, hash, item);
+        return item;
+    }
+
+    private int itemNameId(ByteBuffer buffer, int start, int end) throws IOException
+    {
+        String name = CompanyCsvLoader.decode(buffer, start, end);
+        int nameId = ItemNameDictionary.shared().idOf(name, this.maximumItemNames);
+        if (nameId < 0)
+        {
+            throw this.malformed("item '" + name + "' is one more than the " + this.maximumItemNames
+                    + " item names allowed");
+        }
+        return nameId;
+    }
+
+    /**
+     * Parses a decimal such as {@code -12.345} as the nearest double, like {@link Double#parseDouble(String)}: the
+     * digits form an exact long mantissa, and dividing it by an exact power of ten rounds once.
+     */
+    private double parseValue(ByteBuffer buffer, int start, int end) throws IOException
+    {
+        int i = start;
+        boolean negative = i < end && buffer.get(i) == '-';
+        if (negative)
+        {
+            i++;
+        }
+        long mantissa = 0L;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++)
+        {
+            byte b = buffer.get(i);
+            if (CompanyCsvLoader.isDigit(b))
+            {
+                mantissa = mantissa * 10L + (b - '0');
+                digits++;
+                if (scale >= 0)
+                {
+                    scale++;
+                }
+            }
+            else if (b == '.' && scale < 0)
+            {
+                scale = 0;
+            }
+            else
+            {
+                return this.parseValueSlowly(buffer, start, end);
+            }
+        }
+        if (digits == 0)
+        {
+            throw this.malformed("value is not a number");
+        }
+        if (digits > MAX_MANTISSA_DIGITS)
+        {
+            return this.parseValueSlowly(buffer, start, end);
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : (double) mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseValueSlowly(ByteBuffer buffer, int start, int end) throws IOException
+    {
+        String text = CompanyCsvLoader.decode(buffer, start, end);
+        try
+        {
+            return Double.parseDouble(text);
+        }
+        catch (NumberFormatException e)
+        {
+            throw this.malformed("value '" + text + "' is not a number");
+        }
+    }
+
+    private int parseCount(ByteBuffer buffer, int start, int end, String field) throws IOException
+    {
+        long count = 0L;
+        for (int i = start; i < end; i++)
+        {
+            byte b = buffer.get(i);
+            if (!CompanyCsvLoader.isDigit(b))
+            {
+                throw this.malformed(field + " '" + CompanyCsvLoader.decode(buffer, start, end) + "' is not a number");
+            }
+            count = count * 10L + (b - '0');
+            if (count > Integer.MAX_VALUE)
+            {
+                throw this.malformed(field + " is too large");
+            }
+        }
+        if (count == 0L)
+        {
+            throw this.malformed(field + " must be positive");
+        }
+        return (int) count;
+    }
+
+    private IOException malformed(String reason)
+    {
+        return new IOException("Line " + this.lineNumber + " of " + this.path + ": " + reason);
+    }
+
+    private static boolean isDigit(byte b)
+    {
+        return b >= '0' && b <= '9';
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end)
+    {
+        return new String(NameCache.copy(buffer, start, end), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The number of rows, orders and new customers loaded from a file, and how long it took.
+     */
+    public static final class Statistics
+    {
+        private final long rows;
+        private final int orders;
+        private final int customers;
+        private final long bytes;
+        private final long elapsedNanos;
+
+        private Statistics(long rows, int orders, int customers, long bytes, long elapsedNanos)
+        {
+            this.rows = rows;
+            this.orders = orders;
+            this.customers = customers;
+            this.bytes = bytes;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public long getRows()
+        {
+            return this.rows;
+        }
+
+        public int getOrders()
+        {
+            return this.orders;
+        }
+
+        /**
+         * Returns the number of customers that were created because the company did not have them yet.
+         */
+        public int getNewCustomers()
+        {
+            return this.customers;
+        }
+
+        public long getBytes()
+        {
+            return this.bytes;
+        }
+
+        public long getElapsedNanos()
+        {
+            return this.elapsedNanos;
+        }
+
+        public double getRowsPerSecond()
+        {
+            return this.rows * (double) TimeUnit.SECONDS.toNanos(1L) / Math.max(1L, this.elapsedNanos);
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format(
+                    "%,d rows (%,d orders, %,d new customers, %,d bytes) in %.3f s, %,.0f rows/s",
+                    this.rows,
+                    this.orders,
+                    this.customers,
+                    this.bytes,
+                    this.elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1L),
+                    this.getRowsPerSecond());
+        }
+    }
+
+    /**
+     * An open addressing hash table keyed by the bytes of a name, so that a name that has been seen is found without
+     * decoding it.
+     */
+    private static final class NameCache<V>
+    {
+        private byte[][] keys = new byte[64][];
+        private int[] hashes = new int[64];
+        private Object[] values = new Object[64];
+        private int size;
+
+        static int hash(ByteBuffer buffer, int start, int end)
+        {
+            int hash = 1;
+            for (int i = start; i < end; i++)
+            {
+                hash = 31 * hash + buffer.get(i);
+            }
+            return hash ^ (hash >>> 16);
+        }
+
+        static byte[] copy(ByteBuffer buffer, int start, int end)
+        {
+            byte[] bytes = new byte[end - start];
+            ByteBuffer range = buffer.duplicate();
+            range.position(start);
+            range.get(bytes);
+            return bytes;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(ByteBuffer buffer, int start, int end, int hash)
+        {
+            int index = this.indexOf(buffer, start, end, hash);
+            return (V) this.values[index];
+        }
+
+        void put(ByteBuffer buffer, int start, int end, int hash, V value)
+        {
+            int index = this.indexOf(buffer, start, end, hash);
+            if (this.keys[index] == null)
+            {
+                this.keys[index] = NameCache.copy(buffer, start, end);
+                this.hashes[index] = hash;
+                this.size++;
+            }
+            this.values[index] = value;
+            if (this.size * 2 > this.keys.length)
+            {
+                this.resize();
+            }
+        }
+
+        /**
+         * Returns the slot of the name, or the empty slot where it would go.
+         */
+        private int indexOf(ByteBuffer buffer, int start, int end, int hash)
+        {
+            int mask = this.keys.length - 1;
+            for (int index = hash & mask; ; index = (index + 1) & mask)
+            {
+                byte[] key = this.keys[index];
+                if (key == null || this.hashes[index] == hash && NameCache.matches(key, buffer, start, end))
+                {
+                    return index;
+                }
+            }
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int start, int end)
+        {
+            if (key.length != end - start)
+            {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++)
+            {
+                if (key[i] != buffer.get(start + i))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void resize()
+        {
+            byte[][] oldKeys = this.keys;
+            int[] oldHashes = this.hashes;
+            Object[] oldValues = this.values;
+            this.keys = new byte[oldKeys.length * 2][];
+            this.hashes = new int[oldKeys.length * 2];
+            this.values = new Object[oldKeys.length * 2];
+            int mask = this.keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++)
+            {
+                if (oldKeys[i] != null)
+                {
+                    int index = oldHashes[i] & mask;
+                    while (this.keys[index] != null)
+                    {
+                        index = (index + 1) & mask;
+                    }
+                    this.keys[index] = oldKeys[i];
+                    this.hashes[index] = oldHashes[i];
+                    this.values[index] = oldValues[i];
+                }
+            }
+        }
+    }
+}
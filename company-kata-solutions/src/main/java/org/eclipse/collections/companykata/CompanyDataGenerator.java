@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.katadata.SeededChunks;
+import org.eclipse.collections.katadata.ZipfDistribution;
+
+/**
+ * Generates a {@link Company} of a given size with synthetic customers, orders, line items and suppliers, for
+ * studying how the kata's queries scale. Items are drawn from a catalog and customers from a list of cities with Zipf
+ * distributions, so a few items and cities account for most of the orders, as they do in real sales data. Each item
+ * has one price, so line items with the same name are equal.
+ * <p/>
+ * The company is a function of the seed and the sizes only. Customers are generated in fixed-size chunks on an
+ * {@link ExecutorService}, each chunk from its own random generator seeded from the chunk index by
+ * {@link SeededChunks}, and are added to the company in order, so the result does not depend on the number of
+ * threads. Orders are numbered from 1 in the order of their customers and are timestamped uniformly within a fixed
+ * range.
+ */
+public final class CompanyDataGenerator
+{
+    static final int CHUNK_SIZE = 4_096;
+    /**
+     * 2021-01-01T00:00:00Z, the start of the default 30 days that order timestamps are drawn from.
+     */
+    static final long DEFAULT_FROM_TIMESTAMP = 1_609_459_200_000L;
+
+    private final long seed;
+    private int customerCount = 1_000;
+    private int ordersPerCustomer = 2;
+    private int maximumLineItemsPerOrder = 4;
+    private int itemCount = 1_000;
+    private double itemExponent = 1.0;
+    private int cityCount = 100;
+    private double cityExponent = 1.0;
+    private int supplierCount = 50;
+    private double deliveredRatio = 0.5;
+    private boolean columnar = true;
+    private long fromTimestamp = DEFAULT_FROM_TIMESTAMP;
+    private long toTimestamp = DEFAULT_FROM_TIMESTAMP + 30L * 24L * 60L * 60L * 1_000L;
+
+    public CompanyDataGenerator(long seed)
+    {
+        this.seed = seed;
+    }
+
+    public CompanyDataGenerator withCustomers(int customerCount)
+    {
+        this.customerCount = CompanyDataGenerator.checkNotNegative("Customer count", customerCount);
+        return this;
+    }
+
+    public CompanyDataGenerator withOrdersPerCustomer(int ordersPerCustomer)
+    {
+        this.ordersPerCustomer = CompanyDataGenerator.checkNotNegative("Orders per customer", ordersPerCustomer);
+        return this;
+    }
+
+    /**
+     * Sets the largest number of distinct items in an order. Each order gets between one and this many, uniformly.
+     */
+    public CompanyDataGenerator withMaximumLineItemsPerOrder(int maximumLineItemsPerOrder)
+    {
+        this.maximumLineItemsPerOrder =
+                CompanyDataGenerator.checkPositive("Line items per order", maximumLineItemsPerOrder);
+        return this;
+    }
+
+    /**
+     * Sets the size of the item catalog and the exponent of the Zipf distribution the items of orders are drawn from;
+     * an exponent of 0 draws them uniformly.
+     */
+    public CompanyDataGenerator withItems(int itemCount, double exponent)
+    {
+        this.itemCount = CompanyDataGenerator.checkPositive("Item count", itemCount);
+        this.itemExponent = CompanyDataGenerator.checkExponent(exponent);
+        return this;
+    }
+
+    public CompanyDataGenerator withCities(int cityCount, double exponent)
+    {
+        this.cityCount = CompanyDataGenerator.checkPositive("City count", cityCount);
+        this.cityExponent = CompanyDataGenerator.checkExponent(exponent);
+        return this;
+    }
+
+    /**
+     * Sets the number of suppliers. The catalog is dealt out between them, so each item has one supplier.
+     */
+    public CompanyDataGenerator withSuppliers(int supplierCount)
+    {
+        this.supplierCount = CompanyDataGenerator.checkNotNegative("Supplier count", supplierCount);
+        return this;
+    }
+
+    public CompanyDataGenerator withDeliveredRatio(double deliveredRatio)
+    {
+        if (!(deliveredRatio >= 0.0 && deliveredRatio <= 1.0))
+        {
+            throw new IllegalArgumentException("Delivered ratio must be between 0 and 1 but was " + deliveredRatio);
+        }
+        this.deliveredRatio = deliveredRatio;
+        return this;
+    }
+
+    /**
+     * Sets whether orders keep their line items in columns, see {@link Order#newColumnarOrder()}. This is the default,
+     * as it keeps the footprint of millions of orders down.
+     */
+    public CompanyDataGenerator withColumnarOrders(boolean columnar)
+    {
+        this.columnar = columnar;
+        return this;
+    }
+
+    /**
+     * Sets the range of epoch milliseconds, from inclusive to exclusive, that order timestamps are drawn from
+     * uniformly. The default is the 30 days from 2021-01-01T00:00:00Z, so that generated companies do not depend on
+     * the time they are generated at.
+     */
+    public CompanyDataGenerator withTimestamps(long fromTimestamp, long toTimestamp)
+    {
+        if (toTimestamp <= fromTimestamp)
+        {
+            throw new IllegalArgumentException(
+                    "Timestamp range must not be empty but was " + fromTimestamp + " to " + toTimestamp);
+        }
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+        return this;
+    }
+
+    public static String customerName(int index)
+    {
+        return "Customer " + index;
+    }
+
+    public static String cityName(int rank)
+    {
+        return "City " + rank;
+    }
+
+    public static String itemName(int rank)
+    {
+        return "Item " + rank;
+    }
+
+    public static String supplierName(int index)
+    {
+        return "Supplier " + index;
+    }
+
+    /**
+     * Generates the company, creating its customers and orders on the executor.
+     */
+    public Company generate(String companyName, ExecutorService executor)
+    {
+        long orderCount = (long) this.customerCount * this.ordersPerCustomer;
+        if (orderCount > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Too many orders to number: " + orderCount);
+        }
+        SplittableRandom catalogRandom = new SplittableRandom(this.seed);
+        LineItem[] catalog = new LineItem[this.itemCount];
+        for (int rank = 0; rank < catalog.length; rank++)
+        {
+            catalog[rank] = LineItem.ofMinorUnits(
+                    CompanyDataGenerator.itemName(rank),
+                    50L + catalogRandom.nextLong(50_000L));
+        }
+        String[] cities = new String[this.cityCount];
+        for (int rank = 0; rank < cities.length; rank++)
+        {
+            cities[rank] = CompanyDataGenerator.cityName(rank);
+        }
+        ZipfDistribution items = new ZipfDistribution(this.itemCount, this.itemExponent);
+        ZipfDistribution cityRanks = new ZipfDistribution(this.cityCount, this.cityExponent);
+
+        MutableList<Callable<Customer[]>> tasks = Lists.mutable.empty();
+        for (int from = 0; from < this.customerCount; from += CHUNK_SIZE)
+        {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + CHUNK_SIZE, this.customerCount);
+            tasks.add(() -> this.generateCustomers(chunkFrom, chunkTo, catalog, items, cities, cityRanks));
+        }
+        Company company = new Company(companyName);
+        try
+        {
+            for (Future<Customer[]> future : executor.invokeAll(tasks))
+            {
+                for (Customer customer : future.get())
+                {
+                    company.addCustomer(customer);
+                }
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating " + companyName, e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("Could not generate " + companyName, e.getCause());
+        }
+        Order.reserveOrderNumbersThrough((int) orderCount);
+
+        for (int i = 0; i < this.supplierCount; i++)
+        {
+            int suppliedCount = (this.itemCount - i + this.supplierCount - 1) / this.supplierCount;
+            String[] itemNames = new String[suppliedCount];
+            for (int j = 0; j < suppliedCount; j++)
+            {
+                itemNames[j] = catalog[i + j * this.supplierCount].getName();
+            }
+            company.addSupplier(new Supplier(CompanyDataGenerator.supplierName(i), itemNames));
+        }
+        return company;
+    }
+
+    private Customer[] generateCustomers(
+            int from,
+            int to,
+            LineItem[] catalog,
+            ZipfDistribution items,
+            String[] cities,
+            ZipfDistribution cityRanks)
+    {
+        SplittableRandom random = SeededChunks.randomFor(this.seed, from / CHUNK_SIZE);
+        int[] itemRanks = new int[this.maximumLineItemsPerOrder];
+        Customer[] customers = new Customer[to - from];
+        for (int i = from; i < to; i++)
+        {
+            Customer customer =
+                    new Customer(CompanyDataGenerator.customerName(i), cities[cityRanks.sample(random)]);
+            for (int j = 0; j < this.ordersPerCustomer; j++)
+            {
+                Order order = Order.withOrderNumber(
+                        i * this.ordersPerCustomer + j + 1,
+                        random.nextLong(this.fromTimestamp, this.toTimestamp),
+                        this.columnar);
+                int lineItemCount = 1 + random.nextInt(this.maximumLineItemsPerOrder);
+                for (int k = 0; k < lineItemCount; k++)
+                {
+                    int rank = CompanyDataGenerator.sampleDistinct(items, random, itemRanks, k);
+                    order.addLineItems(catalog[rank], 1 + random.nextInt(3));
+                }
+                if (random.nextDouble() < this.deliveredRatio)
+                {
+                    order.deliver();
+                }
+                customer.addOrder(order);
+            }
+            customers[i - from] = customer;
+        }
+        return customers;
+    }
+
+    /**
+     * Draws an item that is not yet in the order, giving up after a few tries when the catalog is nearly exhausted.
+     */
+    private static int sampleDistinct(ZipfDistribution items, SplittableRandom random, int[] chosen, int count)
+    {
+        int rank = items.sample(random);
+        for (int attempt = 0; attempt < 8 && CompanyDataGenerator.contains(chosen, count, rank); attempt++)
+        {
+            rank = items.sample(random);
+        }
+        chosen[count] = rank;
+        return rank;
+    }
+
+    private static boolean contains(int[] ranks, int count, int rank)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if (ranks[i] == rank)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int checkPositive(String description, int value)
+    {
+        if (value <= 0)
+        {
+            throw new IllegalArgumentException(description + " must be positive but was " + value);
+        }
+        return value;
+    }
+
+    private static double checkExponent(double exponent)
+    {
+        if (!(exponent >= 0.0))
+        {
+            throw new IllegalArgumentException("Exponent must not be negative but was " + exponent);
+        }
+        return exponent;
+    }
+
+    private static int checkNotNegative(String description, int value)
+    {
+        if (value < 0)
+        {
+            throw new IllegalArgumentException(description + " must not be negative but was " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.LazyIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+
+/**
+ * A query over the customers and orders of a {@link Company}, e.g.
+ * {@code company.query().inCity("London").orderedItemNamed("cup").delivered(false).getOrders()}. The filters on the
+ * customer (name, city, total order value) and on the order (item name, delivery, value) are combined with "and".
+ * {@link #getOrders()} returns the matching orders of the matching customers, and {@link #getCustomers()} the matching
+ * customers that have a matching order, or all the matching customers if there is no filter on the order.
+ * <p/>
+ * The query is planned when it is run. Each filter that one of the company's indexes can answer, i.e. the name index,
+ * the city index, the item index and the delivery bitmap, is a candidate, and the one that is expected to yield the
+ * fewest orders is looked up; the other filters are then applied to what it yields. Without such a filter the
+ * customers are scanned lazily. {@link #explain()} describes the plan. The query runs under
+ * {@link Company#withReadLock}, and its results are in no particular order. Customer names need not be unique: the
+ * name index yields every customer with the name, see {@link Company#getCustomersNamed(String)}.
+ */
+public final class CompanyQuery
+{
+    private final Company company;
+    private String customerName;
+    private String city;
+    private double minimumCustomerValue = Double.NEGATIVE_INFINITY;
+    private double maximumCustomerValue = Double.POSITIVE_INFINITY;
+    private String itemName;
+    private Boolean delivered;
+    private double minimumOrderValue = Double.NEGATIVE_INFINITY;
+    private double maximumOrderValue = Double.POSITIVE_INFINITY;
+    private boolean useIndexes = true;
+
+    CompanyQuery(Company company)
+    {
+        this.company = company;
+    }
+
+    public CompanyQuery customerNamed(String name)
+    {
+        this.customerName = name;
+        return this;
+    }
+
+    public CompanyQuery inCity(String city)
+    {
+        this.city = city;
+        return this;
+    }
+
+    /**
+     * Keeps the customers whose total order value is between the bounds, inclusive.
+     */
+    public CompanyQuery customerValueBetween(double minimum, double maximum)
+    {
+        this.minimumCustomerValue = minimum;
+        this.maximumCustomerValue = maximum;
+        return this;
+    }
+
+    public CompanyQuery orderedItemNamed(String itemName)
+    {
+        this.itemName = itemName;
+        return this;
+    }
+
+    public CompanyQuery delivered(boolean delivered)
+    {
+        this.delivered = delivered;
+        return this;
+    }
+
+    /**
+     * Keeps the orders whose value is between the bounds, inclusive.
+     */
+    public CompanyQuery orderValueBetween(double minimum, double maximum)
+    {
+        this.minimumOrderValue = minimum;
+        this.maximumOrderValue = maximum;
+        return this;
+    }
+
+    /**
+     * Makes the query scan the customers even when an index could answer one of its filters, e.g. to check the
+     * results of a plan.
+     */
+    public CompanyQuery withoutIndexes()
+    {
+        this.useIndexes = false;
+        return this;
+    }
+
+    public MutableList<Order> getOrders()
+    {
+        return this.company.withReadLock(company -> this.plan().orders().toList());
+    }
+
+    public MutableList<Customer> getCustomers()
+    {
+        return this.company.withReadLock(company -> this.plan().customers().toList());
+    }
+
+    /**
+     * Returns a description of the plan the query would run with now, e.g.
+     * {@code item index "cup" (estimated 120 of 4000 orders), then filter city = "London", delivered = false}.
+     */
+    public String explain()
+    {
+        return this.company.withReadLock(company -> this.plan().toString());
+    }
+
+    private Plan plan()
+    {
+        int orderCount = this.company.getOrderCount();
+        int customerCount = this.company.getCustomers().size();
+        double ordersPerCustomer = customerCount == 0 ? 0.0 : (double) orderCount / customerCount;
+        Plan best = new Plan(Access.SCAN, orderCount, orderCount);
+        if (!this.useIndexes)
+        {
+            return best;
+        }
+        if (this.customerName != null)
+        {
+            int orders = (int) this.company.getCustomersNamed(this.customerName)
+                    .sumOfInt(customer -> customer.getOrders().size());
+            best = best.orCheaper(Access.NAME_INDEX, orders);
+        }
+        if (this.itemName != null)
+        {
+            best = best.orCheaper(Access.ITEM_INDEX, this.company.getOrdersContainingItemNamed(this.itemName).size());
+        }
+        if (this.city != null)
+        {
+            int customers = this.company.getCustomersInCity(this.city).size();
+            best = best.orCheaper(Access.CITY_INDEX, (int) Math.ceil(customers * ordersPerCustomer));
+        }
+        if (this.delivered != null)
+        {
+            DeliveryIndex deliveryIndex = this.company.getDeliveryIndex();
+            best = best.orCheaper(
+                    Access.DELIVERY_BITMAP,
+                    this.delivered ? deliveryIndex.deliveredCount() : deliveryIndex.undeliveredCount());
+        }
+        return best;
+    }
+
+    private boolean hasOrderFilter()
+    {
+        return this.itemName != null
+                || this.delivered != null
+                || this.minimumOrderValue != Double.NEGATIVE_INFINITY
+                || this.maximumOrderValue != Double.POSITIVE_INFINITY;
+    }
+
+    private enum Access
+    {
+        NAME_INDEX("name index"),
+        ITEM_INDEX("item index"),
+        CITY_INDEX("city index"),
+        DELIVERY_BITMAP("delivery bitmap"),
+        SCAN("scan");
+
+        private final String description;
+
+        Access(String description)
+        {
+            this.description = description;
+        }
+    }
+
+    private final class Plan
+    {
+        private final Access access;
+        private final int estimatedOrders;
+        private final int orderCount;
+
+        private Plan(Access access, int estimatedOrders, int orderCount)
+        {
+            this.access = access;
+            this.estimatedOrders = estimatedOrders;
+            this.orderCount = orderCount;
+        }
+
+        private Plan orCheaper(Access other, int otherEstimatedOrders)
+        {
+            return otherEstimatedOrders < this.estimatedOrders || this.access == Access.SCAN
+                    ? new Plan(other, otherEstimatedOrders, this.orderCount)
+                    : this;
+        }
+
+        private boolean isByCustomer()
+        {
+            return this.access == Access.NAME_INDEX || this.access == Access.CITY_INDEX || this.access == Access.SCAN;
+        }
+
+        private LazyIterable<Customer> candidateCustomers()
+        {
+            CompanyQuery query = CompanyQuery.this;
+            if (this.access == Access.NAME_INDEX)
+            {
+                return query.company.getCustomersNamed(query.customerName).asLazy();
+            }
+            if (this.access == Access.CITY_INDEX)
+            {
+                return query.company.getCustomersInCity(query.city).asLazy();
+            }
+            return query.company.getCustomers().asLazy();
+        }
+
+        private LazyIterable<Order> candidateOrders()
+        {
+            CompanyQuery query = CompanyQuery.this;
+            if (this.access == Access.ITEM_INDEX)
+            {
+                return query.company.getOrdersContainingItemNamed(query.itemName).asLazy();
+            }
+            return query.company.getDeliveryIndex().getOrders(query.delivered).asLazy();
+        }
+
+        private boolean matchesCustomer(Customer customer)
+        {
+            CompanyQuery query = CompanyQuery.this;
+            double value = customer.getTotalOrderValue();
+            return (query.customerName == null || this.access == Access.NAME_INDEX
+                    || query.customerName.equals(customer.getName()))
+                    && (query.city == null || this.access == Access.CITY_INDEX || query.city.equals(customer.getCity()))
+                    && value >= query.minimumCustomerValue
+                    && value <= query.maximumCustomerValue;
+        }
+
+        private boolean matchesOrder(Order order)
+        {
+            CompanyQuery query = CompanyQuery.this;
+            double value = order.getValue();
+            return (query.delivered == null || this.access == Access.DELIVERY_BITMAP
+                    || order.isDelivered() == query.delivered)
+                    && value >= query.minimumOrderValue
+                    && value <= query.maximumOrderValue
+                    && (query.itemName == null || this.access == Access.ITEM_INDEX
+                    || order.containsItemNamed(query.itemName));
+        }
+
+        private LazyIterable<Order> orders()
+        {
+            if (this.isByCustomer())
+            {
+                return this.candidateCustomers()
+                        .select(this::matchesCustomer)
+                        .flatCollect(Customer::getOrders)
+                        .select(this::matchesOrder);
+            }
+            return this.candidateOrders()
+                    .select(this::matchesOrder)
+                    .select(order -> this.matchesCustomer(order.getCustomer()));
+        }
+
+        private LazyIterable<Customer> customers()
+        {
+            if (this.isByCustomer())
+            {
+                LazyIterable<Customer> customers = this.candidateCustomers().select(this::matchesCustomer);
+                return CompanyQuery.this.hasOrderFilter()
+                        ? customers.select(customer -> customer.getOrders().anySatisfy(this::matchesOrder))
+                        : customers;
+            }
+            return this.orders().collect(Order::getCustomer).distinct();
+        }
+
+        @Override
+        public String toString()
+        {
+            CompanyQuery query = CompanyQuery.this;
+            StringBuilder builder = new StringBuilder(this.access.description);
+            if (this.access == Access.NAME_INDEX)
+            {
+                builder.append(" \"").append(query.customerName).append('"');
+            }
+            else if (this.access == Access.ITEM_INDEX)
+            {
+                builder.append(" \"").append(query.itemName).append('"');
+            }
+            else if (this.access == Access.CITY_INDEX)
+            {
+                builder.append(" \"").append(query.city).append('"');
+            }
+            else if (this.access == Access.DELIVERY_BITMAP)
+            {
+                builder.append(query.delivered ? " delivered" : " undelivered");
+            }
+            builder.append(" (estimated ").append(this.estimatedOrders).append(" of ").append(this.orderCount)
+                    .append(" orders)");
+            MutableList<String> filters = Lists.mutable.empty();
+            if (query.customerName != null && this.access != Access.NAME_INDEX)
+            {
+                filters.add("name = \"" + query.customerName + '"');
+            }
+            if (query.city != null && this.access != Access.CITY_INDEX)
+            {
+                filters.add("city = \"" + query.city + '"');
+            }
+            if (query.minimumCustomerValue != Double.NEGATIVE_INFINITY
+                    || query.maximumCustomerValue != Double.POSITIVE_INFINITY)
+            {
+                filters.add(
+                        "customer value in [" + query.minimumCustomerValue + ", " + query.maximumCustomerValue + ']');
+            }
+            if (query.itemName != null && this.access != Access.ITEM_INDEX)
+            {
+                filters.add("item = \"" + query.itemName + '"');
+            }
+            if (query.delivered != null && this.access != Access.DELIVERY_BITMAP)
+            {
+                filters.add("delivered = " + query.delivered);
+            }
+            if (query.minimumOrderValue != Double.NEGATIVE_INFINITY
+                    || query.maximumOrderValue != Double.POSITIVE_INFINITY)
+            {
+                filters.add("order value in [" + query.minimumOrderValue + ", " + query.maximumOrderValue + ']');
+            }
+            if (filters.notEmpty())
+            {
+                builder.append(", then filter ").append(filters.makeString(", "));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.DoubleLists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+/**
+ * Writes a {@link Company} with its customers, orders, line items and suppliers to a compact binary file, and loads
+ * it back through a memory-mapped buffer. Every string is written once to a dictionary at the start of the file and
+ * referred to by its index. The rest of the file is a few sections of primitive arrays, which are read in bulk:
+ * <pre>
+ * magic, version, string count, (byte length, UTF-8 bytes)*, company name, concurrent flag
+ * customer count, name[], city[], order count[]
+ * order count, order number[], flags[], distinct line item count[], timestamp[]
+ * line item count, name[], value[], value in minor units[], occurrences[]
+ * supplier count, name[], item count[], item name count, item name[]
+ * </pre>
+ * Order numbers, timestamps and delivery flags are preserved, and the order number allocator is moved past the largest loaded
+ * order number. Snapshots are limited to 2GB, the size of one mapped buffer.
+ */
+public final class CompanySnapshot
+{
+    private static final int MAGIC = 0x434B5331;
+    private static final int VERSION = 2;
+    private static final byte DELIVERED = 1;
+    private static final byte COLUMNAR = 2;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private CompanySnapshot()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Writes the company to the file, replacing it if it exists. The snapshot is written to a temporary file in the
+     * same directory and forced to disk, and then moved over the file atomically, so a write that fails leaves the
+     * previous snapshot in place. A concurrent company should not be changed while it is written, e.g. write it with
+     * {@code company.withReadLock(...)}.
+     */
+    public static void write(Company company, Path path) throws IOException
+    {
+        StringDictionary strings = new StringDictionary();
+        int companyName = strings.idOf(company.getName());
+
+        MutableList<Customer> customers = company.getCustomers();
+        int[] customerNames = new int[customers.size()];
+        int[] customerCities = new int[customers.size()];
+        int[] orderCounts = new int[customers.size()];
+        MutableIntList orderNumbers = IntLists.mutable.empty();
+        MutableIntList orderFlags = IntLists.mutable.empty();
+        MutableLongList orderTimestamps = LongLists.mutable.empty();
+        MutableIntList lineItemCounts = IntLists.mutable.empty();
+        MutableIntList itemNames = IntLists.mutable.empty();
+        MutableDoubleList values = DoubleLists.mutable.empty();
+        MutableLongList valuesInMinorUnits = LongLists.mutable.empty();
+        MutableIntList occurrences = IntLists.mutable.empty();
+        for (int i = 0; i < customers.size(); i++)
+        {
+            Customer customer = customers.get(i);
+            customerNames[i] = strings.idOf(customer.getName());
+            customerCities[i] = strings.idOf(customer.getCity());
+            MutableList<Order> orders = customer.getOrders();
+            orderCounts[i] = orders.size();
+            for (int j = 0; j < orders.size(); j++)
+            {
+                Order order = orders.get(j);
+                orderNumbers.add(order.getOrderNumber());
+                orderTimestamps.add(order.getTimestamp());
+                orderFlags.add((order.isDelivered() ? DELIVERED : 0) | (order.isColumnar() ? COLUMNAR : 0));
+                int before = itemNames.size();
+                order.forEachLineItemColumns((nameId, value, valueInMinorUnits, count) -> {
+                    itemNames.add(strings.idOf(ItemNameDictionary.shared().nameOf(nameId)));
+                    values.add(value);
+                    valuesInMinorUnits.add(valueInMinorUnits);
+                    occurrences.add(count);
+                });
+                lineItemCounts.add(itemNames.size() - before);
+            }
+        }
+
+        MutableList<Supplier> suppliers = company.getSuppliers();
+        int[] supplierNames = new int[suppliers.size()];
+        int[] supplierItemCounts = new int[suppliers.size()];
+        MutableIntList supplierItemNames = IntLists.mutable.empty();
+        for (int i = 0; i < suppliers.size(); i++)
+        {
+            Supplier supplier = suppliers.get(i);
+            supplierNames[i] = strings.idOf(supplier.getName());
+            supplierItemCounts[i] = supplier.getItemNames().length;
+            for (String itemName : supplier.getItemNames())
+            {
+                supplierItemNames.add(strings.idOf(itemName));
+            }
+        }
+
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try
+        {
+            try (Output output = new Output(temp))
+            {
+                output.putInt(MAGIC);
+                output.putInt(VERSION);
+                output.putInt(strings.names.size());
+                for (int i = 0; i < strings.names.size(); i++)
+                {
+                    byte[] bytes = strings.names.get(i).getBytes(StandardCharsets.UTF_8);
+                    output.putInt(bytes.length);
+                    output.putBytes(bytes);
+                }
+                output.putInt(companyName);
+                output.putInt(company.isConcurrent() ? 1 : 0);
+
+                output.putInt(customerNames.length);
+                output.putInts(customerNames);
+                output.putInts(customerCities);
+                output.putInts(orderCounts);
+
+                output.putInt(orderNumbers.size());
+                output.putInts(orderNumbers);
+                for (int i = 0; i < orderFlags.size(); i++)
+                {
+                    output.putByte((byte) orderFlags.get(i));
+                }
+                output.putInts(lineItemCounts);
+                for (int i = 0; i < orderTimestamps.size(); i++)
+                {
+                    output.putLong(orderTimestamps.get(i));
+                }
+
+                output.putInt(itemNames.size());
+                output.putInts(itemNames);
+                for (int i = 0; i < values.size(); i++)
+                {
+                    output.putDouble(values.get(i));
+                }
+                for (int i = 0; i < valuesInMinorUnits.size(); i++)
+                {
+                    output.putLong(valuesInMinorUnits.get(i));
+                }
+                output.putInts(occurrences);
+
+                output.putInt(supplierNames.length);
+                output.putInts(supplierNames);
+                output.putInts(supplierItemCounts);
+                output.putInt(supplierItemNames.size());
+                output.putInts(supplierItemNames);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        finally
+        {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Loads a company from a snapshot written by {@link #write(Company, Path)}. The orders are restored with their
+     * line items before they are added to the company, which then builds its indexes from them in bulk.
+     */
+    public static Company read(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            if (channel.size() > Integer.MAX_VALUE)
+            {
+                throw new IOException("Snapshot is larger than 2GB: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            return CompanySnapshot.read(buffer, path);
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e)
+        {
+            throw new IOException("Snapshot is truncated or corrupt: " + path, e);
+        }
+    }
+
+    private static Company read(ByteBuffer buffer, Path path) throws IOException
+    {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC)
+        {
+            throw new IOException("Not a company snapshot: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+        String[] strings = new String[buffer.getInt()];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < strings.length; i++)
+        {
+            int length = buffer.getInt();
+            if (length > bytes.length)
+            {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            buffer.get(bytes, 0, length);
+            strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+        String companyName = strings[buffer.getInt()];
+        Company company = buffer.getInt() == 1 ? Company.newConcurrentCompany(companyName) : new Company(companyName);
+
+        int customerCount = buffer.getInt();
+        int[] customerNames = CompanySnapshot.getInts(buffer, customerCount);
+        int[] customerCities = CompanySnapshot.getInts(buffer, customerCount);
+        int[] orderCounts = CompanySnapshot.getInts(buffer, customerCount);
+
+        int orderCount = buffer.getInt();
+        int[] orderNumbers = CompanySnapshot.getInts(buffer, orderCount);
+        byte[] orderFlags = new byte[orderCount];
+        buffer.get(orderFlags);
+        int[] lineItemCounts = CompanySnapshot.getInts(buffer, orderCount);
+        long[] orderTimestamps = new long[orderCount];
+        buffer.asLongBuffer().get(orderTimestamps);
+        buffer.position(buffer.position() + orderCount * Long.BYTES);
+
+        int lineItemCount = buffer.getInt();
+        int[] itemNames = CompanySnapshot.getInts(buffer, lineItemCount);
+        double[] values = new double[lineItemCount];
+        buffer.asDoubleBuffer().get(values);
+        buffer.position(buffer.position() + lineItemCount * Double.BYTES);
+        long[] valuesInMinorUnits = new long[lineItemCount];
+        buffer.asLongBuffer().get(valuesInMinorUnits);
+        buffer.position(buffer.position() + lineItemCount * Long.BYTES);
+        int[] occurrences = CompanySnapshot.getInts(buffer, lineItemCount);
+
+        int supplierCount = buffer.getInt();
+        int[] supplierNames = CompanySnapshot.getInts(buffer, supplierCount);
+        int[] supplierItemCounts = CompanySnapshot.getInts(buffer, supplierCount);
+        int[] supplierItemNames = CompanySnapshot.getInts(buffer, buffer.getInt());
+
+        int[] itemNameIds = new int[strings.length];
+        ItemNameDictionary dictionary = ItemNameDictionary.shared();
+        for (int i = 0; i < itemNames.length; i++)
+        {
+            int name = itemNames[i];
+            if (itemNameIds[name] == 0)
+            {
+                itemNameIds[name] = dictionary.idOf(strings[name]) + 1;
+            }
+        }
+
+        MutableList<Customer> customers = Lists.mutable.withInitialCapacity(customerCount);
+        int order = 0;
+        int lineItem = 0;
+        int largestOrderNumber = 0;
+        for (int i = 0; i < customerCount; i++)
+        {
+            Customer customer = new Customer(strings[customerNames[i]], strings[customerCities[i]]);
+            for (int j = 0; j < orderCounts[i]; j++, order++)
+            {
+                Order loaded = Order.withOrderNumber(
+                        orderNumbers[order],
+                        orderTimestamps[order],
+                        (orderFlags[order] & COLUMNAR) != 0);
+                largestOrderNumber = Math.max(largestOrderNumber, orderNumbers[order]);
+                for (int end = lineItem + lineItemCounts[order]; lineItem < end; lineItem++)
+                {
+                    LineItem item = new LineItem(
+                            itemNameIds[itemNames[lineItem]] - 1,
+                            values[lineItem],
+                            valuesInMinorUnits[lineItem]);
+                    loaded.addLineItems(item, occurrences[lineItem]);
+                }
+                if ((orderFlags[order] & DELIVERED) != 0)
+                {
+                    loaded.deliver();
+                }
+                customer.addOrder(loaded);
+            }
+            customers.add(customer);
+        }
+        Order.reserveOrderNumbersThrough(largestOrderNumber);
+        company.restoreCustomers(customers);
+
+        for (int i = 0, item = 0; i < supplierCount; i++)
+        {
+            String[] suppliedItems = new String[supplierItemCounts[i]];
+            for (int j = 0; j < suppliedItems.length; j++, item++)
+            {
+                suppliedItems[j] = strings[supplierItemNames[item]];
+            }
+            company.addSupplier(new Supplier(strings[supplierNames[i]], suppliedItems));
+        }
+        return company;
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count)
+    {
+        int[] ints = new int[count];
+        buffer.asIntBuffer().get(ints);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return ints;
+    }
+
+    private static final class StringDictionary
+    {
+        private final MutableObjectIntMap<String> ids = new ObjectIntHashMap<>();
+        private final MutableList<String> names = Lists.mutable.empty();
+
+        private int idOf(String name)
+        {
+            int id = this.ids.getIfAbsent(name, -1);
+            if (id < 0)
+            {
+                id = this.names.size();
+                this.ids.put(name, id);
+                this.names.add(name);
+            }
+            return id;
+        }
+    }
+
+    /**
+     * Writes through a reusable direct buffer that is drained to the channel whenever it is full.
+     */
+    private static final class Output implements AutoCloseable
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        private Output(Path path) throws IOException
+        {
+            this.channel = FileChannel.open(
+                    path,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
+        private void ensureRemaining(int bytes) throws IOException
+        {
+            if (this.buffer.remaining() < bytes)
+            {
+                this.drain();
+            }
+        }
+
+        private void drain() throws IOException
+        {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining())
+            {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        private void putByte(byte value) throws IOException
+        {
+            this.ensureRemaining(Byte.BYTES);
+            this.buffer.put(value);
+        }
+
+        private void putInt(int value) throws IOException
+        {
+            this.ensureRemaining(Integer.BYTES);
+            this.buffer.putInt(value);
+        }
+
+        private void putLong(long value) throws IOException
+        {
+            this.ensureRemaining(Long.BYTES);
+            this.buffer.putLong(value);
+        }
+
+        private void putDouble(double value) throws IOException
+        {
+            this.ensureRemaining(Double.BYTES);
+            this.buffer.putDouble(value);
+        }
+
+        private void putInts(int[] values) throws IOException
+        {
+            for (int value : values)
+            {
+                this.putInt(value);
+            }
+        }
+
+        private void putInts(IntList values) throws IOException
+        {
+            for (int i = 0; i < values.size(); i++)
+            {
+                this.putInt(values.get(i));
+            }
+        }
+
+        private void putBytes(byte[] bytes) throws IOException
+        {
+            for (int offset = 0; offset < bytes.length; )
+            {
+                this.ensureRemaining(1);
+                int length = Math.min(bytes.length - offset, this.buffer.remaining());
+                this.buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                this.drain();
+                this.channel.force(false);
+            }
+            finally
+            {
+                this.channel.close();
+            }
+        }
+    }
+}
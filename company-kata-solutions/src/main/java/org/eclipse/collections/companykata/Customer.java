@@ -10,6 +10,8 @@
 
 package org.eclipse.collections.companykata;
 
+import java.util.concurrent.locks.Lock;
+
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.block.function.AddFunction;
@@ -24,6 +26,9 @@ public class Customer
     private final String city;
 
     private final MutableList<Order> orders = Lists.mutable.empty();
+    private volatile Company company;
+    private double totalOrderValue;
+    private long totalOrderValueInMinorUnits;
 
     public Customer(String name, String city)
     {
@@ -48,12 +53,108 @@ public class Customer
 
     public void addOrder(Order anOrder)
     {
-        this.orders.add(anOrder);
+        Lock lock = this.writeLock();
+        lock.lock();
+        try
+        {
+            Company company = this.company;
+            if (company != null)
+            {
+                company.claimOrderNumber(anOrder);
+            }
+            this.orders.add(anOrder);
+            this.totalOrderValue += anOrder.getValue();
+            this.totalOrderValueInMinorUnits += anOrder.getValueInMinorUnits();
+            anOrder.setCustomer(this);
+            if (company != null)
+            {
+                company.orderAdded(this, anOrder);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    void lineItemsAdded(Order order, LineItem item, int count)
+    {
+        this.totalOrderValue += item.getValue() * count;
+        this.totalOrderValueInMinorUnits += item.getValueInMinorUnits() * count;
+        if (this.company != null)
+        {
+            this.company.lineItemsAdded(this, order, item, count);
+        }
+    }
+
+    void orderDelivered(Order order)
+    {
+        if (this.company != null)
+        {
+            this.company.orderDelivered(this, order);
+        }
+    }
+
+    /**
+     * Called by {@link Company#addCustomer(Customer)}, under the customer's write lock, so that orders and line items
+     * added later can be indexed. An order added from another thread once the company is set waits for the lock, so it
+     * is indexed once, after the customer.
+     */
+    void setCompany(Company company)
+    {
+        this.company = company;
+    }
+
+    /**
+     * Returns the lock that guards changes to this customer and its orders.
+     *
+     * @see Company#newConcurrentCompany(String)
+     */
+    Lock writeLock()
+    {
+        return this.company == null ? CustomerLocks.NO_LOCK : this.company.writeLockFor(this);
     }
 
+    /**
+     * Returns the running total of the values of this customer's orders, which is kept up to date by
+     * {@link #addOrder(Order)} and by line items added to those orders.
+     *
+     * @see TotalsCheck
+     */
     public double getTotalOrderValue()
     {
-        return this.orders.sumOfDouble(Order::getValue);
+        if (TotalsCheck.isEnabled())
+        {
+            TotalsCheck.verify(this, this.totalOrderValue, this.computeTotalOrderValue());
+        }
+        return this.totalOrderValue;
+    }
+
+    /**
+     * Recomputes the total value of this customer's orders from their line items.
+     */
+    public double computeTotalOrderValue()
+    {
+        return this.orders.sumOfDouble(Order::computeValue);
+    }
+
+    /**
+     * Returns the exact fixed-point total of this customer's orders in minor currency units.
+     *
+     * @see LineItem#getValueInMinorUnits()
+     */
+    public long getTotalOrderValueInMinorUnits()
+    {
+        if (TotalsCheck.isEnabled())
+        {
+            TotalsCheck.verify(this, this.totalOrderValueInMinorUnits, this.computeTotalOrderValueInMinorUnits());
+        }
+        return this.totalOrderValueInMinorUnits;
+    }
+
+    public long computeTotalOrderValueInMinorUnits()
+    {
+        return this.orders.sumOfLong(Order::computeValueInMinorUnits);
     }
 
     public boolean livesIn(String aCity)
@@ -61,8 +162,19 @@ public class Customer
         return this.city.equals(aCity);
     }
 
+    /**
+     * Returns whether any of this customer's orders contains an item with the given name. For a customer of a company,
+     * an item that no customer of the company has ordered is recognized without scanning the orders, see
+     * {@link Company#mightHaveOrderedItemNamed(String)}. Orders added directly to the list returned by
+     * {@link #getOrders()} are therefore not seen.
+     */
     public boolean orderedItemNamed(String itemName)
     {
+        Company company = this.company;
+        if (company != null && !company.mightHaveOrderedItemNamed(itemName))
+        {
+            return false;
+        }
         return this.orders.anySatisfyWith(Order::containsItemNamed, itemName);
     }
 }
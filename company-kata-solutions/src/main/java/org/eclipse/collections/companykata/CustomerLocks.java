@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.collections.api.block.function.Function0;
+
+/**
+ * Read-write locks striped by customer for a concurrent {@link Company}. A customer, its orders and their line items
+ * are only changed under the write lock of the customer's stripe, so ingestion for different customers proceeds in
+ * parallel. Holding the read locks of all stripes excludes every writer, which gives a reader a consistent view of
+ * the whole company. Suppliers are added under the write lock of a stripe as well, so that readers see them
+ * consistently too.
+ */
+final class CustomerLocks
+{
+    /**
+     * The lock used for customers and orders that do not belong to a concurrent company.
+     */
+    static final Lock NO_LOCK = new NoLock();
+
+    private final ReentrantReadWriteLock[] stripes;
+    private final int mask;
+
+    CustomerLocks()
+    {
+        this(Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1);
+    }
+
+    CustomerLocks(int stripeCount)
+    {
+        if (stripeCount < 1 || Integer.bitCount(stripeCount) != 1)
+        {
+            throw new IllegalArgumentException("Stripe count must be a positive power of two: " + stripeCount);
+        }
+        this.stripes = new ReentrantReadWriteLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++)
+        {
+            this.stripes[i] = new ReentrantReadWriteLock();
+        }
+        this.mask = stripeCount - 1;
+    }
+
+    /**
+     * Returns the write lock of the stripe of the customer or supplier.
+     */
+    Lock writeLockFor(Object owner)
+    {
+        int hash = System.identityHashCode(owner);
+        return this.stripes[(hash ^ (hash >>> 16)) & this.mask].writeLock();
+    }
+
+    /**
+     * Evaluates the function while holding the read locks of all stripes. The locks are always taken in the same
+     * order, and a writer only ever holds one stripe, so this cannot deadlock with writers or other readers.
+     */
+    <V> V withAllReadLocks(Function0<V> function)
+    {
+        int locked = 0;
+        try
+        {
+            for (ReentrantReadWriteLock stripe : this.stripes)
+            {
+                stripe.readLock().lock();
+                locked++;
+            }
+            return function.value();
+        }
+        finally
+        {
+            for (int i = locked - 1; i >= 0; i--)
+            {
+                this.stripes[i].readLock().unlock();
+            }
+        }
+    }
+
+    private static final class NoLock implements Lock
+    {
+        @Override
+        public void lock()
+        {
+        }
+
+        @Override
+        public void lockInterruptibly()
+        {
+        }
+
+        @Override
+        public boolean tryLock()
+        {
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit)
+        {
+            return true;
+        }
+
+        @Override
+        public void unlock()
+        {
+        }
+
+        @Override
+        public Condition newCondition()
+        {
+            throw new UnsupportedOperationException("newCondition() is not supported without a concurrent company");
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * A bitmap index of the orders of a company by order number. Each page covers {@value #PAGE_SIZE} consecutive order
+ * numbers with one bit per number for "is an order of this company", one bit for "is delivered" and a slot for the
+ * order itself, so the cost is about four bytes per order number in the pages that are in use. Counts are kept as
+ * the bits change, and the delivered or undelivered orders are found a 64-bit word at a time.
+ * <p/>
+ * The index of a concurrent company is guarded by its own monitor.
+ */
+final class DeliveryIndex
+{
+    private static final int PAGE_SHIFT = 16;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private final boolean concurrent;
+    private Page[] pages = new Page[1];
+    private int size;
+    private int deliveredCount;
+
+    DeliveryIndex()
+    {
+        this(false);
+    }
+
+    private DeliveryIndex(boolean concurrent)
+    {
+        this.concurrent = concurrent;
+    }
+
+    static DeliveryIndex newConcurrentIndex()
+    {
+        return new DeliveryIndex(true);
+    }
+
+    void add(Order order)
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                this.addUnguarded(order);
+            }
+        }
+        else
+        {
+            this.addUnguarded(order);
+        }
+    }
+
+    /**
+     * Adds the orders under a single acquisition of the monitor of a concurrent index.
+     */
+    void addAll(Iterable<Order> orders)
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                orders.forEach(this::addUnguarded);
+            }
+        }
+        else
+        {
+            orders.forEach(this::addUnguarded);
+        }
+    }
+
+    private void addUnguarded(Order order)
+    {
+        int orderNumber = order.getOrderNumber();
+        Page page = this.pageFor(orderNumber);
+        int offset = orderNumber & PAGE_MASK;
+        if (page.orders[offset] != null)
+        {
+            if (page.orders[offset] == order)
+            {
+                return;
+            }
+            throw new IllegalArgumentException("Order number " + orderNumber + " is already used by another order");
+        }
+        page.orders[offset] = order;
+        page.present[offset >>> 6] |= 1L << offset;
+        this.size++;
+        if (order.isDelivered())
+        {
+            page.delivered[offset >>> 6] |= 1L << offset;
+            this.deliveredCount++;
+        }
+    }
+
+    void delivered(Order order)
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                this.deliveredUnguarded(order);
+            }
+        }
+        else
+        {
+            this.deliveredUnguarded(order);
+        }
+    }
+
+    private void deliveredUnguarded(Order order)
+    {
+        int orderNumber = order.getOrderNumber();
+        int pageIndex = orderNumber >>> PAGE_SHIFT;
+        Page page = pageIndex < this.pages.length ? this.pages[pageIndex] : null;
+        int offset = orderNumber & PAGE_MASK;
+        if (page == null || page.orders[offset] != order)
+        {
+            return;
+        }
+        long bit = 1L << offset;
+        if ((page.delivered[offset >>> 6] & bit) == 0L)
+        {
+            page.delivered[offset >>> 6] |= bit;
+            this.deliveredCount++;
+        }
+    }
+
+    private Page pageFor(int orderNumber)
+    {
+        int pageIndex = orderNumber >>> PAGE_SHIFT;
+        if (pageIndex >= this.pages.length)
+        {
+            this.pages = Arrays.copyOf(this.pages, Math.max(pageIndex + 1, this.pages.length * 2));
+        }
+        Page page = this.pages[pageIndex];
+        if (page == null)
+        {
+            page = new Page();
+            this.pages[pageIndex] = page;
+        }
+        return page;
+    }
+
+    boolean contains(int orderNumber)
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                return this.containsUnguarded(orderNumber);
+            }
+        }
+        return this.containsUnguarded(orderNumber);
+    }
+
+    private boolean containsUnguarded(int orderNumber)
+    {
+        int pageIndex = orderNumber >>> PAGE_SHIFT;
+        Page page = pageIndex < this.pages.length ? this.pages[pageIndex] : null;
+        return page != null && page.orders[orderNumber & PAGE_MASK] != null;
+    }
+
+    int size()
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                return this.size;
+            }
+        }
+        return this.size;
+    }
+
+    int undeliveredCount()
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                return this.size - this.deliveredCount;
+            }
+        }
+        return this.size - this.deliveredCount;
+    }
+
+    int deliveredCount()
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                return this.deliveredCount;
+            }
+        }
+        return this.deliveredCount;
+    }
+
+    /**
+     * Returns the undelivered orders in order number order.
+     */
+    MutableList<Order> getUndeliveredOrders()
+    {
+        return this.getOrders(false);
+    }
+
+    /**
+     * Returns the orders that have or have not been delivered, in order number order.
+     */
+    MutableList<Order> getOrders(boolean delivered)
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                return this.getOrdersUnguarded(delivered);
+            }
+        }
+        return this.getOrdersUnguarded(delivered);
+    }
+
+    private MutableList<Order> getOrdersUnguarded(boolean delivered)
+    {
+        long flip = delivered ? 0L : -1L;
+        MutableList<Order> orders =
+                Lists.mutable.withInitialCapacity(delivered ? this.deliveredCount : this.size - this.deliveredCount);
+        for (Page page : this.pages)
+        {
+            if (page != null)
+            {
+                for (int word = 0; word < page.present.length; word++)
+                {
+                    long bits = page.present[word] & (page.delivered[word] ^ flip);
+                    while (bits != 0L)
+                    {
+                        orders.add(page.orders[(word << 6) + Long.numberOfTrailingZeros(bits)]);
+                        bits &= bits - 1L;
+                    }
+                }
+            }
+        }
+        return orders;
+    }
+
+    private static final class Page
+    {
+        private final long[] present = new long[PAGE_SIZE >>> 6];
+        private final long[] delivered = new long[PAGE_SIZE >>> 6];
+        private final Order[] orders = new Order[PAGE_SIZE];
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+
+/**
+ * Wraps the line item store of an {@link Order} with a one-{@code long} Bloom filter of its item names, so that
+ * {@link #containsItemNamed(String)} returns {@code false} for most items that are not in the order without looking
+ * the name up in the {@link ItemNameDictionary} or scanning the store.
+ *
+ * @see Order#setItemNameFilterEnabled(boolean)
+ */
+final class FilteredLineItemStore implements LineItemStore
+{
+    private final LineItemStore delegate;
+    private long filter;
+
+    FilteredLineItemStore(LineItemStore delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    LineItemStore getDelegate()
+    {
+        return this.delegate;
+    }
+
+    @Override
+    public LineItem add(LineItem item, int occurrences)
+    {
+        LineItem recorded = this.delegate.add(item, occurrences);
+        this.filter = ItemNameFilter.addTo(this.filter, item.getName());
+        return recorded;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.delegate.size();
+    }
+
+    @Override
+    public Bag<LineItem> asBag()
+    {
+        return this.delegate.asBag();
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super LineItem> procedure)
+    {
+        this.delegate.forEachWithOccurrences(procedure);
+    }
+
+    @Override
+    public void forEachColumns(LineItemColumnsProcedure procedure)
+    {
+        this.delegate.forEachColumns(procedure);
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        return this.delegate.sumOfValues();
+    }
+
+    @Override
+    public long sumOfValuesInMinorUnits()
+    {
+        return this.delegate.sumOfValuesInMinorUnits();
+    }
+
+    @Override
+    public boolean containsItemNamed(String itemName)
+    {
+        return ItemNameFilter.mightContain(this.filter, itemName) && this.delegate.containsItemNamed(itemName);
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+
+/**
+ * Counts, for every pair of items, the number of customers who ordered both, for "customers who bought X also bought
+ * Y" queries. Items are keyed by their id in the {@link ItemNameDictionary}, and the count of a pair is kept in a
+ * {@link LongIntHashMap} under the two ids packed into a {@code long}, so no pair or multimap objects are created.
+ * The number of customers who ordered each item is kept as well.
+ * <p/>
+ * The parallel variant counts each batch of customers into its own maps and adds the maps up. Once built, the pairs
+ * are also arranged by item, so {@link #topNeighbors(String, int)} only looks at the pairs of one item.
+ */
+public final class ItemCooccurrence
+{
+    private static final Comparator<ObjectIntPair<String>> BY_COUNT_THEN_NAME =
+            Comparator.<ObjectIntPair<String>>comparingInt(ObjectIntPair::getTwo).reversed()
+                    .thenComparing(ObjectIntPair::getOne);
+
+    private final MutableLongIntMap pairCounts;
+    private final MutableIntIntMap customerCounts;
+    private final int[] neighborOffsets;
+    private final int[] neighbors;
+    private final int[] neighborCounts;
+
+    private ItemCooccurrence(Counts counts)
+    {
+        this.pairCounts = counts.pairCounts;
+        this.customerCounts = counts.customerCounts;
+        int itemCount = counts.customerCounts.isEmpty() ? 0 : counts.customerCounts.keysView().max() + 1;
+        this.neighborOffsets = new int[itemCount + 1];
+        this.pairCounts.forEachKey(pair ->
+        {
+            this.neighborOffsets[ItemCooccurrence.first(pair) + 1]++;
+            this.neighborOffsets[ItemCooccurrence.second(pair) + 1]++;
+        });
+        for (int i = 0; i < itemCount; i++)
+        {
+            this.neighborOffsets[i + 1] += this.neighborOffsets[i];
+        }
+        this.neighbors = new int[this.neighborOffsets[itemCount]];
+        this.neighborCounts = new int[this.neighbors.length];
+        int[] next = Arrays.copyOf(this.neighborOffsets, itemCount);
+        this.pairCounts.forEachKeyValue((pair, count) ->
+        {
+            int first = ItemCooccurrence.first(pair);
+            int second = ItemCooccurrence.second(pair);
+            this.neighbors[next[first]] = second;
+            this.neighborCounts[next[first]++] = count;
+            this.neighbors[next[second]] = first;
+            this.neighborCounts[next[second]++] = count;
+        });
+    }
+
+    static ItemCooccurrence of(ListIterable<Customer> customers)
+    {
+        return new ItemCooccurrence(new Counts().addCustomers(customers, 0, customers.size()));
+    }
+
+    static ItemCooccurrence ofInParallel(ListIterable<Customer> customers, ExecutorService executor, int batchSize)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        MutableList<Callable<Counts>> tasks = Lists.mutable.empty();
+        for (int from = 0; from < customers.size(); from += batchSize)
+        {
+            int batchFrom = from;
+            int batchTo = Math.min(from + batchSize, customers.size());
+            tasks.add(() -> new Counts().addCustomers(customers, batchFrom, batchTo));
+        }
+        try
+        {
+            Counts merged = null;
+            for (Future<Counts> future : executor.invokeAll(tasks))
+            {
+                merged = merged == null ? future.get() : merged.addAll(future.get());
+            }
+            return new ItemCooccurrence(merged == null ? new Counts() : merged);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the number of customers who ordered both items, or 0 if either was never ordered.
+     */
+    public int count(String itemName, String otherItemName)
+    {
+        int id = ItemNameDictionary.shared().getIfPresent(itemName);
+        int otherId = ItemNameDictionary.shared().getIfPresent(otherItemName);
+        if (id < 0 || otherId < 0)
+        {
+            return 0;
+        }
+        if (id == otherId)
+        {
+            return this.customerCounts.get(id);
+        }
+        return this.pairCounts.get(ItemCooccurrence.pack(id, otherId));
+    }
+
+    /**
+     * Returns the number of customers who ordered the item.
+     */
+    public int customerCount(String itemName)
+    {
+        int id = ItemNameDictionary.shared().getIfPresent(itemName);
+        return id < 0 ? 0 : this.customerCounts.get(id);
+    }
+
+    /**
+     * Returns the number of distinct pairs of items that were ordered by the same customer.
+     */
+    public int pairCount()
+    {
+        return this.pairCounts.size();
+    }
+
+    /**
+     * Returns up to {@code n} items most often ordered by the customers who ordered the given item, with the number of
+     * those customers, by descending count and then by name.
+     */
+    public MutableList<ObjectIntPair<String>> topNeighbors(String itemName, int n)
+    {
+        if (n < 0)
+        {
+            throw new IllegalArgumentException("N must not be negative but was " + n);
+        }
+        int id = ItemNameDictionary.shared().getIfPresent(itemName);
+        if (id < 0 || id >= this.neighborOffsets.length - 1)
+        {
+            return Lists.mutable.empty();
+        }
+        ItemNameDictionary dictionary = ItemNameDictionary.shared();
+        MutableList<ObjectIntPair<String>> neighbors = Lists.mutable.empty();
+        for (int i = this.neighborOffsets[id]; i < this.neighborOffsets[id + 1]; i++)
+        {
+            neighbors.add(PrimitiveTuples.pair(dictionary.nameOf(this.neighbors[i]), this.neighborCounts[i]));
+        }
+        return neighbors.sortThis(BY_COUNT_THEN_NAME).take(n);
+    }
+
+    private static long pack(int id, int otherId)
+    {
+        int first = Math.min(id, otherId);
+        int second = Math.max(id, otherId);
+        return (long) first << 32 | second;
+    }
+
+    private static int first(long pair)
+    {
+        return (int) (pair >>> 32);
+    }
+
+    private static int second(long pair)
+    {
+        return (int) pair;
+    }
+
+    private static final class Counts
+    {
+        private final MutableLongIntMap pairCounts = new LongIntHashMap();
+        private final MutableIntIntMap customerCounts = new IntIntHashMap();
+
+        private Counts addCustomers(ListIterable<Customer> customers, int from, int to)
+        {
+            MutableIntSet items = new IntHashSet();
+            for (int i = from; i < to; i++)
+            {
+                items.clear();
+                ListIterable<Order> orders = customers.get(i).getOrders();
+                for (int j = 0; j < orders.size(); j++)
+                {
+                    orders.get(j).forEachLineItemColumns((nameId, value, minorUnits, occurrences) -> items.add(nameId));
+                }
+                int[] ids = items.toSortedArray();
+                for (int a = 0; a < ids.length; a++)
+                {
+                    this.customerCounts.addToValue(ids[a], 1);
+                    long first = (long) ids[a] << 32;
+                    for (int b = a + 1; b < ids.length; b++)
+                    {
+                        this.pairCounts.addToValue(first | ids[b], 1);
+                    }
+                }
+            }
+            return this;
+        }
+
+        private Counts addAll(Counts counts)
+        {
+            counts.pairCounts.forEachKeyValue(this.pairCounts::addToValue);
+            counts.customerCounts.forEachKeyValue(this.customerCounts::addToValue);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.multimap.set.MutableSetMultimap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.impl.factory.Multimaps;
+import org.eclipse.collections.impl.multimap.set.SynchronizedPutUnifiedSetMultimap;
+
+/**
+ * An inverted index from item name to the {@link Order}s and {@link Customer}s that contain it. It is kept up to date
+ * by {@link Company} as customers, orders and line items are added.
+ * <p/>
+ * The index of a concurrent company synchronizes puts on the set of each item name, and its lookups return a copy of
+ * the set taken under the same monitor instead of a view.
+ */
+final class ItemIndex
+{
+    private final MutableSetMultimap<String, Order> ordersByItemName;
+    private final MutableSetMultimap<String, Customer> customersByItemName;
+    private final boolean concurrent;
+
+    ItemIndex()
+    {
+        this(Multimaps.mutable.set.empty(), Multimaps.mutable.set.empty(), false);
+    }
+
+    private ItemIndex(
+            MutableSetMultimap<String, Order> ordersByItemName,
+            MutableSetMultimap<String, Customer> customersByItemName,
+            boolean concurrent)
+    {
+        this.ordersByItemName = ordersByItemName;
+        this.customersByItemName = customersByItemName;
+        this.concurrent = concurrent;
+    }
+
+    static ItemIndex newConcurrentIndex()
+    {
+        return new ItemIndex(
+                SynchronizedPutUnifiedSetMultimap.newMultimap(),
+                SynchronizedPutUnifiedSetMultimap.newMultimap(),
+                true);
+    }
+
+    void addOrder(Customer customer, Order order)
+    {
+        ItemNameDictionary dictionary = ItemNameDictionary.shared();
+        order.forEachLineItemColumns((nameId, value, valueInMinorUnits, occurrences) ->
+                this.add(customer, order, dictionary.nameOf(nameId)));
+    }
+
+    void add(Customer customer, Order order, String itemName)
+    {
+        this.ordersByItemName.put(itemName, order);
+        this.customersByItemName.put(itemName, customer);
+    }
+
+    /**
+     * Adds the orders and customers of an item name in bulk, e.g. when a snapshot is loaded. Each set is sized for the
+     * orders and customers once rather than grown as they are added one at a time.
+     */
+    void addAll(String itemName, Iterable<Order> orders, Iterable<Customer> customers)
+    {
+        this.ordersByItemName.putAll(itemName, orders);
+        this.customersByItemName.putAll(itemName, customers);
+    }
+
+    /**
+     * Returns the names of all items that have been ordered.
+     */
+    RichIterable<String> itemNames()
+    {
+        return this.ordersByItemName.keysView();
+    }
+
+    SetIterable<Order> getOrders(String itemName)
+    {
+        return this.lookUp(this.ordersByItemName, itemName);
+    }
+
+    SetIterable<Customer> getCustomers(String itemName)
+    {
+        return this.lookUp(this.customersByItemName, itemName);
+    }
+
+    private <T> SetIterable<T> lookUp(MutableSetMultimap<String, T> multimap, String itemName)
+    {
+        MutableSet<T> set = multimap.get(itemName);
+        if (!this.concurrent)
+        {
+            return set.asUnmodifiable();
+        }
+        synchronized (set)
+        {
+            return set.toImmutable();
+        }
+    }
+}
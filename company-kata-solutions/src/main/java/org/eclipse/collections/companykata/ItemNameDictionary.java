@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+
+/**
+ * Interns item names to canonical {@link String} instances and encodes them as dense {@code int} ids in the order the
+ * names are first seen. The shared dictionary is used by every {@link LineItem}.
+ * <p/>
+ * Lookups take no locks: ids are found in a {@link ConcurrentHashMap}, and names in an array that is copied when it
+ * grows and published through a volatile field. Only adding a name that has not been seen synchronizes. The first
+ * instance of a name added is the one kept in both, so the map also serves as the pool of canonical names.
+ * <p/>
+ * Names are never removed, so the readers of untrusted input, {@link CompanyCsvLoader} and
+ * {@link OrderIngestionPipeline}, add names through {@link #idOf(String, int)} and reject input that would grow the
+ * dictionary past {@code -Dcompanykata.maxItemNames} names, by default {@value #DEFAULT_MAXIMUM_UNTRUSTED_SIZE}.
+ * Line items created in code are not limited.
+ */
+final class ItemNameDictionary
+{
+    static final int DEFAULT_MAXIMUM_UNTRUSTED_SIZE = 1 << 20;
+    static final int MAXIMUM_UNTRUSTED_SIZE =
+            Integer.getInteger("companykata.maxItemNames", DEFAULT_MAXIMUM_UNTRUSTED_SIZE);
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final ItemNameDictionary SHARED = new ItemNameDictionary();
+
+    private final ConcurrentHashMap<String, Integer> ids = ConcurrentHashMap.newMap();
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+    private volatile int size;
+
+    static ItemNameDictionary shared()
+    {
+        return SHARED;
+    }
+
+    /**
+     * Returns the id of the name, adding it to the dictionary if it has not been seen.
+     */
+    int idOf(String name)
+    {
+        return this.idOf(name, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the id of the name, adding it to the dictionary if it has not been seen and the dictionary has fewer than
+     * {@code maximumSize} names, or returns -1 if the name has not been seen and the dictionary is full.
+     */
+    int idOf(String name, int maximumSize)
+    {
+        Integer id = this.ids.get(name);
+        return id == null ? this.add(name, maximumSize) : id;
+    }
+
+    private synchronized int add(String name, int maximumSize)
+    {
+        Integer existing = this.ids.get(name);
+        if (existing != null)
+        {
+            return existing;
+        }
+        int id = this.size;
+        if (id >= maximumSize)
+        {
+            return -1;
+        }
+        String[] grown = this.names;
+        if (id == grown.length)
+        {
+            grown = Arrays.copyOf(grown, grown.length << 1);
+        }
+        grown[id] = name;
+        this.names = grown;
+        this.size = id + 1;
+        this.ids.put(name, id);
+        return id;
+    }
+    /**
+     * Returns the id of the name, or -1 if the name has not been seen.
+     */
+    int getIfPresent(String name)
+    {
+        Integer id = this.ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    String nameOf(int id)
+    {
+        return this.names[id];
+    }
+
+    int size()
+    {
+        return this.size;
+    }
+}
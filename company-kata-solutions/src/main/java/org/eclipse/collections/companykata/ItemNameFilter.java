@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over item names, which answers "might this name have been added?" without false negatives. It is
+ * kept by {@link Company} with the name of every item ordered by its customers, so that
+ * {@link Customer#orderedItemNamed(String)} can return {@code false} for an item that nobody ordered without scanning
+ * any orders. The bit positions of a name are derived from its {@link String#hashCode()}, which a {@link String}
+ * caches, so a probe does not look the name up in the {@link ItemNameDictionary}.
+ * <p/>
+ * The company's filter does not know in advance how many names it will hold, so it grows as a scalable Bloom filter: a
+ * list of layers, each twice the size of the one before. Names are added to the last layer until it holds one name
+ * for every {@link #BITS_PER_NAME} bits, when a new layer is added, and a name is present if any layer contains it.
+ * Each layer stays at about a 0.5% false-positive rate, so the rate of the filter only grows with the logarithm of
+ * the number of names. Layers are never rebuilt, so an add that races with the growth still lands in a layer that is
+ * probed.
+ * <p/>
+ * The static methods keep a filter of one {@code long} with {@link #WORD_HASHES} bits per name, which is small enough
+ * to keep for every order, see {@link FilteredLineItemStore}. The layers of a concurrent company set their bits with
+ * {@link AtomicLongArray}, so names can be added from many threads at once.
+ */
+final class ItemNameFilter
+{
+    static final int WORD_HASHES = 2;
+    static final int HASHES = 3;
+    static final int DEFAULT_BITS = 1 << 18;
+    static final int BITS_PER_NAME = 16;
+
+    private final boolean concurrent;
+    private volatile Layer[] layers;
+
+    ItemNameFilter()
+    {
+        this(false);
+    }
+
+    private ItemNameFilter(boolean concurrent)
+    {
+        this.concurrent = concurrent;
+        this.layers = new Layer[]{new Layer(DEFAULT_BITS, concurrent)};
+    }
+
+    static ItemNameFilter newConcurrentFilter()
+    {
+        return new ItemNameFilter(true);
+    }
+
+    static long addTo(long word, String itemName)
+    {
+        long hash = ItemNameFilter.hash(itemName);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < WORD_HASHES; i++)
+        {
+            word |= 1L << (h1 + i * h2);
+        }
+        return word;
+    }
+
+    static boolean mightContain(long word, String itemName)
+    {
+        long hash = ItemNameFilter.hash(itemName);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < WORD_HASHES; i++)
+        {
+            if ((word & 1L << (h1 + i * h2)) == 0L)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the name to the last layer unless a layer already contains it, so that a name added again does not count
+     * towards the size of the layer.
+     */
+    void add(String itemName)
+    {
+        long hash = ItemNameFilter.hash(itemName);
+        Layer[] current = this.layers;
+        for (Layer layer : current)
+        {
+            if (layer.mightContain(hash))
+            {
+                return;
+            }
+        }
+        Layer last = current[current.length - 1];
+        if (last.add(hash) >= last.capacity)
+        {
+            this.grow(current);
+        }
+    }
+
+    private synchronized void grow(Layer[] full)
+    {
+        if (this.layers == full)
+        {
+            Layer[] grown = Arrays.copyOf(full, full.length + 1);
+            grown[full.length] = new Layer(full[full.length - 1].bits << 1, this.concurrent);
+            this.layers = grown;
+        }
+    }
+
+    boolean mightContain(String itemName)
+    {
+        long hash = ItemNameFilter.hash(itemName);
+        for (Layer layer : this.layers)
+        {
+            if (layer.mightContain(hash))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int layerCount()
+    {
+        return this.layers.length;
+    }
+
+    /**
+     * Returns the probability that a name that was not added is reported as present, estimated from the fraction of
+     * bits that are set in each layer.
+     */
+    double expectedFalsePositiveRate()
+    {
+        double negative = 1.0;
+        for (Layer layer : this.layers)
+        {
+            negative *= 1.0 - layer.expectedFalsePositiveRate();
+        }
+        return 1.0 - negative;
+    }
+
+    /**
+     * Spreads the 32 bits of the hash code over a {@code long} with the finalizer of MurmurHash3, so that the two
+     * halves can be used as independent hashes.
+     */
+    private static long hash(String itemName)
+    {
+        long hash = itemName.hashCode();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static final class Layer
+    {
+        private final int bits;
+        private final int mask;
+        private final int capacity;
+        private final long[] words;
+        private final AtomicLongArray atomicWords;
+        private final AtomicInteger atomicNames;
+        private int names;
+
+        private Layer(int bits, boolean concurrent)
+        {
+            this.bits = bits;
+            this.mask = bits - 1;
+            this.capacity = bits / BITS_PER_NAME;
+            this.words = concurrent ? null : new long[bits / Long.SIZE];
+            this.atomicWords = concurrent ? new AtomicLongArray(bits / Long.SIZE) : null;
+            this.atomicNames = concurrent ? new AtomicInteger() : null;
+        }
+
+        /**
+         * Sets the bits of the hash and returns the number of names in the layer, counting this one if it set a bit.
+         */
+        private int add(long hash)
+        {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            boolean changed = false;
+            for (int i = 0; i < HASHES; i++)
+            {
+                int bit = (h1 + i * h2) & this.mask;
+                long bitMask = 1L << bit;
+                if (this.atomicWords == null)
+                {
+                    changed |= (this.words[bit >>> 6] & bitMask) == 0L;
+                    this.words[bit >>> 6] |= bitMask;
+                }
+                else if ((this.atomicWords.get(bit >>> 6) & bitMask) == 0L)
+                {
+                    changed |= (this.atomicWords.getAndUpdate(bit >>> 6, word -> word | bitMask) & bitMask) == 0L;
+                }
+            }
+            if (this.atomicNames == null)
+            {
+                return changed ? ++this.names : this.names;
+            }
+            return changed ? this.atomicNames.incrementAndGet() : this.atomicNames.get();
+        }
+
+        private boolean mightContain(long hash)
+        {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            for (int i = 0; i < HASHES; i++)
+            {
+                int bit = (h1 + i * h2) & this.mask;
+                if ((this.word(bit >>> 6) & 1L << bit) == 0L)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private double expectedFalsePositiveRate()
+        {
+            int setBits = 0;
+            for (int i = 0; i < this.bits / Long.SIZE; i++)
+            {
+                setBits += Long.bitCount(this.word(i));
+            }
+            return Math.pow((double) setBits / this.bits, HASHES);
+        }
+
+        private long word(int index)
+        {
+            return this.atomicWords == null ? this.words[index] : this.atomicWords.get(index);
+        }
+    }
+}
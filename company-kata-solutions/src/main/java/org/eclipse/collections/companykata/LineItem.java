@@ -10,30 +10,92 @@
 
 package org.eclipse.collections.companykata;
 
+import java.util.Comparator;
+
 import org.eclipse.collections.api.block.function.Function;
 
 /**
- * An Item has a name and a value.
+ * An Item has a name and a value. The value is also kept as a fixed-point number of minor currency units (pennies),
+ * so that totals can be accumulated exactly with primitive {@code long}s.
+ * <p/>
+ * Item names are interned in a shared dictionary, so line items with the same name share one {@link String} and a
+ * dense {@code int} id.
  */
 public class LineItem
 {
+    public static final int MINOR_UNITS_PER_MAJOR_UNIT = 100;
+
+    private static final Comparator<LineItem> BY_NAME = (item1, item2) ->
+            item1.nameId == item2.nameId ? 0 : item1.name.compareTo(item2.name);
+
     private final String name;
+    private final int nameId;
     private final double value;
+    private final long valueInMinorUnits;
 
     public String getName()
     {
         return this.name;
     }
 
+    /**
+     * Returns the id of this item's name in the shared item name dictionary. Two line items have the same id if and
+     * only if they have equal names.
+     */
+    public int getNameId()
+    {
+        return this.nameId;
+    }
+
     public double getValue()
     {
         return this.value;
     }
 
+    public long getValueInMinorUnits()
+    {
+        return this.valueInMinorUnits;
+    }
+
+    /**
+     * Creates a line item whose value in minor units is the value rounded to the nearest minor unit, half up, e.g.
+     * 0.125 is kept as 13 minor units and 0.001 as none. {@link #getValue()} keeps the value as given, so the exact
+     * totals in minor units can differ from the double totals by the rounding of each item. Use
+     * {@link #ofMinorUnits(String, long)} for amounts that must be exact.
+     */
     public LineItem(String name, double value)
     {
-        this.name = name;
+        this(name, value, Math.round(value * MINOR_UNITS_PER_MAJOR_UNIT));
+    }
+
+    LineItem(String name, double value, long valueInMinorUnits)
+    {
+        this(ItemNameDictionary.shared().idOf(name), value, valueInMinorUnits);
+    }
+
+    LineItem(int nameId, double value, long valueInMinorUnits)
+    {
+        this.name = ItemNameDictionary.shared().nameOf(nameId);
+        this.nameId = nameId;
         this.value = value;
+        this.valueInMinorUnits = valueInMinorUnits;
+    }
+
+    /**
+     * Orders line items alphabetically by name. Items with the same name are recognized by their name id without
+     * comparing the strings.
+     */
+    public static Comparator<LineItem> byName()
+    {
+        return BY_NAME;
+    }
+
+    /**
+     * Creates a line item from a fixed-point value, e.g. {@code ofMinorUnits("cup", 150L)} for a cup costing 1.50.
+     */
+    public static LineItem ofMinorUnits(String name, long valueInMinorUnits)
+    {
+        return new LineItem(name, (double) valueInMinorUnits / MINOR_UNITS_PER_MAJOR_UNIT, valueInMinorUnits);
     }
 
     @Override
@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * A procedure over the fields of a distinct line item and its number of occurrences, so that the company's hooks can
+ * traverse an order without creating a {@link LineItem} for each item of a columnar order.
+ *
+ * @see Order#forEachLineItemColumns(LineItemColumnsProcedure)
+ */
+@FunctionalInterface
+interface LineItemColumnsProcedure
+{
+    void value(int nameId, double value, long valueInMinorUnits, int occurrences);
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+
+/**
+ * The storage behind the line items of an {@link Order}. Line items are kept by name: adding an item with a name that
+ * is already present only adds occurrences of the item that was added first.
+ */
+interface LineItemStore
+{
+    /**
+     * Adds occurrences of the item and returns the line item that is recorded for its name, which is the one that was
+     * added first. Its value, not that of the argument, is what the occurrences are worth.
+     */
+    LineItem add(LineItem item, int occurrences);
+
+    /**
+     * Returns the total number of line item occurrences.
+     */
+    int size();
+
+    /**
+     * Returns the line items as a bag that cannot be changed, so that every line item is added through
+     * {@link #add(LineItem, int)}.
+     */
+    Bag<LineItem> asBag();
+
+    void forEachWithOccurrences(ObjectIntProcedure<? super LineItem> procedure);
+
+    /**
+     * Same as {@link #forEachWithOccurrences(ObjectIntProcedure)}, but passes the fields of each line item rather
+     * than the line item.
+     */
+    void forEachColumns(LineItemColumnsProcedure procedure);
+
+    double sumOfValues();
+
+    long sumOfValuesInMinorUnits();
+
+    boolean containsItemNamed(String itemName);
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.block.function.Function;
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * Folds the line items of a list of customers into primitive maps of totals. A single procedure instance is reused
+ * for every order, so no object is allocated per line item. The parallel variants fold batches of customers into
+ * one map per task and merge the maps at the end.
+ */
+final class LineItemTotals
+{
+    private LineItemTotals()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    static <K> MutableObjectDoubleMap<K> sumValues(
+            ListIterable<Customer> customers,
+            Function<? super LineItem, ? extends K> groupBy)
+    {
+        return LineItemTotals.forEachLineItem(customers, 0, customers.size(), new DoubleTotals<K>(groupBy)).totals;
+    }
+
+    static <K> MutableObjectLongMap<K> sumMinorUnits(
+            ListIterable<Customer> customers,
+            Function<? super LineItem, ? extends K> groupBy)
+    {
+        return LineItemTotals.forEachLineItem(customers, 0, customers.size(), new LongTotals<K>(groupBy)).totals;
+    }
+
+    static <K> MutableObjectDoubleMap<K> sumValuesInParallel(
+            ListIterable<Customer> customers,
+            Function<? super LineItem, ? extends K> groupBy,
+            ExecutorService executor,
+            int batchSize)
+    {
+        MutableList<DoubleTotals<K>> results =
+                LineItemTotals.inBatches(customers, () -> new DoubleTotals<>(groupBy), executor, batchSize);
+        MutableObjectDoubleMap<K> merged = results.getFirst().totals;
+        for (int i = 1; i < results.size(); i++)
+        {
+            results.get(i).totals.forEachKeyValue(merged::addToValue);
+        }
+        return merged;
+    }
+
+    static <K> MutableObjectLongMap<K> sumMinorUnitsInParallel(
+            ListIterable<Customer> customers,
+            Function<? super LineItem, ? extends K> groupBy,
+            ExecutorService executor,
+            int batchSize)
+    {
+        MutableList<LongTotals<K>> results =
+                LineItemTotals.inBatches(customers, () -> new LongTotals<>(groupBy), executor, batchSize);
+        MutableObjectLongMap<K> merged = results.getFirst().totals;
+        for (int i = 1; i < results.size(); i++)
+        {
+            results.get(i).totals.forEachKeyValue(merged::addToValue);
+        }
+        return merged;
+    }
+
+    static <P extends ObjectIntProcedure<LineItem>> P forEachLineItem(
+            ListIterable<Customer> customers,
+            int from,
+            int to,
+            P procedure)
+    {
+        for (int i = from; i < to; i++)
+        {
+            ListIterable<Order> orders = customers.get(i).getOrders();
+            for (int j = 0; j < orders.size(); j++)
+            {
+                orders.get(j).forEachLineItemWithOccurrences(procedure);
+            }
+        }
+        return procedure;
+    }
+
+    static <P extends ObjectIntProcedure<LineItem>> MutableList<P> inBatches(
+            ListIterable<Customer> customers,
+            Function0<P> procedureFactory,
+            ExecutorService executor,
+            int batchSize)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
+        int size = customers.size();
+        if (size == 0)
+        {
+            return Lists.mutable.with(procedureFactory.value());
+        }
+        MutableList<Callable<P>> tasks = Lists.mutable.empty();
+        for (int from = 0; from < size; from += batchSize)
+        {
+            int batchFrom = from;
+            int batchTo = Math.min(from + batchSize, size);
+            tasks.add(() -> LineItemTotals.forEachLineItem(customers, batchFrom, batchTo, procedureFactory.value()));
+        }
+        try
+        {
+            MutableList<P> results = Lists.mutable.withInitialCapacity(tasks.size());
+            for (Future<P> future : executor.invokeAll(tasks))
+            {
+                results.add(future.get());
+            }
+            return results;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static final class DoubleTotals<K> implements ObjectIntProcedure<LineItem>
+    {
+        private final Function<? super LineItem, ? extends K> groupBy;
+        private final MutableObjectDoubleMap<K> totals = new ObjectDoubleHashMap<>();
+
+        private DoubleTotals(Function<? super LineItem, ? extends K> groupBy)
+        {
+            this.groupBy = groupBy;
+        }
+
+        @Override
+        public void value(LineItem item, int occurrences)
+        {
+            this.totals.addToValue(this.groupBy.valueOf(item), item.getValue() * occurrences);
+        }
+    }
+
+    private static final class LongTotals<K> implements ObjectIntProcedure<LineItem>
+    {
+        private final Function<? super LineItem, ? extends K> groupBy;
+        private final MutableObjectLongMap<K> totals = new ObjectLongHashMap<>();
+
+        private LongTotals(Function<? super LineItem, ? extends K> groupBy)
+        {
+            this.groupBy = groupBy;
+        }
+
+        @Override
+        public void value(LineItem item, int occurrences)
+        {
+            this.totals.addToValue(this.groupBy.valueOf(item), item.getValueInMinorUnits() * occurrences);
+        }
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+
+/**
+ * An append-only log of the changes made to a {@link Company}, from which the company can be rebuilt after a crash
+ * without taking snapshots. Once a log is attached, the company records every customer, order and supplier added,
+ * every line item added to an order of one of its customers and every delivery. An order is recorded with its
+ * timestamp, line items and delivery state when it is added to a customer of the company, so changes made to an order
+ * or customer before it joins the company need no records of their own.
+ * <p/>
+ * Each record is framed by its length and a CRC32C of its contents. Records are appended to an in-memory batch that
+ * is written to the file whenever it reaches 64KB, and {@link #commit()} writes the batch and forces the file to
+ * disk. Threads that commit while another thread is forcing the file wait for it, and return without forcing again
+ * if their records were covered, so concurrent committers share one force.
+ * <p/>
+ * {@link #replay(Path)} rebuilds the company from the records up to the last complete one: a record cut short by a
+ * crash, one whose length is negative or runs past the end of the file, or one whose checksum does not match, ends
+ * the log. {@link #recover(Path)} also cuts that tail off the file
+ * and attaches the log to the rebuilt company so that it can carry on.
+ */
+public final class MutationLog implements AutoCloseable
+{
+    private static final int MAGIC = 0x434B4C32;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int BATCH_BYTES = 1 << 16;
+
+    private static final byte COMPANY = 1;
+    private static final byte CUSTOMER = 2;
+    private static final byte ITEM_NAME = 3;
+    private static final byte ORDER = 4;
+    private static final byte LINE_ITEMS = 5;
+    private static final byte DELIVERED = 6;
+    private static final byte SUPPLIER = 7;
+
+    private static final byte DELIVERED_FLAG = 1;
+    private static final byte COLUMNAR_FLAG = 2;
+
+    private final FileChannel channel;
+    private final Company company;
+    private final CRC32C crc = new CRC32C();
+    private final MutableObjectIntMap<Customer> customerIds = new ObjectIntHashMap<>();
+    private final MutableIntIntMap itemNameIds = new IntIntHashMap();
+    private final Object forceLock = new Object();
+    private ByteBuffer batch = ByteBuffer.allocate(2 * BATCH_BYTES);
+    private long written;
+    private long appended;
+    private volatile long durable;
+
+    private MutationLog(FileChannel channel, Company company, long position)
+    {
+        this.channel = channel;
+        this.company = company;
+        this.written = position;
+        this.appended = position;
+        this.durable = position;
+    }
+
+    /**
+     * Creates a new log file, replacing any file at the path, records the company as it is now, and attaches the log
+     * to the company. The company should not be changed while the log is created.
+     */
+    public static MutationLog create(Company company, Path path) throws IOException
+    {
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        MutationLog log = new MutationLog(channel, company, 0L);
+        synchronized (log)
+        {
+            log.putInt(MAGIC);
+            log.appended = Integer.BYTES;
+            log.appendCompany(company);
+            company.getSuppliers().each(log::supplierAdded);
+            company.getCustomers().each(customer ->
+            {
+                log.customerAdded(customer);
+                customer.getOrders().each(order -> log.orderAdded(customer, order));
+            });
+        }
+        log.commit();
+        company.setMutationLog(log);
+        return log;
+    }
+
+    /**
+     * Rebuilds the company from the complete records of the log, removes any incomplete record at the end of the
+     * file, and attaches the log to the rebuilt company so that further changes are appended to it.
+     */
+    public static MutationLog recover(Path path) throws IOException
+    {
+        Replay replay = MutationLog.read(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.truncate(replay.end);
+        channel.position(replay.end);
+        channel.force(true);
+        MutationLog log = new MutationLog(channel, replay.company, replay.end);
+        replay.customers.forEachWithIndex(log.customerIds::put);
+        replay.itemNames.forEachWithIndex((nameId, logId) -> log.itemNameIds.put(nameId, logId));
+        replay.company.setMutationLog(log);
+        return log;
+    }
+
+    /**
+     * Rebuilds the company from the complete records of the log without changing the file.
+     */
+    public static Company replay(Path path) throws IOException
+    {
+        return MutationLog.read(path).company;
+    }
+
+    public Company getCompany()
+    {
+        return this.company;
+    }
+
+    /**
+     * Returns the number of bytes of records that have been appended to the log, including those not yet written.
+     */
+    public synchronized long size()
+    {
+        return this.appended;
+    }
+
+    /**
+     * Writes every record appended so far to the file and forces it to disk.
+     */
+    public void commit() throws IOException
+    {
+        long target;
+        synchronized (this)
+        {
+            this.writeBatch();
+            target = this.written;
+        }
+        if (this.durable >= target)
+        {
+            return;
+        }
+        synchronized (this.forceLock)
+        {
+            if (this.durable >= target)
+            {
+                return;
+            }
+            long covered;
+            synchronized (this)
+            {
+                covered = this.written;
+            }
+            this.channel.force(false);
+            this.durable = covered;
+        }
+    }
+
+    /**
+     * Commits the log and closes the file. The company stops recording changes.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        this.company.setMutationLog(null);
+        try
+        {
+            this.commit();
+        }
+        finally
+        {
+            this.channel.close();
+        }
+    }
+
+    synchronized void customerAdded(Customer customer)
+    {
+        this.customerIds.put(customer, this.customerIds.size());
+        int start = this.startRecord(CUSTOMER);
+        this.putString(customer.getName());
+        this.putString(customer.getCity());
+        this.endRecord(start);
+    }
+
+    synchronized void orderAdded(Customer customer, Order order)
+    {
+        order.forEachLineItemColumns((nameId, value, valueInMinorUnits, occurrences) -> this.itemNameId(nameId));
+        int start = this.startRecord(ORDER);
+        this.putInt(this.customerIds.getOrThrow(customer));
+        this.putInt(order.getOrderNumber());
+        this.putLong(order.getTimestamp());
+        byte flags = 0;
+        if (order.isDelivered())
+        {
+            flags |= DELIVERED_FLAG;
+        }
+        if (order.isColumnar())
+        {
+            flags |= COLUMNAR_FLAG;
+        }
+        this.ensureCapacity(1 + Integer.BYTES);
+        this.batch.put(flags);
+        int countPosition = this.batch.position();
+        this.batch.putInt(0);
+        int[] count = new int[1];
+        order.forEachLineItemColumns((nameId, value, valueInMinorUnits, occurrences) ->
+        {
+            this.putLineItems(nameId, value, valueInMinorUnits, occurrences);
+            count[0]++;
+        });
+        this.batch.putInt(countPosition, count[0]);
+        this.endRecord(start);
+    }
+
+    synchronized void lineItemsAdded(Order order, LineItem item, int count)
+    {
+        this.itemNameId(item.getNameId());
+        int start = this.startRecord(LINE_ITEMS);
+        this.putInt(order.getOrderNumber());
+        this.putLineItems(item.getNameId(), item.getValue(), item.getValueInMinorUnits(), count);
+        this.endRecord(start);
+    }
+
+    synchronized void orderDelivered(Order order)
+    {
+        int start = this.startRecord(DELIVERED);
+        this.putInt(order.getOrderNumber());
+        this.endRecord(start);
+    }
+
+    synchronized void supplierAdded(Supplier supplier)
+    {
+        int start = this.startRecord(SUPPLIER);
+        this.putString(supplier.getName());
+        this.putInt(supplier.getItemNames().length);
+        for (String itemName : supplier.getItemNames())
+        {
+            this.putString(itemName);
+        }
+        this.endRecord(start);
+    }
+
+    private void appendCompany(Company company)
+    {
+        int start = this.startRecord(COMPANY);
+        this.putString(company.getName());
+        this.ensureCapacity(1);
+        this.batch.put(company.isConcurrent() ? (byte) 1 : (byte) 0);
+        this.endRecord(start);
+    }
+
+    /**
+     * Returns the log's id for the name of the item, recording the name the first time it is seen.
+     */
+    private int itemNameId(int nameId)
+    {
+        int id = this.itemNameIds.getIfAbsent(nameId, -1);
+        if (id < 0)
+        {
+            id = this.itemNameIds.size();
+            this.itemNameIds.put(nameId, id);
+            int start = this.startRecord(ITEM_NAME);
+            this.putString(ItemNameDictionary.shared().nameOf(nameId));
+            this.endRecord(start);
+        }
+        return id;
+    }
+
+    private void putLineItems(int nameId, double value, long valueInMinorUnits, int count)
+    {
+        this.ensureCapacity(2 * Integer.BYTES + Double.BYTES + Long.BYTES);
+        this.batch.putInt(this.itemNameIds.get(nameId));
+        this.batch.putDouble(value);
+        this.batch.putLong(valueInMinorUnits);
+        this.batch.putInt(count);
+    }
+
+    private int startRecord(byte type)
+    {
+        this.ensureCapacity(HEADER_BYTES + 1);
+        int start = this.batch.position();
+        this.batch.position(start + HEADER_BYTES);
+        this.batch.put(type);
+        return start;
+    }
+
+    private void endRecord(int start)
+    {
+        int end = this.batch.position();
+        int length = end - start - HEADER_BYTES;
+        this.crc.reset();
+        this.crc.update(this.batch.array(), start + HEADER_BYTES, length);
+        this.batch.putInt(start, length);
+        this.batch.putInt(start + Integer.BYTES, (int) this.crc.getValue());
+        this.appended += end - start;
+        if (end >= BATCH_BYTES)
+        {
+            try
+            {
+                this.writeBatch();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void putInt(int value)
+    {
+        this.ensureCapacity(Integer.BYTES);
+        this.batch.putInt(value);
+    }
+
+    private void putLong(long value)
+    {
+        this.ensureCapacity(Long.BYTES);
+        this.batch.putLong(value);
+    }
+
+    private void putString(String string)
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        this.ensureCapacity(Integer.BYTES + bytes.length);
+        this.batch.putInt(bytes.length);
+        this.batch.put(bytes);
+    }
+
+    private void ensureCapacity(int bytes)
+    {
+        if (this.batch.remaining() < bytes)
+        {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(this.batch.capacity() * 2, this.batch.position() + bytes));
+            this.batch.flip();
+            larger.put(this.batch);
+            this.batch = larger;
+        }
+    }
+
+    private void writeBatch() throws IOException
+    {
+        this.batch.flip();
+        while (this.batch.hasRemaining())
+        {
+            this.written += this.channel.write(this.batch);
+        }
+        this.batch.clear();
+    }
+
+    private static Replay read(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             DataInputStream input = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), BATCH_BYTES)))
+        {
+            long size = channel.size();
+            if (input.readInt() != MAGIC)
+            {
+                throw new IOException("Not a mutation log: " + path);
+            }
+            Replay replay = new Replay(Integer.BYTES);
+            CRC32C crc = new CRC32C();
+            byte[] record = new byte[256];
+            while (true)
+            {
+                int length;
+                int checksum;
+                try
+                {
+                    length = input.readInt();
+                    checksum = input.readInt();
+                    if (length <= 0 || length > size - replay.end - HEADER_BYTES)
+                    {
+                        break;
+                    }
+                    if (length > record.length)
+                    {
+                        record = new byte[Math.max(length, record.length * 2)];
+                    }
+                    input.readFully(record, 0, length);
+                }
+                catch (EOFException e)
+                {
+                    break;
+                }
+                crc.reset();
+                crc.update(record, 0, length);
+                if ((int) crc.getValue() != checksum)
+                {
+                    break;
+                }
+                try
+                {
+                    replay.apply(ByteBuffer.wrap(record, 0, length), path);
+                }
+                catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e)
+                {
+                    throw new IOException("Mutation log record at byte " + replay.end + " is corrupt: " + path, e);
+                }
+                replay.end += HEADER_BYTES + length;
+            }
+            if (replay.company == null)
+            {
+                throw new IOException("Mutation log has no company record: " + path);
+            }
+            Order.reserveOrderNumbersThrough(replay.largestOrderNumber);
+            return replay;
+        }
+    }
+
+    /**
+     * The company rebuilt so far from a log, with the customers and item names in the order the log numbered them.
+     */
+    private static final class Replay
+    {
+        private final MutableList<Customer> customers = Lists.mutable.empty();
+        private final MutableIntObjectMap<Order> orders = new IntObjectHashMap<>();
+        private final MutableIntList itemNames = IntLists.mutable.empty();
+        private Company company;
+        private int largestOrderNumber;
+        private long end;
+
+        private Replay(long end)
+        {
+            this.end = end;
+        }
+
+        private void apply(ByteBuffer record, Path path) throws IOException
+        {
+            byte type = record.get();
+            if (this.company == null && type != COMPANY)
+            {
+                throw new IOException("Mutation log does not start with a company record: " + path);
+            }
+            switch (type)
+            {
+                case COMPANY:
+                    String name = Replay.getString(record);
+                    this.company = record.get() == 1 ? Company.newConcurrentCompany(name) : new Company(name);
+                    break;
+                case CUSTOMER:
+                    Customer customer = new Customer(Replay.getString(record), Replay.getString(record));
+                    this.customers.add(customer);
+                    this.company.addCustomer(customer);
+                    break;
+                case ITEM_NAME:
+                    this.itemNames.add(ItemNameDictionary.shared().idOf(Replay.getString(record)));
+                    break;
+                case ORDER:
+                    Customer owner = this.customers.get(record.getInt());
+                    int orderNumber = record.getInt();
+                    long timestamp = record.getLong();
+                    byte flags = record.get();
+                    Order order = Order.withOrderNumber(orderNumber, timestamp, (flags & COLUMNAR_FLAG) != 0);
+                    for (int i = record.getInt(); i > 0; i--)
+                    {
+                        this.addLineItems(order, record);
+                    }
+                    if ((flags & DELIVERED_FLAG) != 0)
+                    {
+                        order.deliver();
+                    }
+                    owner.addOrder(order);
+                    this.orders.put(orderNumber, order);
+                    this.largestOrderNumber = Math.max(this.largestOrderNumber, orderNumber);
+                    break;
+                case LINE_ITEMS:
+                    this.addLineItems(this.orderNumbered(record.getInt(), path), record);
+                    break;
+                case DELIVERED:
+                    this.orderNumbered(record.getInt(), path).deliver();
+                    break;
+                case SUPPLIER:
+                    String supplierName = Replay.getString(record);
+                    String[] itemNames = new String[record.getInt()];
+                    for (int i = 0; i < itemNames.length; i++)
+                    {
+                        itemNames[i] = Replay.getString(record);
+                    }
+                    this.company.addSupplier(new Supplier(supplierName, itemNames));
+                    break;
+                default:
+                    throw new IOException("Unknown record type " + type + " in mutation log: " + path);
+            }
+        }
+
+        private void addLineItems(Order order, ByteBuffer record)
+        {
+            int nameId = this.itemNames.get(record.getInt());
+            LineItem item = new LineItem(nameId, record.getDouble(), record.getLong());
+            order.addLineItems(item, record.getInt());
+        }
+
+        private Order orderNumbered(int orderNumber, Path path) throws IOException
+        {
+            Order order = this.orders.get(orderNumber);
+            if (order == null)
+            {
+                throw new IOException("Mutation log refers to unknown order " + orderNumber + ": " + path);
+            }
+            return order;
+        }
+
+        private static String getString(ByteBuffer record)
+        {
+            int length = record.getInt();
+            if (length > record.remaining())
+            {
+                throw new BufferUnderflowException();
+            }
+            byte[] bytes = new byte[length];
+            record.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
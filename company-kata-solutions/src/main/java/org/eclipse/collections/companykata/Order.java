@@ -10,42 +10,158 @@
 
 package org.eclipse.collections.companykata;
 
+import java.util.concurrent.locks.Lock;
+
 import org.eclipse.collections.api.bag.Bag;
-import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
 import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
-import org.eclipse.collections.impl.block.factory.Comparators;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
 import org.eclipse.collections.impl.block.function.AddFunction;
 import org.eclipse.collections.impl.factory.Lists;
-import org.eclipse.collections.impl.factory.SortedBags;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Has a number, a {@link Customer}, a {@link List} of {@link LineItem}s, and a boolean that states whether or not the order
- * has been delivered. There is a class variable that contains the next order number.
+ * has been delivered. Order numbers come from a class variable that allocates them in per-thread blocks, see
+ * {@link OrderNumberAllocator}. Each order also has the time at which it was placed, in milliseconds since the epoch,
+ * which is the time it was created unless it is given.
+ * <p/>
+ * By default the line items are kept in a sorted bag. {@link #newColumnarOrder()} creates an order that keeps them in
+ * primitive columns instead, which behaves the same but has a much smaller footprint.
+ * <p/>
+ * While {@link #setItemNameFilterEnabled(boolean) enabled}, new orders also keep a one-{@code long} Bloom filter of
+ * their item names, so that {@link #containsItemNamed(String)} answers most misses without scanning the line items.
+ * It can be enabled for a whole run with {@code -Dcompanykata.orderItemNameFilter=true}.
  */
 public class Order
 {
-    private static final AtomicInteger NEXT_ORDER_NUMBER = new AtomicInteger(1);
+    private static final OrderNumberAllocator ORDER_NUMBERS = new OrderNumberAllocator();
+
+    private static volatile boolean itemNameFilterEnabled = Boolean.getBoolean("companykata.orderItemNameFilter");
 
     private final int orderNumber;
-    private final MutableSortedBag<LineItem> lineItems = SortedBags.mutable.empty(Comparators.byFunction(LineItem::getName));
+    private final long timestamp;
+    private final LineItemStore lineItems;
     private boolean delivered;
+    private Customer customer;
+    private double value;
+    private long valueInMinorUnits;
 
     public Order()
     {
-        this.orderNumber = NEXT_ORDER_NUMBER.getAndIncrement();
+        this(System.currentTimeMillis());
+    }
+
+    /**
+     * Creates an order placed at the given time, in milliseconds since the epoch.
+     */
+    public Order(long timestamp)
+    {
+        this(ORDER_NUMBERS.next(), timestamp, new SortedBagLineItemStore());
+    }
+
+    private Order(int orderNumber, long timestamp, LineItemStore lineItems)
+    {
+        this.orderNumber = orderNumber;
+        this.timestamp = timestamp;
+        this.lineItems = itemNameFilterEnabled ? new FilteredLineItemStore(lineItems) : lineItems;
+    }
+
+    /**
+     * Creates an order with a known number, e.g. when loading a snapshot. Call {@link #reserveOrderNumbersThrough(int)}
+     * afterwards so that the number is not allocated to a new order.
+     */
+    static Order withOrderNumber(int orderNumber, long timestamp, boolean columnar)
+    {
+        return new Order(
+                orderNumber,
+                timestamp,
+                columnar ? new ColumnarLineItemStore() : new SortedBagLineItemStore());
+    }
+
+    static void reserveOrderNumbersThrough(int orderNumber)
+    {
+        ORDER_NUMBERS.reserveThrough(orderNumber);
+    }
+
+    /**
+     * Creates an order that keeps its line items in columns, with dictionary-encoded item names. Its
+     * {@link #getLineItems()} returns an unmodifiable bag that is created on each call.
+     */
+    public static Order newColumnarOrder()
+    {
+        return Order.newColumnarOrder(System.currentTimeMillis());
+    }
+
+    public static Order newColumnarOrder(long timestamp)
+    {
+        return new Order(ORDER_NUMBERS.next(), timestamp, new ColumnarLineItemStore());
     }
 
     public static void resetNextOrderNumber()
     {
-        NEXT_ORDER_NUMBER.set(1);
+        ORDER_NUMBERS.reset();
+    }
+
+    public static boolean isItemNameFilterEnabled()
+    {
+        return itemNameFilterEnabled;
+    }
+
+    /**
+     * Sets whether orders created from now on keep a Bloom filter of their item names. Existing orders are not
+     * changed.
+     */
+    public static void setItemNameFilterEnabled(boolean enabled)
+    {
+        Order.itemNameFilterEnabled = enabled;
+    }
+
+    boolean isColumnar()
+    {
+        LineItemStore store = this.lineItems instanceof FilteredLineItemStore
+                ? ((FilteredLineItemStore) this.lineItems).getDelegate()
+                : this.lineItems;
+        return store instanceof ColumnarLineItemStore;
+    }
+
+    boolean hasItemNameFilter()
+    {
+        return this.lineItems instanceof FilteredLineItemStore;
+    }
+
+    public int getOrderNumber()
+    {
+        return this.orderNumber;
+    }
+
+    /**
+     * Returns the time at which this order was placed, in milliseconds since the epoch.
+     */
+    public long getTimestamp()
+    {
+        return this.timestamp;
     }
 
     public void deliver()
     {
-        this.delivered = true;
+        Lock lock = this.writeLock();
+        lock.lock();
+        try
+        {
+            if (!this.delivered)
+            {
+                this.delivered = true;
+                if (this.customer != null)
+                {
+                    this.customer.orderDelivered(this);
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
     }
 
     public boolean isDelivered()
@@ -55,17 +171,84 @@ public class Order
 
     public void addLineItem(LineItem aLineItem)
     {
-        this.lineItems.add(aLineItem);
+        this.addLineItems(aLineItem, 1);
+    }
+
+    public void addLineItems(LineItem item, Integer count)
+    {
+        Lock lock = this.writeLock();
+        lock.lock();
+        try
+        {
+            this.lineItemsAdded(this.lineItems.add(item, count), count);
+        }
+        finally
+        {
+            lock.unlock();
+        }
+    }
+
+    private Lock writeLock()
+    {
+        return this.customer == null ? CustomerLocks.NO_LOCK : this.customer.writeLock();
     }
 
-    public void addLineItems( LineItem item, Integer count)
+    private void lineItemsAdded(LineItem item, int count)
     {
-        this.lineItems.addOccurrences(item, count);
+        this.value += item.getValue() * count;
+        this.valueInMinorUnits += item.getValueInMinorUnits() * count;
+        if (this.customer != null)
+        {
+            this.customer.lineItemsAdded(this, item, count);
+        }
     }
 
+    /**
+     * Adds the line items without updating the running totals or telling the customer, so that a test can make the
+     * totals stale.
+     */
+    void addLineItemsWithoutTotals(LineItem item, int count)
+    {
+        this.lineItems.add(item, count);
+    }
+
+    /**
+     * Called by {@link Customer#addOrder(Order)} so that line items added later can be reported to the customer.
+     */
+    void setCustomer(Customer customer)
+    {
+        this.customer = customer;
+    }
+
+    Customer getCustomer()
+    {
+        return this.customer;
+    }
+
+    /**
+     * Returns the line items as an unmodifiable bag. Add line items with {@link #addLineItems(LineItem, Integer)},
+     * which keeps the running totals and the company's indexes up to date.
+     */
     public Bag<LineItem> getLineItems()
     {
-        return this.lineItems;
+        return this.lineItems.asBag();
+    }
+
+    /**
+     * Iterates over the distinct line items and their number of occurrences without creating a bag.
+     */
+    public void forEachLineItemWithOccurrences(ObjectIntProcedure<? super LineItem> procedure)
+    {
+        this.lineItems.forEachWithOccurrences(procedure);
+    }
+
+    /**
+     * Iterates over the name id, value, value in minor units and number of occurrences of each distinct line item.
+     * Unlike {@link #forEachLineItemWithOccurrences(ObjectIntProcedure)} it creates no line items for a columnar order.
+     */
+    void forEachLineItemColumns(LineItemColumnsProcedure procedure)
+    {
+        this.lineItems.forEachColumns(procedure);
     }
 
     @Override
@@ -75,15 +258,51 @@ public class Order
     }
 
     /**
-     * Refactor to use {@link org.eclipse.collections.api.RichIterable#sumOfDouble(DoubleFunction)}.
+     * Returns the running total of the line item values, which is kept up to date by {@link #addLineItem(LineItem)}
+     * and {@link #addLineItems(LineItem, Integer)}.
+     *
+     * @see TotalsCheck
      */
     public double getValue()
     {
-        return this.lineItems.sumOfDouble(LineItem::getValue);
+        if (TotalsCheck.isEnabled())
+        {
+            TotalsCheck.verify(this, this.value, this.computeValue());
+        }
+        return this.value;
+    }
+
+    /**
+     * Recomputes the value of this order from its line items.
+     *
+     * @see org.eclipse.collections.api.RichIterable#sumOfDouble(DoubleFunction)
+     */
+    public double computeValue()
+    {
+        return this.lineItems.sumOfValues();
+    }
+
+    /**
+     * Returns the exact fixed-point value of this order in minor currency units.
+     *
+     * @see LineItem#getValueInMinorUnits()
+     */
+    public long getValueInMinorUnits()
+    {
+        if (TotalsCheck.isEnabled())
+        {
+            TotalsCheck.verify(this, this.valueInMinorUnits, this.computeValueInMinorUnits());
+        }
+        return this.valueInMinorUnits;
+    }
+
+    public long computeValueInMinorUnits()
+    {
+        return this.lineItems.sumOfValuesInMinorUnits();
     }
 
     public boolean containsItemNamed(String itemName)
     {
-        return this.lineItems.containsBy(LineItem::getName, itemName);
+        return this.lineItems.containsItemNamed(itemName);
     }
 }
@@ -0,0 +1,555 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+
+/**
+ * Ingests orders published by a {@link Flow.Publisher} into a {@link Company}. Each message is one order:
+ * <pre>
+ * customer,city,item,value,count[,item,value,count]*
+ * </pre>
+ * The orders pass through four stages, each running on its own thread of the executor and reading from a bounded
+ * queue: parsing, validation, customer lookup and insertion. The pipeline requests no more messages from the
+ * publisher than its first queue can hold, and a stage waits when the queue of the next stage is full, so a slow
+ * stage slows the publisher down instead of letting the queues grow. Messages that cannot be parsed or are not valid
+ * are rejected and counted, and do not stop the pipeline. So are orders whose new item names would take the item
+ * names past {@code -Dcompanykata.maxItemNames}, as the names are kept for the life of the JVM.
+ * <p/>
+ * The insertion stage is the only one that changes the company, so a company that is not concurrent can be used as
+ * long as nothing else changes it until the pipeline completes. It drains up to a batch of orders from its queue at
+ * a time, which saves a queue hand-off per order, but adds each order on its own through
+ * {@link Company#addCustomer(Customer)} and {@link Customer#addOrder(Order)}, so a concurrent company takes the lock
+ * of the customer's stripe once per order. Customers are looked up by name among those the
+ * company had when the pipeline was created and those the pipeline has created since; a customer the pipeline has not
+ * seen is created with the city of its first order. Orders are created with {@link Order#newColumnarOrder() columnar}
+ * line items.
+ */
+public final class OrderIngestionPipeline implements Flow.Subscriber<String>
+{
+    private static final Object END = new Object();
+    private static final long POLL_MILLIS = 100L;
+
+    private final Company company;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maximumItemNames;
+    private final int requestBatch;
+    private final Stage parse;
+    private final Stage validate;
+    private final Stage lookUp;
+    private final Stage insert;
+    private final MutableMap<String, Customer> customersByName = Maps.mutable.empty();
+    private final CompletableFuture<Long> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+
+    /**
+     * Creates a pipeline that needs four threads of the executor once it is subscribed to a publisher.
+     *
+     * @param bufferSize the capacity of the queue in front of each stage
+     * @param batchSize the largest number of orders the insertion stage takes from its queue at once
+     */
+    public OrderIngestionPipeline(Company company, ExecutorService executor, int bufferSize, int batchSize)
+    {
+        this(company, executor, bufferSize, batchSize, ItemNameDictionary.MAXIMUM_UNTRUSTED_SIZE);
+    }
+
+    OrderIngestionPipeline(
+            Company company,
+            ExecutorService executor,
+            int bufferSize,
+            int batchSize,
+            int maximumItemNames)
+    {
+        if (bufferSize < 2 || batchSize < 1)
+        {
+            throw new IllegalArgumentException(
+                    "Buffer size must be at least 2 and batch size at least 1 but were " + bufferSize + " and "
+                            + batchSize);
+        }
+        this.company = company;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maximumItemNames = maximumItemNames;
+        this.requestBatch = bufferSize / 2;
+        this.parse = new Stage("parse", bufferSize);
+        this.validate = new Stage("validate", bufferSize);
+        this.lookUp = new Stage("lookUp", bufferSize);
+        this.insert = new Stage("insert", bufferSize);
+        company.getCustomers().each(customer -> this.customersByName.putIfAbsent(customer.getName(), customer));
+    }
+
+    /**
+     * Returns a future of the number of orders inserted, which completes when the publisher has completed and every
+     * order has been inserted, or completes exceptionally if the publisher or a stage fails.
+     */
+    public CompletableFuture<Long> getCompletion()
+    {
+        return this.completion;
+    }
+
+    /**
+     * Returns the metrics of the parse, validate, look up and insert stages, in that order.
+     */
+    public ImmutableList<StageMetrics> getStageMetrics()
+    {
+        return Lists.immutable.with(this.parse, this.validate, this.lookUp, this.insert).collect(Stage::metrics);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription)
+    {
+        if (this.subscription != null)
+        {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        this.executor.execute(() -> this.run(this.parse, this::parse));
+        this.executor.execute(() -> this.run(this.validate, this::validate));
+        this.executor.execute(() -> this.run(this.lookUp, this::lookUp));
+        this.executor.execute(this::runInsert);
+        subscription.request(this.parse.queue.remainingCapacity());
+    }
+
+    @Override
+    public void onNext(String message)
+    {
+        if (!this.parse.queue.offer(message))
+        {
+            this.fail(new IllegalStateException("Publisher sent more messages than were requested"));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable)
+    {
+        this.fail(throwable);
+    }
+
+    @Override
+    public void onComplete()
+    {
+        this.put(this.parse, END);
+    }
+
+    private void fail(Throwable throwable)
+    {
+        if (this.completion.completeExceptionally(throwable) && this.subscription != null)
+        {
+            this.subscription.cancel();
+        }
+    }
+
+    /**
+     * Runs a stage that maps each message of its queue to a message of the next stage's queue, or to null if the
+     * message is rejected.
+     */
+    private void run(Stage stage, StageFunction function)
+    {
+        try
+        {
+            int taken = 0;
+            for (Object message = this.take(stage); message != null; message = this.take(stage))
+            {
+                if (stage == this.parse && ++taken == this.requestBatch)
+                {
+                    this.subscription.request(taken);
+                    taken = 0;
+                }
+                if (message == END)
+                {
+                    this.put(stage.next(this), END);
+                    return;
+                }
+                Object result = function.apply(message);
+                stage.processed.incrementAndGet();
+                if (result == null)
+                {
+                    stage.rejected.incrementAndGet();
+                }
+                else if (!this.put(stage.next(this), result))
+                {
+                    return;
+                }
+            }
+        }
+        catch (RuntimeException | Error e)
+        {
+            this.fail(e);
+        }
+    }
+
+    private void runInsert()
+    {
+        try
+        {
+            MutableList<Object> batch = Lists.mutable.withInitialCapacity(this.batchSize);
+            long inserted = 0L;
+            for (Object message = this.take(this.insert); message != null; message = this.take(this.insert))
+            {
+                batch.add(message);
+                this.insert.queue.drainTo(batch, this.batchSize - 1);
+                boolean end = batch.getLast() == END;
+                int orders = end ? batch.size() - 1 : batch.size();
+                for (int i = 0; i < orders; i++)
+                {
+                    PendingOrder pending = (PendingOrder) batch.get(i);
+                    if (pending.newCustomer)
+                    {
+                        this.company.addCustomer(pending.customer);
+                    }
+                    pending.customer.addOrder(pending.order);
+                    inserted++;
+                    this.insert.processed.incrementAndGet();
+                }
+                if (orders > 0)
+                {
+                    this.insert.batches.incrementAndGet();
+                }
+                if (end)
+                {
+                    this.completion.complete(inserted);
+                    return;
+                }
+                batch.clear();
+            }
+        }
+        catch (RuntimeException | Error e)
+        {
+            this.fail(e);
+        }
+    }
+
+    private ParsedOrder parse(Object message)
+    {
+        String[] fields = ((String) message).split(",", -1);
+        if (fields.length < 5 || (fields.length - 2) % 3 != 0)
+        {
+            return null;
+        }
+        int items = (fields.length - 2) / 3;
+        ParsedOrder order = new ParsedOrder(fields[0].trim(), fields[1].trim(), items);
+        try
+        {
+            for (int i = 0; i < items; i++)
+            {
+                order.itemNames[i] = fields[2 + 3 * i].trim();
+                order.values[i] = Double.parseDouble(fields[3 + 3 * i]);
+                order.counts[i] = Integer.parseInt(fields[4 + 3 * i].trim());
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            return null;
+        }
+        return order;
+    }
+
+    private ParsedOrder validate(Object message)
+    {
+        ParsedOrder order = (ParsedOrder) message;
+        if (order.customerName.isEmpty() || order.city.isEmpty())
+        {
+            return null;
+        }
+        for (int i = 0; i < order.itemNames.length; i++)
+        {
+            if (order.itemNames[i].isEmpty()
+                    || !Double.isFinite(order.values[i])
+                    || order.values[i] < 0.0
+                    || order.counts[i] <= 0)
+            {
+                return null;
+            }
+        }
+        return order;
+    }
+
+    private PendingOrder lookUp(Object message)
+    {
+        ParsedOrder parsed = (ParsedOrder) message;
+        int[] nameIds = new int[parsed.itemNames.length];
+        for (int i = 0; i < nameIds.length; i++)
+        {
+            nameIds[i] = ItemNameDictionary.shared().idOf(parsed.itemNames[i], this.maximumItemNames);
+            if (nameIds[i] < 0)
+            {
+                return null;
+            }
+        }
+        Customer customer = this.customersByName.get(parsed.customerName);
+        boolean newCustomer = customer == null;
+        if (newCustomer)
+        {
+            customer = new Customer(parsed.customerName, parsed.city);
+            this.customersByName.put(parsed.customerName, customer);
+        }
+        Order order = Order.newColumnarOrder();
+        for (int i = 0; i < parsed.itemNames.length; i++)
+        {
+            double value = parsed.values[i];
+            LineItem item = new LineItem(nameIds[i], value, Math.round(value * LineItem.MINOR_UNITS_PER_MAJOR_UNIT));
+            order.addLineItems(item, parsed.counts[i]);
+        }
+        return new PendingOrder(customer, newCustomer, order);
+    }
+
+    /**
+     * Takes the next message of the stage, or returns null if the pipeline has failed.
+     */
+    private Object take(Stage stage)
+    {
+        try
+        {
+            while (!this.completion.isDone())
+            {
+                Object message = stage.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (message != null)
+                {
+                    stage.recordDepth();
+                    return message;
+                }
+            }
+            return null;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            this.fail(e);
+            return null;
+        }
+    }
+
+    /**
+     * Puts the message on the stage's queue, waiting while it is full, and returns false if the pipeline has failed.
+     */
+    private boolean put(Stage stage, Object message)
+    {
+        try
+        {
+            while (!this.completion.isDone())
+            {
+                if (stage.queue.offer(message, POLL_MILLIS, TimeUnit.MILLISECONDS))
+                {
+                    stage.recordDepth();
+                    return true;
+                }
+            }
+            return false;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            this.fail(e);
+            return false;
+        }
+    }
+
+    private interface StageFunction
+    {
+        Object apply(Object message);
+    }
+
+    /**
+     * A snapshot of the counters of one stage of an {@link OrderIngestionPipeline}.
+     */
+    public static final class StageMetrics
+    {
+        private final String name;
+        private final long processed;
+        private final long rejected;
+        private final long batches;
+        private final int queueDepth;
+        private final int maximumQueueDepth;
+        private final int queueCapacity;
+        private final double throughput;
+
+        private StageMetrics(
+                String name,
+                long processed,
+                long rejected,
+                long batches,
+                int queueDepth,
+                int maximumQueueDepth,
+                int queueCapacity,
+                double throughput)
+        {
+            this.name = name;
+            this.processed = processed;
+            this.rejected = rejected;
+            this.batches = batches;
+            this.queueDepth = queueDepth;
+            this.maximumQueueDepth = maximumQueueDepth;
+            this.queueCapacity = queueCapacity;
+            this.throughput = throughput;
+        }
+
+        public String getName()
+        {
+            return this.name;
+        }
+
+        /**
+         * Returns the number of messages the stage has taken from its queue and processed, including rejected ones.
+         */
+        public long getProcessed()
+        {
+            return this.processed;
+        }
+
+        public long getRejected()
+        {
+            return this.rejected;
+        }
+
+        /**
+         * Returns the number of batches inserted, for the insert stage, and zero for the other stages.
+         */
+        public long getBatches()
+        {
+            return this.batches;
+        }
+
+        public int getQueueDepth()
+        {
+            return this.queueDepth;
+        }
+
+        public int getMaximumQueueDepth()
+        {
+            return this.maximumQueueDepth;
+        }
+
+        public int getQueueCapacity()
+        {
+            return this.queueCapacity;
+        }
+
+        /**
+         * Returns the number of messages processed per second since the stage took its first message.
+         */
+        public double getThroughput()
+        {
+            return this.throughput;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format(
+                    "%s: %,d processed, %,d rejected, %,.0f/s, queue %d/%d (max %d)",
+                    this.name,
+                    this.processed,
+                    this.rejected,
+                    this.throughput,
+                    this.queueDepth,
+                    this.queueCapacity,
+                    this.maximumQueueDepth);
+        }
+    }
+
+    private static final class Stage
+    {
+        private final String name;
+        private final BlockingQueue<Object> queue;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private final AtomicLong started = new AtomicLong();
+        private volatile int maximumQueueDepth;
+
+        private Stage(String name, int capacity)
+        {
+            this.name = name;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private Stage next(OrderIngestionPipeline pipeline)
+        {
+            if (this == pipeline.parse)
+            {
+                return pipeline.validate;
+            }
+            return this == pipeline.validate ? pipeline.lookUp : pipeline.insert;
+        }
+
+        private void recordDepth()
+        {
+            this.started.compareAndSet(0L, System.nanoTime());
+            int depth = this.queue.size();
+            if (depth > this.maximumQueueDepth)
+            {
+                this.maximumQueueDepth = depth;
+            }
+        }
+
+        private StageMetrics metrics()
+        {
+            long start = this.started.get();
+            long processedCount = this.processed.get();
+            double seconds = start == 0L ? 0.0 : (System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1L);
+            return new StageMetrics(
+                    this.name,
+                    processedCount,
+                    this.rejected.get(),
+                    this.batches.get(),
+                    this.queue.size(),
+                    this.maximumQueueDepth,
+                    this.queue.size() + this.queue.remainingCapacity(),
+                    seconds == 0.0 ? 0.0 : processedCount / seconds);
+        }
+    }
+
+    private static final class ParsedOrder
+    {
+        private final String customerName;
+        private final String city;
+        private final String[] itemNames;
+        private final double[] values;
+        private final int[] counts;
+
+        private ParsedOrder(String customerName, String city, int items)
+        {
+            this.customerName = customerName;
+            this.city = city;
+            this.itemNames = new String[items];
+            this.values = new double[items];
+            this.counts = new int[items];
+        }
+    }
+
+    private static final class PendingOrder
+    {
+        private final Customer customer;
+        private final boolean newCustomer;
+        private final Order order;
+
+        private PendingOrder(Customer customer, boolean newCustomer, Order order)
+        {
+            this.customer = customer;
+            this.newCustomer = newCustomer;
+            this.order = order;
+        }
+    }
+}
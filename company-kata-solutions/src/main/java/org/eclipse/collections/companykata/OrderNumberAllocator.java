@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Allocates unique order numbers without making every thread increment one shared counter. Each thread leases a
+ * block of consecutive numbers from the shared counter and hands them out locally, so the shared counter is touched
+ * once per block. Numbers are unique but only increasing within a thread; numbers left in a thread's block are never
+ * used, which leaves gaps.
+ * <p/>
+ * {@link #reset()} starts a new generation of numbers at 1. Blocks leased before the reset are discarded the next
+ * time their thread allocates a number.
+ */
+public final class OrderNumberAllocator
+{
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    private final int blockSize;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private volatile Generation generation = new Generation(1);
+
+    public OrderNumberAllocator()
+    {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    public OrderNumberAllocator(int blockSize)
+    {
+        if (blockSize < 1)
+        {
+            throw new IllegalArgumentException("Block size must be positive but was " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    public int next()
+    {
+        Block block = this.blocks.get();
+        Generation current = this.generation;
+        if (block.generation != current || block.next == block.end)
+        {
+            block.lease(current, this.blockSize);
+        }
+        return block.next++;
+    }
+
+    /**
+     * Starts numbering again from 1 in every thread.
+     */
+    public void reset()
+    {
+        this.generation = new Generation(1);
+    }
+
+    /**
+     * Makes sure that no number up to and including the given number is allocated again, for example after orders
+     * with known numbers have been loaded. Like {@link #reset()} this starts a new generation, so it should not be
+     * called while other threads are allocating numbers.
+     */
+    public void reserveThrough(int number)
+    {
+        this.generation = new Generation(Math.max(this.generation.nextBlockStart.get(), number + 1));
+    }
+
+    private static final class Generation
+    {
+        private final AtomicInteger nextBlockStart;
+
+        private Generation(int firstNumber)
+        {
+            this.nextBlockStart = new AtomicInteger(firstNumber);
+        }
+    }
+
+    private static final class Block
+    {
+        private Generation generation;
+        private int next;
+        private int end;
+
+        private void lease(Generation newGeneration, int blockSize)
+        {
+            int start = newGeneration.nextBlockStart.getAndAdd(blockSize);
+            if (start < 0 || start > Integer.MAX_VALUE - blockSize)
+            {
+                throw new IllegalStateException("Order numbers are exhausted");
+            }
+            this.generation = newGeneration;
+            this.next = start;
+            this.end = start + blockSize;
+        }
+    }
+}
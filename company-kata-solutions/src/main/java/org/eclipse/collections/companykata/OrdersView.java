@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Iterator;
+
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.function.primitive.LongFunction;
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.block.procedure.Procedure;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.lazy.AbstractLazyIterable;
+
+/**
+ * A lazy view of the orders of a list of customers. It iterates over each customer's order list in place, with the
+ * list's own internal iterator, instead of going through the generic flat-collect adapter. Counting and summing are
+ * delegated to each order list, and the short-circuiting operations stop at the first customer with a matching order.
+ */
+final class OrdersView extends AbstractLazyIterable<Order>
+{
+    private final MutableList<Customer> customers;
+
+    OrdersView(MutableList<Customer> customers)
+    {
+        this.customers = customers;
+    }
+
+    @Override
+    public void each(Procedure<? super Order> procedure)
+    {
+        this.customers.each(customer -> customer.getOrders().each(procedure));
+    }
+
+    @Override
+    public void forEachWithIndex(ObjectIntProcedure<? super Order> objectIntProcedure)
+    {
+        int[] index = {0};
+        this.each(order -> objectIntProcedure.value(order, index[0]++));
+    }
+
+    @Override
+    public <P> void forEachWith(Procedure2<? super Order, ? super P> procedure, P parameter)
+    {
+        this.customers.each(customer -> customer.getOrders().forEachWith(procedure, parameter));
+    }
+
+    @Override
+    public Iterator<Order> iterator()
+    {
+        return this.customers.asLazy().flatCollect(Customer::getOrders).iterator();
+    }
+
+    @Override
+    public int size()
+    {
+        return (int) this.customers.sumOfInt(customer -> customer.getOrders().size());
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.customers.allSatisfy(customer -> customer.getOrders().isEmpty());
+    }
+
+    @Override
+    public int count(Predicate<? super Order> predicate)
+    {
+        return (int) this.customers.sumOfInt(customer -> customer.getOrders().count(predicate));
+    }
+
+    @Override
+    public double sumOfDouble(DoubleFunction<? super Order> function)
+    {
+        return this.customers.sumOfDouble(customer -> customer.getOrders().sumOfDouble(function));
+    }
+
+    @Override
+    public long sumOfLong(LongFunction<? super Order> function)
+    {
+        return this.customers.sumOfLong(customer -> customer.getOrders().sumOfLong(function));
+    }
+
+    @Override
+    public boolean anySatisfy(Predicate<? super Order> predicate)
+    {
+        return this.customers.anySatisfy(customer -> customer.getOrders().anySatisfy(predicate));
+    }
+
+    @Override
+    public boolean allSatisfy(Predicate<? super Order> predicate)
+    {
+        return this.customers.allSatisfy(customer -> customer.getOrders().allSatisfy(predicate));
+    }
+
+    @Override
+    public boolean noneSatisfy(Predicate<? super Order> predicate)
+    {
+        return !this.anySatisfy(predicate);
+    }
+
+    @Override
+    public Order detect(Predicate<? super Order> predicate)
+    {
+        Order[] result = new Order[1];
+        this.customers.anySatisfy(customer -> (result[0] = customer.getOrders().detect(predicate)) != null);
+        return result[0];
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.collections.api.block.function.Function;
+
+/**
+ * Caches the results of reports over a {@link Company}, such as {@code company.sumOrderValuesBy(Customer::getCity)},
+ * so that a report is only computed again once the company has changed. Each result is stored under the key of its
+ * report with the {@link Company#getVersion() version} of the company it was computed from, and is returned while
+ * the company still has that version. When the cache is full the least recently used report is evicted.
+ * <p/>
+ * Results are shared between callers, so they must not be changed. The reports of a concurrent company are computed
+ * under {@link Company#withReadLock(Function)}. Hits and misses are counted, e.g. for tuning the maximum size.
+ */
+public final class ReportCache
+{
+    private final Company company;
+    private final Map<Object, CachedReport> entries;
+    private long hits;
+    private long misses;
+
+    public ReportCache(Company company, int maximumSize)
+    {
+        if (maximumSize <= 0)
+        {
+            throw new IllegalArgumentException("Maximum size must be positive but was " + maximumSize);
+        }
+        this.company = company;
+        this.entries = new LinkedHashMap<Object, CachedReport>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, CachedReport> eldest)
+            {
+                return this.size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the result of the report for the current version of the company, computing it if it is not cached. The
+     * key identifies the report, so a report that takes arguments needs a key that includes them.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Object key, Function<? super Company, ? extends V> report)
+    {
+        long version = this.company.getVersion();
+        synchronized (this)
+        {
+            CachedReport cached = this.entries.get(key);
+            if (cached != null && cached.version == version)
+            {
+                this.hits++;
+                return (V) cached.result;
+            }
+            this.misses++;
+        }
+        CachedReport computed =
+                this.company.withReadLock(company -> new CachedReport(company.getVersion(), report.valueOf(company)));
+        synchronized (this)
+        {
+            CachedReport cached = this.entries.get(key);
+            if (cached == null || cached.version < computed.version)
+            {
+                this.entries.put(key, computed);
+            }
+        }
+        return (V) computed.result;
+    }
+
+    public synchronized long getHitCount()
+    {
+        return this.hits;
+    }
+
+    public synchronized long getMissCount()
+    {
+        return this.misses;
+    }
+
+    public synchronized int size()
+    {
+        return this.entries.size();
+    }
+
+    public synchronized void clear()
+    {
+        this.entries.clear();
+    }
+
+    private static final class CachedReport
+    {
+        private final long version;
+        private final Object result;
+
+        private CachedReport(long version, Object result)
+        {
+            this.version = version;
+            this.result = result;
+        }
+    }
+}
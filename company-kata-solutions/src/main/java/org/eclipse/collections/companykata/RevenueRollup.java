@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
+/**
+ * Rolls up the revenue of a {@link Company} by city and by item over a sliding window of time, e.g. for "revenue in
+ * the last 15 minutes by city". The window is a ring of buckets of a fixed width, each holding the totals of the line
+ * items of the orders whose {@link Order#getTimestamp() timestamps} fall into it. It is kept up to date by the company
+ * with each order added to a customer and each line item added to an order, so a query sums a few buckets rather than
+ * scanning the orders. Totals are kept both as doubles and exactly in minor currency units.
+ * <p/>
+ * Buckets expire by themselves: a bucket is reused for a later span of time once the ring has come round to it, and
+ * a query only reads the buckets whose span ends within the window of the {@link Clock}. Line items of orders older
+ * than the ring are dropped, and so are those of orders timestamped in a bucket ahead of the clock, which would
+ * otherwise take over a bucket that still holds recent revenue, so timestamps should come from the same clock. Create a rollup with {@link Company#addRevenueRollup(Duration, int)}; it is
+ * thread-safe.
+ */
+public final class RevenueRollup
+{
+    private final long bucketWidthMillis;
+    private final Clock clock;
+    private final Bucket[] buckets;
+
+    RevenueRollup(Duration bucketWidth, int bucketCount, Clock clock)
+    {
+        if (bucketWidth.isNegative() || bucketWidth.isZero())
+        {
+            throw new IllegalArgumentException("Bucket width must be positive but was " + bucketWidth);
+        }
+        if (bucketCount <= 0)
+        {
+            throw new IllegalArgumentException("Bucket count must be positive but was " + bucketCount);
+        }
+        this.bucketWidthMillis = bucketWidth.toMillis();
+        if (this.bucketWidthMillis == 0L)
+        {
+            throw new IllegalArgumentException("Bucket width must be at least a millisecond but was " + bucketWidth);
+        }
+        this.clock = clock;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++)
+        {
+            this.buckets[i] = new Bucket();
+        }
+    }
+
+    public Duration getBucketWidth()
+    {
+        return Duration.ofMillis(this.bucketWidthMillis);
+    }
+
+    public int getBucketCount()
+    {
+        return this.buckets.length;
+    }
+
+    /**
+     * Returns the longest window that can be queried, which is the width of the ring.
+     */
+    public Duration getRetention()
+    {
+        return Duration.ofMillis(this.bucketWidthMillis * this.buckets.length);
+    }
+
+    synchronized void add(Customer customer, Order order, LineItem item, int count)
+    {
+        long current = this.currentIndex();
+        this.add(customer, order, current, item.getName(), item.getValue(), item.getValueInMinorUnits(), count);
+    }
+
+    synchronized void add(Customer customer, Order order)
+    {
+        ItemNameDictionary dictionary = ItemNameDictionary.shared();
+        long current = this.currentIndex();
+        order.forEachLineItemColumns((nameId, value, valueInMinorUnits, occurrences) -> this.add(
+                customer,
+                order,
+                current,
+                dictionary.nameOf(nameId),
+                value,
+                valueInMinorUnits,
+                occurrences));
+    }
+
+    private void add(
+            Customer customer,
+            Order order,
+            long current,
+            String itemName,
+            double itemValue,
+            long itemValueInMinorUnits,
+            int count)
+    {
+        long index = Math.floorDiv(order.getTimestamp(), this.bucketWidthMillis);
+        Bucket bucket = this.buckets[(int) Math.floorMod(index, (long) this.buckets.length)];
+        if (index > current || bucket.index > index)
+        {
+            return;
+        }
+        if (bucket.index < index)
+        {
+            bucket.reset(index);
+        }
+        double value = itemValue * count;
+        long valueInMinorUnits = itemValueInMinorUnits * count;
+        bucket.valuesByCity.addToValue(customer.getCity(), value);
+        bucket.valuesInMinorUnitsByCity.addToValue(customer.getCity(), valueInMinorUnits);
+        bucket.valuesByItem.addToValue(itemName, value);
+        bucket.valuesInMinorUnitsByItem.addToValue(itemName, valueInMinorUnits);
+    }
+
+    /**
+     * Returns the revenue by city of the orders in the window that ends now, rounded up to whole buckets and capped at
+     * the {@link #getRetention() retention}. Orders that were timestamped in the future when they were added are not
+     * counted.
+     */
+    public synchronized ObjectDoubleMap<String> getRevenueByCity(Duration window)
+    {
+        MutableObjectDoubleMap<String> result = new ObjectDoubleHashMap<>();
+        long current = this.currentIndex();
+        int count = this.bucketsIn(window);
+        for (Bucket bucket : this.buckets)
+        {
+            if (bucket.isWithin(current, count))
+            {
+                bucket.valuesByCity.forEachKeyValue(result::addToValue);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #getRevenueByCity(Duration)}, but exact in minor currency units.
+     */
+    public synchronized ObjectLongMap<String> getRevenueInMinorUnitsByCity(Duration window)
+    {
+        MutableObjectLongMap<String> result = new ObjectLongHashMap<>();
+        long current = this.currentIndex();
+        int count = this.bucketsIn(window);
+        for (Bucket bucket : this.buckets)
+        {
+            if (bucket.isWithin(current, count))
+            {
+                bucket.valuesInMinorUnitsByCity.forEachKeyValue(result::addToValue);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the revenue by item name of the orders in the window that ends now, see
+     * {@link #getRevenueByCity(Duration)}.
+     */
+    public synchronized ObjectDoubleMap<String> getRevenueByItem(Duration window)
+    {
+        MutableObjectDoubleMap<String> result = new ObjectDoubleHashMap<>();
+        long current = this.currentIndex();
+        int count = this.bucketsIn(window);
+        for (Bucket bucket : this.buckets)
+        {
+            if (bucket.isWithin(current, count))
+            {
+                bucket.valuesByItem.forEachKeyValue(result::addToValue);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #getRevenueByItem(Duration)}, but exact in minor currency units.
+     */
+    public synchronized ObjectLongMap<String> getRevenueInMinorUnitsByItem(Duration window)
+    {
+        MutableObjectLongMap<String> result = new ObjectLongHashMap<>();
+        long current = this.currentIndex();
+        int count = this.bucketsIn(window);
+        for (Bucket bucket : this.buckets)
+        {
+            if (bucket.isWithin(current, count))
+            {
+                bucket.valuesInMinorUnitsByItem.forEachKeyValue(result::addToValue);
+            }
+        }
+        return result;
+    }
+
+    private long currentIndex()
+    {
+        return Math.floorDiv(this.clock.millis(), this.bucketWidthMillis);
+    }
+
+    private int bucketsIn(Duration window)
+    {
+        if (window.isNegative())
+        {
+            throw new IllegalArgumentException("Window must not be negative but was " + window);
+        }
+        long millis = window.compareTo(this.getRetention()) >= 0 ? this.bucketWidthMillis * this.buckets.length
+                : window.toMillis();
+        return (int) ((millis + this.bucketWidthMillis - 1L) / this.bucketWidthMillis);
+    }
+
+    private static final class Bucket
+    {
+        private long index = Long.MIN_VALUE;
+        private final MutableObjectDoubleMap<String> valuesByCity = new ObjectDoubleHashMap<>();
+        private final MutableObjectLongMap<String> valuesInMinorUnitsByCity = new ObjectLongHashMap<>();
+        private final MutableObjectDoubleMap<String> valuesByItem = new ObjectDoubleHashMap<>();
+        private final MutableObjectLongMap<String> valuesInMinorUnitsByItem = new ObjectLongHashMap<>();
+
+        private void reset(long newIndex)
+        {
+            this.index = newIndex;
+            this.valuesByCity.clear();
+            this.valuesInMinorUnitsByCity.clear();
+            this.valuesByItem.clear();
+            this.valuesInMinorUnitsByItem.clear();
+        }
+
+        /**
+         * Returns whether this bucket is one of the count buckets that end with the current one.
+         */
+        private boolean isWithin(long current, int count)
+        {
+            return this.index <= current && this.index > current - count;
+        }
+    }
+}
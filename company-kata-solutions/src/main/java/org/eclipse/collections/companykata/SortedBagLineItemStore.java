@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Comparator;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.impl.factory.SortedBags;
+
+/**
+ * Keeps the line items of an {@link Order} in a {@link MutableSortedBag} ordered by name.
+ */
+final class SortedBagLineItemStore implements LineItemStore
+{
+    static final Comparator<LineItem> BY_NAME = LineItem.byName();
+
+    private final MutableSortedBag<LineItem> lineItems = SortedBags.mutable.empty(BY_NAME);
+
+    @Override
+    public LineItem add(LineItem item, int occurrences)
+    {
+        if (this.lineItems.occurrencesOf(item) == 0)
+        {
+            this.lineItems.addOccurrences(item, occurrences);
+            return item;
+        }
+        int nameId = item.getNameId();
+        LineItem recorded = this.lineItems.detect(each -> each.getNameId() == nameId);
+        this.lineItems.addOccurrences(item, occurrences);
+        return recorded;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.lineItems.size();
+    }
+
+    @Override
+    public Bag<LineItem> asBag()
+    {
+        return this.lineItems.asUnmodifiable();
+    }
+
+    @Override
+    public void forEachWithOccurrences(ObjectIntProcedure<? super LineItem> procedure)
+    {
+        this.lineItems.forEachWithOccurrences(procedure);
+    }
+
+    @Override
+    public void forEachColumns(LineItemColumnsProcedure procedure)
+    {
+        this.lineItems.forEachWithOccurrences((item, occurrences) -> procedure.value(
+                item.getNameId(),
+                item.getValue(),
+                item.getValueInMinorUnits(),
+                occurrences));
+    }
+
+    @Override
+    public double sumOfValues()
+    {
+        return this.lineItems.sumOfDouble(LineItem::getValue);
+    }
+
+    @Override
+    public long sumOfValuesInMinorUnits()
+    {
+        return this.lineItems.sumOfLong(LineItem::getValueInMinorUnits);
+    }
+
+    @Override
+    public boolean containsItemNamed(String itemName)
+    {
+        int nameId = ItemNameDictionary.shared().getIfPresent(itemName);
+        return nameId >= 0 && this.lineItems.anySatisfy(item -> item.getNameId() == nameId);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+
+/**
+ * A reverse index from item to the {@link Supplier}s that can supply it, kept up to date by {@link Company} as
+ * suppliers are added. Items are keyed by their id in the shared {@link ItemNameDictionary}, so the index is an
+ * {@link IntObjectHashMap} of supplier lists rather than a multimap with boxed keys.
+ * <p/>
+ * The index of a concurrent company is guarded by its own monitor, and its lookups return a copy of the list.
+ */
+final class SupplierIndex
+{
+    private final MutableIntObjectMap<MutableList<Supplier>> suppliersByItemId = new IntObjectHashMap<>();
+    private final boolean concurrent;
+
+    SupplierIndex()
+    {
+        this(false);
+    }
+
+    private SupplierIndex(boolean concurrent)
+    {
+        this.concurrent = concurrent;
+    }
+
+    static SupplierIndex newConcurrentIndex()
+    {
+        return new SupplierIndex(true);
+    }
+
+    void add(Supplier supplier)
+    {
+        if (this.concurrent)
+        {
+            synchronized (this)
+            {
+                this.addUnguarded(supplier);
+            }
+        }
+        else
+        {
+            this.addUnguarded(supplier);
+        }
+    }
+
+    private void addUnguarded(Supplier supplier)
+    {
+        ItemNameDictionary dictionary = ItemNameDictionary.shared();
+        for (String itemName : supplier.getItemNames())
+        {
+            MutableList<Supplier> suppliers =
+                    this.suppliersByItemId.getIfAbsentPut(dictionary.idOf(itemName), Lists.mutable::empty);
+            if (suppliers.isEmpty() || suppliers.getLast() != supplier)
+            {
+                suppliers.add(supplier);
+            }
+        }
+    }
+
+    /**
+     * Returns the suppliers of the item in the order they were added. A supplier that lists the item more than once
+     * appears once.
+     */
+    ListIterable<Supplier> getSuppliers(String itemName)
+    {
+        int itemId = ItemNameDictionary.shared().getIfPresent(itemName);
+        if (itemId < 0)
+        {
+            return Lists.immutable.empty();
+        }
+        if (!this.concurrent)
+        {
+            MutableList<Supplier> suppliers = this.suppliersByItemId.get(itemId);
+            return suppliers == null ? Lists.immutable.empty() : suppliers.asUnmodifiable();
+        }
+        synchronized (this)
+        {
+            MutableList<Supplier> suppliers = this.suppliersByItemId.get(itemId);
+            return suppliers == null ? Lists.immutable.empty() : suppliers.toImmutable();
+        }
+    }
+
+    boolean isSupplied(String itemName)
+    {
+        int itemId = ItemNameDictionary.shared().getIfPresent(itemName);
+        if (itemId < 0)
+        {
+            return false;
+        }
+        if (!this.concurrent)
+        {
+            return this.suppliersByItemId.containsKey(itemId);
+        }
+        synchronized (this)
+        {
+            return this.suppliersByItemId.containsKey(itemId);
+        }
+    }
+}
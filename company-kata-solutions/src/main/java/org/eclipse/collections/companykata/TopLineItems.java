@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+
+import org.eclipse.collections.api.block.function.primitive.DoubleFunction;
+import org.eclipse.collections.api.block.procedure.primitive.ObjectIntProcedure;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+
+/**
+ * Keeps the K line item occurrences with the highest keys in a bounded min-heap of primitive keys, so finding the top
+ * K of n line items takes O(n log K) time and O(min(K, n)) space instead of sorting all of them: the heap starts small
+ * and doubles as occurrences are kept, so a K much larger than the number of line items costs nothing. The parallel
+ * variant keeps one heap per batch of customers and merges the heaps.
+ */
+final class TopLineItems implements ObjectIntProcedure<LineItem>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final DoubleFunction<? super LineItem> function;
+    private final int k;
+    private double[] keys;
+    private LineItem[] items;
+    private int size;
+
+    TopLineItems(int k, DoubleFunction<? super LineItem> function)
+    {
+        if (k < 0)
+        {
+            throw new IllegalArgumentException("K must not be negative but was " + k);
+        }
+        this.function = function;
+        this.k = k;
+        this.keys = new double[Math.min(k, INITIAL_CAPACITY)];
+        this.items = new LineItem[this.keys.length];
+    }
+
+    static MutableList<LineItem> of(ListIterable<Customer> customers, int k, DoubleFunction<? super LineItem> function)
+    {
+        return LineItemTotals.forEachLineItem(customers, 0, customers.size(), new TopLineItems(k, function)).toList();
+    }
+
+    static MutableList<LineItem> ofInParallel(
+            ListIterable<Customer> customers,
+            int k,
+            DoubleFunction<? super LineItem> function,
+            ExecutorService executor,
+            int batchSize)
+    {
+        MutableList<TopLineItems> heaps =
+                LineItemTotals.inBatches(customers, () -> new TopLineItems(k, function), executor, batchSize);
+        TopLineItems merged = heaps.getFirst();
+        for (int i = 1; i < heaps.size(); i++)
+        {
+            TopLineItems heap = heaps.get(i);
+            for (int j = 0; j < heap.size; j++)
+            {
+                merged.offer(heap.items[j], heap.keys[j]);
+            }
+        }
+        return merged.toList();
+    }
+
+    @Override
+    public void value(LineItem item, int occurrences)
+    {
+        double key = this.function.doubleValueOf(item);
+        for (int i = 0; i < occurrences; i++)
+        {
+            if (!this.offer(item, key))
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Offers one occurrence of the item, and returns whether it was kept.
+     */
+    private boolean offer(LineItem item, double key)
+    {
+        if (this.size < this.k)
+        {
+            if (this.size == this.keys.length)
+            {
+                this.grow();
+            }
+            this.keys[this.size] = key;
+            this.items[this.size] = item;
+            this.siftUp(this.size++);
+            return true;
+        }
+        if (this.size == 0 || key <= this.keys[0])
+        {
+            return false;
+        }
+        this.keys[0] = key;
+        this.items[0] = item;
+        this.siftDown(0, this.size);
+        return true;
+    }
+
+    private void grow()
+    {
+        int capacity = (int) Math.min(this.k, 2L * this.keys.length);
+        this.keys = Arrays.copyOf(this.keys, capacity);
+        this.items = Arrays.copyOf(this.items, capacity);
+    }
+
+    private void siftUp(int index)
+    {
+        while (index > 0)
+        {
+            int parent = (index - 1) >>> 1;
+            if (this.keys[parent] <= this.keys[index])
+            {
+                return;
+            }
+            this.swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int size)
+    {
+        while (true)
+        {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && this.keys[left] < this.keys[smallest])
+            {
+                smallest = left;
+            }
+            if (right < size && this.keys[right] < this.keys[smallest])
+            {
+                smallest = right;
+            }
+            if (smallest == index)
+            {
+                return;
+            }
+            this.swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int i, int j)
+    {
+        double key = this.keys[i];
+        this.keys[i] = this.keys[j];
+        this.keys[j] = key;
+        LineItem item = this.items[i];
+        this.items[i] = this.items[j];
+        this.items[j] = item;
+    }
+
+    /**
+     * Empties the heap into a list ordered from the highest key to the lowest.
+     */
+    private MutableList<LineItem> toList()
+    {
+        LineItem[] sorted = new LineItem[this.size];
+        for (int remaining = this.size; remaining > 0; remaining--)
+        {
+            sorted[remaining - 1] = this.items[0];
+            this.swap(0, remaining - 1);
+            this.siftDown(0, remaining - 1);
+        }
+        this.size = 0;
+        return Lists.mutable.with(sorted);
+    }
+}
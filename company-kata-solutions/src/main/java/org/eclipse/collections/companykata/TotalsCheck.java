@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+/**
+ * A consistency check mode for the running totals kept by {@link Order} and {@link Customer}. When enabled, every
+ * read of a total also recomputes it from the line items and throws an {@link IllegalStateException} if the two
+ * differ by more than a rounding error. Fixed-point totals in minor units must match exactly.
+ * <p/>
+ * The mode can be enabled for a whole run with {@code -Dcompanykata.checkTotals=true}.
+ */
+public final class TotalsCheck
+{
+    private static final double RELATIVE_TOLERANCE = 1.0e-9;
+
+    private static volatile boolean enabled = Boolean.getBoolean("companykata.checkTotals");
+
+    private TotalsCheck()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled)
+    {
+        TotalsCheck.enabled = enabled;
+    }
+
+    static void verify(Object owner, double cached, double recomputed)
+    {
+        double tolerance = RELATIVE_TOLERANCE * Math.max(1.0, Math.abs(recomputed));
+        if (Math.abs(cached - recomputed) > tolerance)
+        {
+            throw new IllegalStateException(
+                    "Running total " + cached + " of " + owner + " does not match recomputed total " + recomputed);
+        }
+    }
+
+    static void verify(Object owner, long cached, long recomputed)
+    {
+        if (cached != recomputed)
+        {
+            throw new IllegalStateException(
+                    "Running total " + cached + " of " + owner + " does not match recomputed total " + recomputed);
+        }
+    }
+}
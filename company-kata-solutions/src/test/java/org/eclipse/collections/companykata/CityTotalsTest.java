@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.MutableObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class CityTotalsTest extends CompanyDomainForKata
+{
+    private static final String[] CITIES = {"London", "Liphook", "York", "Örebro"};
+    private static final String[] ITEMS = {"cup", "saucer", "shed", "gnome", "teapot"};
+    private static final long[] PRICES_IN_MINOR_UNITS = {150L, 125L, 50_000L, 750L, 1_999L};
+
+    @Test
+    @Tag("SOLUTION")
+    public void liveView()
+    {
+        ObjectDoubleMap<String> byCity = this.company.getTotalOrderValuesByCity();
+        Assertions.assertEquals(this.company.sumOrderValuesBy(Customer::getCity), byCity);
+        double london = byCity.get("London");
+
+        this.company.getCustomerNamed("Bill").getOrders().getFirst().addLineItems(new LineItem("cup", 1.5), 2);
+        Assertions.assertEquals(london + 3.0, byCity.get("London"), 0.0);
+        Customer ann = new Customer("Ann", "York");
+        this.company.addCustomer(ann);
+        Assertions.assertEquals(0.0, byCity.get("York"), 0.0);
+        Assertions.assertEquals(0L, this.company.getTotalOrderValuesInMinorUnitsByCity().getOrThrow("York"));
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> ((MutableObjectDoubleMap<String>) byCity).put("Leeds", 1.0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void matchesRecomputationAfterRandomMutations()
+    {
+        for (long seed = 0L; seed < 20L; seed++)
+        {
+            Random random = new Random(seed);
+            Company company = new Company("Random Supplies");
+            MutableList<Customer> customers = Lists.mutable.empty();
+            MutableList<Order> orders = Lists.mutable.empty();
+            for (int step = 0; step < 300; step++)
+            {
+                CityTotalsTest.mutate(company, customers, orders, random);
+                if (step % 10 == 0)
+                {
+                    CityTotalsTest.assertMatchesRecomputation(company);
+                }
+            }
+            CityTotalsTest.assertMatchesRecomputation(company);
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void readableWhileConcurrentIngestionContinues() throws Exception
+    {
+        Company company = Company.newConcurrentCompany("Random Supplies");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean ingesting = new AtomicBoolean(true);
+        try
+        {
+            Future<Integer> reads = executor.submit(() ->
+            {
+                int count = 0;
+                while (ingesting.get())
+                {
+                    company.getTotalOrderValuesByCity().forEachValue(value -> Assertions.assertTrue(value >= 0.0));
+                    count++;
+                }
+                return count;
+            });
+            MutableList<Future<?>> writers = Lists.mutable.empty();
+            for (int thread = 0; thread < 3; thread++)
+            {
+                long seed = thread;
+                writers.add(executor.submit(() ->
+                {
+                    Random random = new Random(seed);
+                    MutableList<Customer> customers = Lists.mutable.empty();
+                    MutableList<Order> orders = Lists.mutable.empty();
+                    for (int step = 0; step < 2_000; step++)
+                    {
+                        CityTotalsTest.mutate(company, customers, orders, random);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers)
+            {
+                writer.get(1L, TimeUnit.MINUTES);
+            }
+            ingesting.set(false);
+            Assertions.assertTrue(reads.get(1L, TimeUnit.MINUTES) > 0);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        CityTotalsTest.assertMatchesRecomputation(company);
+    }
+
+    /**
+     * Adds a customer, with or without orders, adds an order to a customer, adds line items to an order or delivers
+     * one. Each item always has the same price, so the totals recomputed from the line items match the running ones.
+     * The customers and orders are only those created with this random, so threads never share them.
+     */
+    private static void mutate(Company company, MutableList<Customer> customers, MutableList<Order> orders, Random random)
+    {
+        int operation = customers.isEmpty() ? 0 : random.nextInt(10);
+        if (operation == 0)
+        {
+            Customer customer = new Customer("Customer " + random.nextInt(), CITIES[random.nextInt(CITIES.length)]);
+            if (random.nextBoolean())
+            {
+                Order order = CityTotalsTest.newOrder(random);
+                customer.addOrder(order);
+                orders.add(order);
+            }
+            company.addCustomer(customer);
+            customers.add(customer);
+        }
+        else if (operation < 4 || orders.isEmpty())
+        {
+            Order order = CityTotalsTest.newOrder(random);
+            customers.get(random.nextInt(customers.size())).addOrder(order);
+            orders.add(order);
+        }
+        else if (operation < 9)
+        {
+            CityTotalsTest.addLineItems(orders.get(random.nextInt(orders.size())), random);
+        }
+        else
+        {
+            orders.get(random.nextInt(orders.size())).deliver();
+        }
+    }
+
+    private static Order newOrder(Random random)
+    {
+        Order order = random.nextBoolean() ? new Order() : Order.newColumnarOrder();
+        for (int i = random.nextInt(3); i > 0; i--)
+        {
+            CityTotalsTest.addLineItems(order, random);
+        }
+        return order;
+    }
+
+    private static void addLineItems(Order order, Random random)
+    {
+        int index = random.nextInt(ITEMS.length);
+        LineItem item = LineItem.ofMinorUnits(ITEMS[index], PRICES_IN_MINOR_UNITS[index]);
+        order.addLineItems(item, 1 + random.nextInt(5));
+    }
+
+    private static void assertMatchesRecomputation(Company company)
+    {
+        MutableList<Customer> customers = company.getCustomers().toList();
+        Assertions.assertEquals(
+                customers.sumByLong(Customer::getCity, Customer::computeTotalOrderValueInMinorUnits),
+                company.getTotalOrderValuesInMinorUnitsByCity());
+        ObjectDoubleMap<String> expected = customers.sumByDouble(Customer::getCity, Customer::computeTotalOrderValue);
+        ObjectDoubleMap<String> actual = company.getTotalOrderValuesByCity();
+        Assertions.assertEquals(expected.keySet(), actual.keySet());
+        expected.forEachKeyValue((city, total) -> Assertions.assertEquals(total, actual.get(city), 1.0e-9 * total));
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompanyCsvLoaderTest extends CompanyDomainForKata
+{
+    private static final String DUMP = "customer,city,order,item,value,count\n"
+            + "Fred,London,1001,kettle,25,1\n"
+            + "Jo,Örebro,1002,cup,1.5,2\r\n"
+            + "Jo,Örebro,1002,cup,1.5,3\n"
+            + "Jo,Örebro,1002,saucer,0.125,4\n"
+            + "\n"
+            + "Jo,Örebro,1003,gnome,7.50,1\n"
+            + "Fred,London,1004,cup,1.75,1\n"
+            + "Jo,Örebro,1002,teapot,1e1,1";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void load() throws IOException
+    {
+        Path dump = Files.writeString(this.directory.resolve("orders.csv"), DUMP);
+        for (long chunkSize : new long[]{40L, 64L, 1L << 20})
+        {
+            Company company = new Company("Bloggs Shed Supplies");
+            CompanyCsvLoader.Statistics statistics = CompanyCsvLoader.load(company, dump, chunkSize);
+
+            Assertions.assertEquals(7L, statistics.getRows());
+            Assertions.assertEquals(4, statistics.getOrders());
+            Assertions.assertEquals(2, statistics.getNewCustomers());
+            Assertions.assertEquals(Files.size(dump), statistics.getBytes());
+            Assertions.assertTrue(statistics.getRowsPerSecond() > 0.0);
+
+            Assertions.assertEquals(Lists.mutable.with("Fred", "Jo"), company.getCustomers().collect(Customer::getName));
+            Customer jo = company.getCustomerNamed("Jo");
+            Assertions.assertEquals("Örebro", jo.getCity());
+            Assertions.assertEquals(Lists.mutable.with(1002, 1003), jo.getOrders().collect(Order::getOrderNumber));
+            Order order = jo.getOrders().getFirst();
+            Assertions.assertTrue(order.isColumnar());
+            Assertions.assertEquals(5, order.getLineItems().occurrencesOf(new LineItem("cup", 1.5)));
+            Assertions.assertEquals(1, order.getLineItems().occurrencesOf(new LineItem("teapot", 10.0)));
+            Assertions.assertEquals(1802L, order.getValueInMinorUnits());
+            Assertions.assertEquals(18.0, order.getValue(), 0.0);
+            Assertions.assertSame(
+                    new LineItem("saucer", 1.0).getName(),
+                    order.getLineItems().detect(item -> item.getValue() == 0.125).getName());
+            Assertions.assertEquals(2675L, company.getCustomerNamed("Fred").getTotalOrderValueInMinorUnits());
+            Assertions.assertEquals(
+                    Lists.mutable.with("Fred", "Jo"),
+                    company.getCustomersWhoOrderedItemNamed("cup").collect(Customer::getName).toSortedList());
+            Assertions.assertTrue(new Order().getOrderNumber() > 1004);
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void loadAddsOrdersToExistingCustomers() throws IOException
+    {
+        Path dump = Files.writeString(this.directory.resolve("orders.csv"), DUMP);
+        CompanyCsvLoader.Statistics statistics = CompanyCsvLoader.load(this.company, dump);
+
+        Assertions.assertEquals(1, statistics.getNewCustomers());
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Assertions.assertEquals(3, fred.getOrders().size());
+        Assertions.assertEquals(4, this.company.getCustomers().size());
+        Assertions.assertTrue(this.company.getCustomersWhoOrderedItemNamed("kettle").contains(fred));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void malformedRows() throws IOException
+    {
+        MutableList<String> rows = Lists.mutable.with(
+                "Fred,London,1001,cup,1.5",
+                "Fred,London,1001,cup,1.5,2,3",
+                "Fred,London,order,cup,1.5,2",
+                "Fred,London,1001,cup,cheap,2",
+                "Fred,London,1001,cup,1.5,0",
+                "Fred,London,1001,cup,1.5,99999999999");
+        for (String row : rows)
+        {
+            Path dump = Files.writeString(this.directory.resolve("malformed.csv"), "Jo,Leeds,2001,cup,1.5,1\n" + row);
+            IOException exception = Assertions.assertThrows(
+                    IOException.class,
+                    () -> CompanyCsvLoader.load(new Company("Bloggs Shed Supplies"), dump));
+            Assertions.assertTrue(exception.getMessage().startsWith("Line 2 of "), exception.getMessage());
+        }
+
+        Path splitOrder = Files.writeString(
+                this.directory.resolve("split.csv"),
+                "Jo,Leeds,2001,cup,1.5,1\nAl,Leeds,2002,cup,1.5,1\nAl,Leeds,2001,cup,1.5,1\n");
+        Assertions.assertThrows(
+                IOException.class,
+                () -> CompanyCsvLoader.load(new Company("Bloggs Shed Supplies"), splitOrder));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsItemNamesPastTheLimit() throws IOException
+    {
+        LineItem cup = new LineItem("cup", 1.5);
+        Path dump = Files.writeString(
+                this.directory.resolve("names.csv"),
+                "Jo,Leeds,4001,cup,1.5,1\nJo,Leeds,4002,item the loader has not seen,1.0,1\n");
+        Company company = new Company("Bloggs Shed Supplies");
+        int limit = ItemNameDictionary.shared().size();
+        IOException exception = Assertions.assertThrows(
+                IOException.class,
+                () -> CompanyCsvLoader.load(company, dump, 1L << 26, limit));
+        Assertions.assertTrue(exception.getMessage().startsWith("Line 2 of "), exception.getMessage());
+        Assertions.assertEquals(-1, ItemNameDictionary.shared().getIfPresent("item the loader has not seen"));
+        Order first = company.getCustomerNamed("Jo").getOrders().getFirst();
+        Assertions.assertEquals(1, first.getLineItems().occurrencesOf(cup));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsOrderNumbersTheCompanyAlreadyHas() throws IOException
+    {
+        Path dump = Files.writeString(this.directory.resolve("orders.csv"), "Jo,Leeds,5001,cup,1.5,1\n");
+        Company company = new Company("Bloggs Shed Supplies");
+        CompanyCsvLoader.load(company, dump);
+
+        Path overlapping = Files.writeString(
+                this.directory.resolve("overlapping.csv"),
+                "Al,York,5002,cup,1.5,1\nAl,York,5001,saucer,0.5,1\n");
+        IOException exception = Assertions.assertThrows(
+                IOException.class,
+                () -> CompanyCsvLoader.load(company, overlapping));
+        Assertions.assertTrue(exception.getMessage().startsWith("Line 2 of "), exception.getMessage());
+        Assertions.assertEquals(2, company.getOrderCount());
+        Assertions.assertEquals(1.5, company.getCustomerNamed("Jo").getTotalOrderValue(), 0.0);
+        Assertions.assertEquals(company.sumOrderValuesBy(Customer::getCity), company.getTotalOrderValuesByCity());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void malformedRowKeepsTheRowsBeforeIt() throws IOException
+    {
+        Order.resetNextOrderNumber();
+        Path dump = Files.writeString(
+                this.directory.resolve("malformed.csv"),
+                "Jo,Leeds,1,cup,1.5,1\nJo,Leeds,2,cup,1.5,2\nJo,Leeds,2,saucer,0.5,2\nJo,Leeds,2,cup,cheap,1\n");
+        Company company = new Company("Bloggs Shed Supplies");
+        Assertions.assertThrows(IOException.class, () -> CompanyCsvLoader.load(company, dump));
+
+        Customer jo = company.getCustomerNamed("Jo");
+        Assertions.assertEquals(Lists.mutable.with(1, 2), jo.getOrders().collect(Order::getOrderNumber));
+        Order partial = jo.getOrders().getLast();
+        Assertions.assertEquals(4.0, partial.getValue(), 0.0);
+        Assertions.assertSame(jo, partial.getCustomer());
+        Assertions.assertTrue(company.getOrdersContainingItemNamed("saucer").contains(partial));
+        Assertions.assertEquals(company.sumOrderValuesBy(Customer::getCity), company.getTotalOrderValuesByCity());
+
+        Order next = new Order();
+        Assertions.assertTrue(next.getOrderNumber() > 2);
+        jo.addOrder(next);
+        Assertions.assertEquals(3, company.getOrderCount());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void repeatedItemNameAtAnotherValue() throws IOException
+    {
+        Path dump = Files.writeString(
+                this.directory.resolve("orders.csv"),
+                "Jo,Leeds,3001,cup,1.0,2\nJo,Leeds,3001,saucer,2.0,1\nJo,Leeds,3001,cup,3.0,1\nJo,Leeds,3002,cup,3.0,1\n");
+        Company company = new Company("Bloggs Shed Supplies");
+        CompanyCsvLoader.load(company, dump);
+
+        Customer jo = company.getCustomerNamed("Jo");
+        Order first = jo.getOrders().getFirst();
+        Assertions.assertEquals(3, first.getLineItems().occurrencesOf(new LineItem("cup", 1.0)));
+        Assertions.assertEquals(first.computeValue(), first.getValue(), 0.0);
+        Assertions.assertEquals(5.0, first.getValue(), 0.0);
+        Assertions.assertEquals(3.0, jo.getOrders().getLast().getValue(), 0.0);
+        Assertions.assertEquals(jo.computeTotalOrderValue(), jo.getTotalOrderValue(), 0.0);
+        Assertions.assertEquals(company.sumOrderValuesBy(Customer::getCity), company.getTotalOrderValuesByCity());
+    }
+}
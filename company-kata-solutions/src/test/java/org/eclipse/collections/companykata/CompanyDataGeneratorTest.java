@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.factory.Bags;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.katadata.ZipfDistribution;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class CompanyDataGeneratorTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void sizes()
+    {
+        Company company = CompanyDataGeneratorTest.generate(
+                new CompanyDataGenerator(7L)
+                        .withCustomers(10_000)
+                        .withOrdersPerCustomer(3)
+                        .withMaximumLineItemsPerOrder(5)
+                        .withItems(200, 1.0)
+                        .withCities(20, 1.0)
+                        .withSuppliers(30),
+                4);
+
+        Assertions.assertEquals(10_000, company.getCustomers().size());
+        Assertions.assertEquals(30_000, company.getOrderCount());
+        Assertions.assertEquals(30, company.getSuppliers().size());
+        Assertions.assertEquals(CompanyDataGenerator.customerName(9_999), company.getCustomers().getLast().getName());
+        Assertions.assertTrue(company.getItemNamesWithoutSupplier().isEmpty());
+        Assertions.assertEquals(1, company.getSuppliersOfItemNamed(CompanyDataGenerator.itemName(199)).size());
+        MutableList<Order> orders = company.getOrders();
+        Assertions.assertEquals(
+                orders.collectInt(Order::getOrderNumber),
+                orders.collectInt(Order::getOrderNumber).sortThis());
+        Assertions.assertEquals(30_000, orders.getLast().getOrderNumber());
+        Assertions.assertTrue(orders.allSatisfy(order -> order.getLineItems().sizeDistinct() <= 5));
+        Assertions.assertTrue(orders.allSatisfy(order -> order.getLineItems().notEmpty()));
+        int delivered = orders.count(Order::isDelivered);
+        Assertions.assertEquals(15_000, delivered, 500);
+        Assertions.assertEquals(orders.size() - delivered, company.getUndeliveredOrderCount());
+        Assertions.assertEquals(
+                company.getCustomers().sumByLong(Customer::getCity, Customer::computeTotalOrderValueInMinorUnits),
+                company.getTotalOrderValuesInMinorUnitsByCity());
+        Assertions.assertTrue(new Order().getOrderNumber() > 30_000);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void sameCompanyForAnyNumberOfThreads()
+    {
+        CompanyDataGenerator generator = new CompanyDataGenerator(42L)
+                .withCustomers(3 * CompanyDataGenerator.CHUNK_SIZE + 17)
+                .withColumnarOrders(false);
+        Company company = CompanyDataGeneratorTest.generate(generator, 1);
+        Company other = CompanyDataGeneratorTest.generate(generator, 4);
+
+        Assertions.assertEquals(
+                company.getCustomers().collect(Customer::getCity),
+                other.getCustomers().collect(Customer::getCity));
+        MutableList<Order> orders = company.getOrders();
+        MutableList<Order> otherOrders = other.getOrders();
+        Assertions.assertEquals(orders.collectInt(Order::getOrderNumber), otherOrders.collectInt(Order::getOrderNumber));
+        Assertions.assertEquals(orders.collectBoolean(Order::isDelivered), otherOrders.collectBoolean(Order::isDelivered));
+        Assertions.assertEquals(
+                orders.collect(order -> order.getLineItems().toStringOfItemToCount()),
+                otherOrders.collect(order -> order.getLineItems().toStringOfItemToCount()));
+        Assertions.assertFalse(orders.anySatisfy(Order::isColumnar));
+
+        Company reseeded = CompanyDataGeneratorTest.generate(
+                new CompanyDataGenerator(43L).withCustomers(3 * CompanyDataGenerator.CHUNK_SIZE + 17),
+                4);
+        Assertions.assertNotEquals(
+                company.getCustomers().collect(Customer::getCity),
+                reseeded.getCustomers().collect(Customer::getCity));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void itemsAndCitiesFollowZipf()
+    {
+        Company company = CompanyDataGeneratorTest.generate(
+                new CompanyDataGenerator(1L)
+                        .withCustomers(20_000)
+                        .withOrdersPerCustomer(1)
+                        .withMaximumLineItemsPerOrder(1)
+                        .withItems(100, 1.0)
+                        .withCities(10, 2.0),
+                2);
+
+        MutableBag<String> items = Bags.mutable.empty();
+        company.getOrders().each(order -> order.forEachLineItemWithOccurrences(
+                (item, occurrences) -> items.add(item.getName())));
+        ZipfDistribution itemDistribution = new ZipfDistribution(100, 1.0);
+        for (int rank : new int[]{0, 1, 4, 9})
+        {
+            double expected = itemDistribution.probabilityOf(rank) * 20_000;
+            Assertions.assertEquals(expected, items.occurrencesOf(CompanyDataGenerator.itemName(rank)), 0.1 * expected);
+        }
+
+        MutableBag<String> cities = company.getCustomers().countBy(Customer::getCity);
+        Assertions.assertEquals(CompanyDataGenerator.cityName(0), cities.topOccurrences(1).getFirst().getOne());
+        Assertions.assertEquals(4.0, (double) cities.occurrencesOf("City 0") / cities.occurrencesOf("City 1"), 0.4);
+
+        Company uniform = CompanyDataGeneratorTest.generate(
+                new CompanyDataGenerator(1L).withCustomers(20_000).withCities(10, 0.0),
+                2);
+        MutableBag<String> uniformCities = uniform.getCustomers().countBy(Customer::getCity);
+        Assertions.assertEquals(10, uniformCities.sizeDistinct());
+        uniformCities.forEachWithOccurrences((city, count) -> Assertions.assertEquals(2_000.0, count, 200.0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsInvalidSizes()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CompanyDataGenerator(0L).withItems(10, -1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CompanyDataGenerator(0L).withCustomers(-1));
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new CompanyDataGenerator(0L).withCustomers(100_000).withOrdersPerCustomer(100_000)
+                        .generate("Too Big", null));
+    }
+
+    private static Company generate(CompanyDataGenerator generator, int threads)
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            return generator.generate("Generated Supplies", executor);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.text.NumberFormat;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.eclipse.collections.api.block.function.Function0;
+import org.eclipse.collections.api.list.MultiReaderList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.Triple;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.eclipse.collections.impl.utility.StringIterate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Reports the footprint of the company domain and of the structures kept alongside it. The sizes are small so that
+ * the default build stays fast; {@code mvn test -Pmemory-footprint} measures 10,000 customers and 1,000,000 orders, and
+ * each size can also be set with {@code -Dcompanykata.memory.customers} and {@code -Dcompanykata.memory.orders}.
+ * <p/>
+ * The domain that an index is compared to is the customers with their orders and line items. They are not added to a
+ * company, so that the back-references from orders to customers do not pull the company and its own indexes into it.
+ */
+public class CompanyMemoryTest
+{
+    private static final int CUSTOMERS = Integer.getInteger("companykata.memory.customers", 1_000);
+    private static final int ORDERS = Integer.getInteger("companykata.memory.orders", 1_000);
+    private static final String[] ITEMS = {
+            "shed", "big shed", "huge shed", "cup", "saucer", "bowl", "dog", "cat", "goldfish", "gnome",
+            "table", "sofa", "chair", "kettle", "plasma screen", "sandwich toaster"};
+
+    private static MultiReaderList<Triple<String, Long, Long>> RESULTS =
+            Lists.multiReader.empty();
+
+    private static MutableList<Customer> customers()
+    {
+        Order.resetNextOrderNumber();
+        MutableList<Customer> customers = Lists.mutable.withInitialCapacity(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++)
+        {
+            Customer customer = new Customer("Customer " + i, i % 2 == 0 ? "London" : "Liphook");
+            for (int j = 0; j < 2; j++)
+            {
+                Order order = new Order();
+                for (int k = 0; k < 3; k++)
+                {
+                    order.addLineItems(new LineItem(ITEMS[(i + j * 3 + k * 5) % ITEMS.length], 1.5 + k), 1 + k);
+                }
+                customer.addOrder(order);
+            }
+            customers.add(customer);
+        }
+        return customers;
+    }
+
+    private void recordTriple(String structure, long structureSize, long comparedSize)
+    {
+        Assertions.assertTrue(structureSize > 0L);
+        RESULTS.add(Tuples.triple(structure, structureSize, comparedSize));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void itemIndex()
+    {
+        MutableList<Customer> customers = CompanyMemoryTest.customers();
+        ItemIndex itemIndex = new ItemIndex();
+        customers.each(customer -> customer.getOrders().each(order -> itemIndex.addOrder(customer, order)));
+
+        GraphLayout domain = GraphLayout.parseInstance(customers);
+        long indexSize = GraphLayout.parseInstance(itemIndex).subtract(domain).totalSize();
+
+        this.recordTriple("Item index", indexSize, domain.totalSize());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void deliveryIndex()
+    {
+        MutableList<Customer> customers = CompanyMemoryTest.customers();
+        DeliveryIndex deliveryIndex = new DeliveryIndex();
+        customers.each(customer -> customer.getOrders().each(deliveryIndex::add));
+
+        GraphLayout domain = GraphLayout.parseInstance(customers);
+        long indexSize = GraphLayout.parseInstance(deliveryIndex).subtract(domain).totalSize();
+
+        this.recordTriple("Delivery", indexSize, domain.totalSize());
+    }
+
+    private static MutableList<Order> orders(Function0<Order> orderFactory)
+    {
+        MutableList<Order> orders = Lists.mutable.withInitialCapacity(ORDERS);
+        for (int i = 0; i < ORDERS; i++)
+        {
+            Order order = orderFactory.value();
+            for (int k = 0; k < 3; k++)
+            {
+                order.addLineItems(new LineItem(ITEMS[(i + k * 5) % ITEMS.length], 1.5 + k), 1 + k);
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void columnarOrders()
+    {
+        long sortedBagSize = GraphLayout.parseInstance(CompanyMemoryTest.orders(Order::new)).totalSize();
+        long columnarSize = GraphLayout.parseInstance(CompanyMemoryTest.orders(Order::newColumnarOrder)).totalSize();
+
+        Assertions.assertTrue(columnarSize < sortedBagSize);
+        this.recordTriple("Columnar", columnarSize, sortedBagSize);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void internedItemNames()
+    {
+        MutableList<String> parsedNames = Lists.mutable.withInitialCapacity(ORDERS);
+        MutableList<LineItem> lineItems = Lists.mutable.withInitialCapacity(ORDERS);
+        for (int i = 0; i < ORDERS; i++)
+        {
+            String parsedName = new String(ITEMS[i % ITEMS.length].toCharArray());
+            parsedNames.add(parsedName);
+            lineItems.add(new LineItem(parsedName, 1.5));
+        }
+
+        long internedSize = GraphLayout.parseInstance(lineItems).totalSize();
+        long uninternedSize = internedSize + GraphLayout.parseInstance(parsedNames).totalSize()
+                - GraphLayout.parseInstance(parsedNames.distinct()).totalSize();
+
+        Set<String> distinctInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        lineItems.collect(LineItem::getName, distinctInstances);
+        Assertions.assertEquals(Math.min(ORDERS, ITEMS.length), distinctInstances.size());
+        this.recordTriple("Interned", internedSize, uninternedSize);
+    }
+
+    @AfterAll
+    static void afterAll()
+    {
+        System.out.println(StringIterate.padOrTrim("Company structures vs. domain / sorted bag orders", 61));
+        System.out.println(StringIterate.padOrTrim("Count: " + NumberFormat.getInstance().format(CUSTOMERS) + " customers / "
+                + NumberFormat.getInstance().format(ORDERS) + " orders", 61));
+        System.out.println(StringIterate.repeat("-", 61));
+        System.out.println("                                " + StringIterate.padOrTrim("Structure", 12) + " " + StringIterate.padOrTrim("Compared to", 12));
+        RESULTS.each(triple -> System.out.println("Type: " + StringIterate.padOrTrim(triple.getOne(), 11)
+                + " Size (bytes): " + StringIterate.padOrTrim(NumberFormat.getInstance().format(triple.getTwo()), 12)
+                + " " + StringIterate.padOrTrim(NumberFormat.getInstance().format(triple.getThree()), 12)));
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.block.predicate.Predicate;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class CompanyQueryTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void explainChoosesTheMostSelectiveIndex()
+    {
+        this.company.getCustomerNamed("Bill").getOrders().getLast().deliver();
+
+        CompanyQuery byItem = this.company.query().inCity("London").orderedItemNamed("gnome");
+        Assertions.assertEquals(
+                "item index \"gnome\" (estimated 1 of 5 orders), then filter city = \"London\"",
+                byItem.explain());
+        Assertions.assertEquals(
+                Lists.mutable.with(this.company.getCustomerNamed("Bill").getOrders().getFirst()),
+                byItem.getOrders());
+
+        CompanyQuery byName = this.company.query().customerNamed("Bill").delivered(false);
+        Assertions.assertEquals(
+                "name index \"Bill\" (estimated 3 of 5 orders), then filter delivered = false",
+                byName.explain());
+        Assertions.assertEquals(2, byName.getOrders().size());
+
+        CompanyQuery byDelivery = this.company.query().inCity("London").delivered(true);
+        Assertions.assertEquals(
+                "delivery bitmap delivered (estimated 1 of 5 orders), then filter city = \"London\"",
+                byDelivery.explain());
+        Assertions.assertEquals(Lists.mutable.with("Bill"), byDelivery.getCustomers().collect(Customer::getName));
+
+        CompanyQuery byCity = this.company.query().inCity("Liphook");
+        Assertions.assertEquals("city index \"Liphook\" (estimated 2 of 5 orders)", byCity.explain());
+        Assertions.assertEquals(Lists.mutable.with("Mary"), byCity.getCustomers().collect(Customer::getName));
+
+        CompanyQuery byValue = this.company.query().orderValueBetween(10.0, 100.0);
+        Assertions.assertEquals(
+                "scan (estimated 5 of 5 orders), then filter order value in [10.0, 100.0]",
+                byValue.explain());
+        Assertions.assertEquals(Lists.mutable.with(12.5 + 50.0 + 4.5 + 3.0 + 1.0), byValue.getOrders().collect(Order::getValue));
+
+        Assertions.assertTrue(this.company.query().customerNamed("Nobody").orderedItemNamed("cup").getOrders().isEmpty());
+        Assertions.assertTrue(this.company.query().inCity("York").getCustomers().isEmpty());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void nameIndexYieldsEveryCustomerWithTheName()
+    {
+        Customer otherBill = new Customer("Bill", "Liphook");
+        Order order = new Order();
+        order.addLineItem(new LineItem("cup", 1.5));
+        otherBill.addOrder(order);
+        this.company.addCustomer(otherBill);
+
+        Assertions.assertSame(this.company.getCustomerNamed("Bill"), this.company.getCustomersNamed("Bill").getFirst());
+        Assertions.assertEquals(
+                Lists.mutable.with("London", "Liphook"),
+                this.company.getCustomersNamed("Bill").collect(Customer::getCity));
+        Assertions.assertTrue(this.company.getCustomersNamed("Nobody").isEmpty());
+
+        CompanyQuery byName = this.company.query().customerNamed("Bill");
+        Assertions.assertEquals("name index \"Bill\" (estimated 4 of 6 orders)", byName.explain());
+        Assertions.assertEquals(
+                this.company.query().customerNamed("Bill").withoutIndexes().getOrders().toBag(),
+                byName.getOrders().toBag());
+        Assertions.assertEquals(
+                Lists.mutable.with(otherBill),
+                this.company.query().customerNamed("Bill").inCity("Liphook").getCustomers());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void matchesScanForRandomQueries()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            Company company = new CompanyDataGenerator(7L)
+                    .withCustomers(1_000)
+                    .withOrdersPerCustomer(3)
+                    .withItems(60, 1.0)
+                    .withCities(15, 1.0)
+                    .withDeliveredRatio(0.3)
+                    .generate("Random Supplies", executor);
+            SplittableRandom random = new SplittableRandom(11L);
+            MutableList<String> duplicateNames = Lists.mutable.empty();
+            for (int i = 0; i < 100; i++)
+            {
+                Customer duplicate = new Customer(
+                        CompanyDataGenerator.customerName(random.nextInt(1_000)),
+                        CompanyDataGenerator.cityName(random.nextInt(15)));
+                Order order = new Order();
+                order.addLineItems(
+                        new LineItem(CompanyDataGenerator.itemName(random.nextInt(60)), 1.0 + random.nextInt(500)),
+                        1 + random.nextInt(3));
+                duplicate.addOrder(order);
+                company.addCustomer(duplicate);
+                if (random.nextBoolean())
+                {
+                    order.deliver();
+                }
+                duplicateNames.add(duplicate.getName());
+            }
+            for (int i = 0; i < 500; i++)
+            {
+                CompanyQuery query = company.query();
+                CompanyQuery scan = company.query().withoutIndexes();
+                MutableList<Predicate<Customer>> customerFilters = Lists.mutable.empty();
+                MutableList<Predicate<Order>> orderFilters = Lists.mutable.empty();
+                if (random.nextInt(6) == 0)
+                {
+                    String name = random.nextBoolean()
+                            ? duplicateNames.get(random.nextInt(duplicateNames.size()))
+                            : CompanyDataGenerator.customerName(random.nextInt(1_100));
+                    query.customerNamed(name);
+                    scan.customerNamed(name);
+                    customerFilters.add(customer -> customer.getName().equals(name));
+                }
+                if (random.nextBoolean())
+                {
+                    String city = CompanyDataGenerator.cityName(random.nextInt(16));
+                    query.inCity(city);
+                    scan.inCity(city);
+                    customerFilters.add(customer -> customer.livesIn(city));
+                }
+                if (random.nextInt(4) == 0)
+                {
+                    double minimum = random.nextDouble(2_000.0);
+                    double maximum = minimum + random.nextDouble(4_000.0);
+                    query.customerValueBetween(minimum, maximum);
+                    scan.customerValueBetween(minimum, maximum);
+                    customerFilters.add(customer ->
+                            customer.getTotalOrderValue() >= minimum && customer.getTotalOrderValue() <= maximum);
+                }
+                if (random.nextBoolean())
+                {
+                    String item = CompanyDataGenerator.itemName(random.nextInt(65));
+                    query.orderedItemNamed(item);
+                    scan.orderedItemNamed(item);
+                    orderFilters.add(order -> order.getLineItems().anySatisfy(lineItem -> lineItem.getName().equals(item)));
+                }
+                if (random.nextInt(3) == 0)
+                {
+                    boolean delivered = random.nextBoolean();
+                    query.delivered(delivered);
+                    scan.delivered(delivered);
+                    orderFilters.add(order -> order.isDelivered() == delivered);
+                }
+                if (random.nextInt(3) == 0)
+                {
+                    double minimum = random.nextDouble(1_000.0);
+                    double maximum = minimum + random.nextDouble(1_500.0);
+                    query.orderValueBetween(minimum, maximum);
+                    scan.orderValueBetween(minimum, maximum);
+                    orderFilters.add(order -> order.getValue() >= minimum && order.getValue() <= maximum);
+                }
+
+                MutableList<Customer> customers =
+                        company.getCustomers().select(customer -> customerFilters.allSatisfy(filter -> filter.accept(customer)));
+                MutableList<Order> expectedOrders = customers
+                        .flatCollect(Customer::getOrders)
+                        .select(order -> orderFilters.allSatisfy(filter -> filter.accept(order)));
+                MutableList<Customer> expectedCustomers = orderFilters.isEmpty()
+                        ? customers
+                        : customers.select(customer -> customer.getOrders()
+                                .anySatisfy(order -> orderFilters.allSatisfy(filter -> filter.accept(order))));
+
+                String plan = query.explain();
+                Assertions.assertEquals(expectedOrders.toBag(), query.getOrders().toBag(), plan);
+                Assertions.assertEquals(expectedCustomers.toBag(), query.getCustomers().toBag(), plan);
+                Assertions.assertEquals(expectedOrders, scan.getOrders(), scan.explain());
+                Assertions.assertEquals(expectedCustomers, scan.getCustomers(), scan.explain());
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void concurrentCompany()
+    {
+        Company concurrent = Company.newConcurrentCompany("Concurrent Supplies");
+        this.company.getCustomers().each(customer ->
+        {
+            Customer copy = new Customer(customer.getName(), customer.getCity());
+            customer.getOrders().each(order ->
+            {
+                Order copiedOrder = new Order();
+                order.forEachLineItemWithOccurrences(copiedOrder::addLineItems);
+                copy.addOrder(copiedOrder);
+            });
+            concurrent.addCustomer(copy);
+        });
+        Assertions.assertEquals(
+                Lists.mutable.with("Fred", "Bill"),
+                concurrent.getCustomersInCity("London").collect(Customer::getName));
+        Assertions.assertEquals(
+                Lists.mutable.with("Fred", "Mary"),
+                concurrent.query().orderedItemNamed("cup").getCustomers().collect(Customer::getName).sortThis());
+        Assertions.assertEquals(
+                this.company.query().inCity("London").delivered(false).getOrders().collect(Order::getValue).sortThis(),
+                concurrent.query().inCity("London").delivered(false).getOrders().collect(Order::getValue).sortThis());
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.collector.Collectors2;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompanySnapshotTest extends CompanyDomainForKata
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void snapshotRoundTrip() throws IOException
+    {
+        this.company.getCustomerNamed("Mary").getOrders().getFirst().deliver();
+        Order columnarOrder = Order.newColumnarOrder(1_600_000_000_000L);
+        columnarOrder.addLineItems(new LineItem("teapot", 19.99), 2);
+        Customer pete = new Customer("Pete", "Grayshott");
+        pete.addOrder(columnarOrder);
+        this.company.addCustomer(pete);
+
+        Path snapshot = this.directory.resolve("company.snapshot");
+        CompanySnapshot.write(this.company, snapshot);
+        Company loaded = CompanySnapshot.read(snapshot);
+
+        Assertions.assertEquals(this.company.getName(), loaded.getName());
+        Assertions.assertEquals(this.company.getCustomers().collect(Customer::getName), loaded.getCustomers().collect(Customer::getName));
+        Assertions.assertEquals(this.company.getCustomers().collect(Customer::getCity), loaded.getCustomers().collect(Customer::getCity));
+        MutableList<Order> orders = this.company.getOrders();
+        MutableList<Order> loadedOrders = loaded.getOrders();
+        Assertions.assertEquals(orders.collectInt(Order::getOrderNumber), loadedOrders.collectInt(Order::getOrderNumber));
+        Assertions.assertEquals(orders.collectLong(Order::getTimestamp), loadedOrders.collectLong(Order::getTimestamp));
+        Assertions.assertEquals(orders.collectBoolean(Order::isDelivered), loadedOrders.collectBoolean(Order::isDelivered));
+        Assertions.assertEquals(orders.collectBoolean(Order::isColumnar), loadedOrders.collectBoolean(Order::isColumnar));
+        Assertions.assertEquals(
+                orders.collect(order -> order.getLineItems().toStringOfItemToCount()),
+                loadedOrders.collect(order -> order.getLineItems().toStringOfItemToCount()));
+        Assertions.assertEquals(orders.collectLong(Order::getValueInMinorUnits), loadedOrders.collectLong(Order::getValueInMinorUnits));
+        Assertions.assertEquals(
+                this.company.getTotalOrderValuesInMinorUnitsByCity(),
+                loaded.getTotalOrderValuesInMinorUnitsByCity());
+        Assertions.assertEquals(this.company.getUndeliveredOrderCount(), loaded.getUndeliveredOrderCount());
+        Assertions.assertEquals(
+                this.company.getSuppliers().collect(supplier -> supplier.getName() + Arrays.toString(supplier.getItemNames())),
+                loaded.getSuppliers().collect(supplier -> supplier.getName() + Arrays.toString(supplier.getItemNames())));
+        Assertions.assertEquals(
+                this.company.getCustomersWhoOrderedItemNamed("saucer").collect(Customer::getName),
+                loaded.getCustomersWhoOrderedItemNamed("saucer").collect(Customer::getName));
+        Assertions.assertEquals(
+                this.company.getOrdersContainingItemNamed("cup").collect(Order::getOrderNumber),
+                loaded.getOrdersContainingItemNamed("cup").collect(Order::getOrderNumber));
+        Assertions.assertEquals(
+                this.company.getCustomersInCity("London").collect(Customer::getName),
+                loaded.getCustomersInCity("London").collect(Customer::getName));
+        Assertions.assertSame(loaded.getCustomers().getLast(), loaded.getCustomerNamed("Pete"));
+        Assertions.assertTrue(loaded.getCustomerNamed("Pete").orderedItemNamed("teapot"));
+        Assertions.assertEquals(this.company.getOrderCount(), loaded.getOrderCount());
+
+        long version = loaded.getVersion();
+        Order loadedOrder = loaded.getCustomerNamed("Pete").getOrders().getFirst();
+        loadedOrder.addLineItem(new LineItem("gnome", 7.50));
+        loadedOrder.deliver();
+        Assertions.assertTrue(loaded.getVersion() > version);
+        Assertions.assertTrue(loaded.getOrdersContainingItemNamed("gnome").contains(loadedOrder));
+        Assertions.assertEquals(loaded.sumOrderValuesBy(Customer::getCity), loaded.getTotalOrderValuesByCity());
+        Assertions.assertEquals(this.company.getUndeliveredOrderCount() - 1, loaded.getUndeliveredOrderCount());
+
+        int largestOrderNumber = loadedOrders.collectInt(Order::getOrderNumber).max();
+        Order.resetNextOrderNumber();
+        CompanySnapshot.read(snapshot);
+        Assertions.assertTrue(new Order().getOrderNumber() > largestOrderNumber);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void failedWriteKeepsThePreviousSnapshot() throws IOException
+    {
+        Path snapshot = this.directory.resolve("company.snapshot");
+        CompanySnapshot.write(this.company, snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+
+        Company unwritable = new Company("Unwritable");
+        unwritable.addCustomer(new Customer(null, "London"));
+        Assertions.assertThrows(NullPointerException.class, () -> CompanySnapshot.write(unwritable, snapshot));
+
+        Assertions.assertArrayEquals(bytes, Files.readAllBytes(snapshot));
+        try (Stream<Path> files = Files.list(this.directory))
+        {
+            Assertions.assertEquals(Lists.mutable.with(snapshot), files.collect(Collectors2.toList()));
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsOtherFiles() throws IOException
+    {
+        Path notASnapshot = Files.writeString(this.directory.resolve("customers.csv"), "Fred,London\n");
+        Assertions.assertThrows(IOException.class, () -> CompanySnapshot.read(notASnapshot));
+
+        Path snapshot = this.directory.resolve("company.snapshot");
+        CompanySnapshot.write(this.company, snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Path truncated = Files.write(this.directory.resolve("truncated.snapshot"), Arrays.copyOf(bytes, bytes.length - 10));
+        Assertions.assertThrows(IOException.class, () -> CompanySnapshot.read(truncated));
+    }
+}
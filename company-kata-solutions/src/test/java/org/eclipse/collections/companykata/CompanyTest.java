@@ -0,0 +1,393 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.bag.sorted.MutableSortedBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Sets;
+import org.eclipse.collections.impl.factory.primitive.DoubleLists;
+import org.eclipse.collections.impl.utility.ArrayIterate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the indexes and derived values that {@link Company} maintains as the domain is built up.
+ */
+public class CompanyTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void customerNamedMatchesDetect()
+    {
+        this.company.getCustomers().each(customer -> Assertions.assertSame(
+                this.company.getCustomers().detect(each -> each.getName().equals(customer.getName())),
+                this.company.getCustomerNamed(customer.getName())));
+        Assertions.assertNull(this.company.getCustomerNamed("Pete"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void customerNamedKeepsFirstMatch()
+    {
+        Customer firstFred = this.company.getCustomerNamed("Fred");
+        this.company.addCustomer(new Customer("Fred", "Liphook"));
+
+        Assertions.assertSame(firstFred, this.company.getCustomerNamed("Fred"));
+        Assertions.assertEquals("London", this.company.getCustomerNamed("Fred").getCity());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void ordersViewMatchesGetOrders()
+    {
+        this.company.getCustomerNamed("Mary").getOrders().getFirst().deliver();
+        Assertions.assertEquals(this.company.getOrders(), this.company.ordersView().toList());
+        Assertions.assertEquals(1, this.company.ordersView().count(Order::isDelivered));
+
+        Order billOrder = new Order();
+        billOrder.addLineItem(new LineItem("kettle", 15.0));
+        this.company.getCustomerNamed("Bill").addOrder(billOrder);
+        Assertions.assertTrue(this.company.ordersView().contains(billOrder));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            Assertions.assertEquals(
+                    this.company.getOrders().sumOfDouble(Order::getValue),
+                    this.company.ordersViewInParallel(executor, 1).sumOfDouble(Order::getValue),
+                    1.0e-9);
+            Assertions.assertEquals(1, this.company.ordersViewInParallel(executor, 2).count(Order::isDelivered));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void undeliveredOrders()
+    {
+        int orderCount = this.company.getOrders().size();
+        Assertions.assertEquals(orderCount, this.company.getOrderCount());
+        Assertions.assertEquals(this.company.getOrders().sortThisByInt(Order::getOrderNumber), this.company.getUndeliveredOrders());
+
+        Order maryOrder = this.company.getCustomerNamed("Mary").getOrders().getFirst();
+        maryOrder.deliver();
+        maryOrder.deliver();
+        Order deliveredOrder = new Order();
+        deliveredOrder.deliver();
+        Customer pete = new Customer("Pete", "York");
+        pete.addOrder(deliveredOrder);
+        pete.addOrder(new Order());
+        this.company.addCustomer(pete);
+
+        Assertions.assertEquals(orderCount + 2, this.company.getOrderCount());
+        Assertions.assertEquals(orderCount, this.company.getUndeliveredOrderCount());
+        Assertions.assertEquals(
+                this.company.getOrders().reject(Order::isDelivered).sortThisByInt(Order::getOrderNumber),
+                this.company.getUndeliveredOrders());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void orderNumbersAreUniqueWithinCompany()
+    {
+        Order.resetNextOrderNumber();
+        Customer pete = new Customer("Pete", "York");
+        this.company.addCustomer(pete);
+
+        long version = this.company.getVersion();
+        int orderCount = this.company.getOrderCount();
+        Order duplicate = new Order();
+        duplicate.addLineItem(new LineItem("gnome", 7.5));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> pete.addOrder(duplicate));
+        Assertions.assertTrue(pete.getOrders().isEmpty());
+        Assertions.assertEquals(0L, pete.getTotalOrderValueInMinorUnits());
+        Assertions.assertFalse(this.company.getOrdersContainingItemNamed("gnome").contains(duplicate));
+        Assertions.assertEquals(orderCount, this.company.getOrderCount());
+        Assertions.assertEquals(version, this.company.getVersion());
+        Assertions.assertEquals(this.company.sumOrderValuesBy(Customer::getCity), this.company.getTotalOrderValuesByCity());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void customersWhoOrderedItemNamed()
+    {
+        var expectedCustomers = Sets.mutable.with("Fred", "Mary").collect(this.company::getCustomerNamed);
+        Assertions.assertEquals(expectedCustomers, this.company.getCustomersWhoOrderedItemNamed("saucer"));
+        Assertions.assertEquals(
+                this.company.getCustomers().selectWith(Customer::orderedItemNamed, "table").toSet(),
+                this.company.getCustomersWhoOrderedItemNamed("table"));
+        Assertions.assertTrue(this.company.getCustomersWhoOrderedItemNamed("kettle").isEmpty());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void ordersContainingItemNamed()
+    {
+        MutableSet<Order> expectedOrders = this.company.getOrders().selectWith(Order::containsItemNamed, "shed").toSet();
+        Assertions.assertEquals(expectedOrders, this.company.getOrdersContainingItemNamed("shed"));
+        Assertions.assertEquals(2, this.company.getOrdersContainingItemNamed("shed").size());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void itemIndexFollowsLaterAdditions()
+    {
+        Customer mary = this.company.getCustomerNamed("Mary");
+        mary.getOrders().getFirst().addLineItem(new LineItem("kettle", 15.0));
+        Order maryOrder = new Order();
+        mary.addOrder(maryOrder);
+        maryOrder.addLineItems(new LineItem("gnome", 7.50), 2);
+
+        Assertions.assertEquals(Sets.mutable.with(mary), this.company.getCustomersWhoOrderedItemNamed("kettle"));
+        Assertions.assertEquals(
+                Sets.mutable.with("Bill", "Mary").collect(this.company::getCustomerNamed),
+                this.company.getCustomersWhoOrderedItemNamed("gnome"));
+        Assertions.assertTrue(this.company.getOrdersContainingItemNamed("gnome").contains(maryOrder));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void runningTotalsMatchRecomputedTotals()
+    {
+        Customer bill = this.company.getCustomerNamed("Bill");
+        Order billOrder = bill.getOrders().getLast();
+        billOrder.addLineItems(new LineItem("kettle", 12.25), 2);
+        Order newOrder = new Order();
+        newOrder.addLineItem(new LineItem("sofa", 120.0));
+        bill.addOrder(newOrder);
+        newOrder.addLineItem(new LineItem("chair", 12.5));
+
+        Assertions.assertEquals(25.5, billOrder.getValue(), 0.0);
+        Assertions.assertEquals(132.5, newOrder.getValue(), 0.0);
+        Assertions.assertEquals(532.25, bill.getTotalOrderValue(), 0.0);
+        this.company.getCustomers().each(customer -> Assertions.assertEquals(
+                customer.computeTotalOrderValue(), customer.getTotalOrderValue(), 0.0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void runningTotalsUseTheFirstPriceOfARepeatedName()
+    {
+        for (Order order : new Order[]{new Order(), Order.newColumnarOrder()})
+        {
+            Customer ann = new Customer("Ann", "York");
+            ann.addOrder(order);
+            this.company.addCustomer(ann);
+            order.addLineItem(new LineItem("cup", 1.0));
+            order.addLineItem(new LineItem("cup", 5.0));
+            order.addLineItems(new LineItem("cup", 3.0), 2);
+
+            Assertions.assertEquals(4.0, order.computeValue(), 0.0);
+            Assertions.assertEquals(order.computeValue(), order.getValue(), 0.0);
+            Assertions.assertEquals(order.computeValueInMinorUnits(), order.getValueInMinorUnits());
+            Assertions.assertEquals(ann.computeTotalOrderValue(), ann.getTotalOrderValue(), 0.0);
+            Assertions.assertEquals(
+                    this.company.sumOrderValuesBy(Customer::getCity),
+                    this.company.getTotalOrderValuesByCity());
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void totalsCheckDetectsStaleTotals()
+    {
+        Order fredOrder = this.company.getCustomerNamed("Fred").getOrders().getFirst();
+        fredOrder.addLineItemsWithoutTotals(new LineItem("kettle", 10.0), 1);
+        Assertions.assertThrows(
+                UnsupportedOperationException.class,
+                () -> ((MutableSortedBag<LineItem>) fredOrder.getLineItems()).add(new LineItem("kettle", 10.0)));
+
+        TotalsCheck.setEnabled(true);
+        try
+        {
+            Assertions.assertThrows(IllegalStateException.class, fredOrder::getValue);
+            Assertions.assertDoesNotThrow(() -> this.company.getCustomerNamed("Mary").getTotalOrderValue());
+        }
+        finally
+        {
+            TotalsCheck.setEnabled(false);
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void totalOrderValuesInMinorUnits()
+    {
+        ObjectLongMap<String> byCity = this.company.getTotalOrderValuesInMinorUnitsByCity();
+        Assertions.assertEquals(44_625L, byCity.get("London"));
+        Assertions.assertEquals(85_700L, byCity.get("Liphook"));
+
+        ObjectLongMap<String> byItem = this.company.getTotalOrderValuesInMinorUnitsByItem();
+        Assertions.assertEquals(12, byItem.size());
+        Assertions.assertEquals(10_000L, byItem.get("shed"));
+        Assertions.assertEquals(1_050L, byItem.get("cup"));
+        Assertions.assertEquals(32_250L, byItem.get("gnome"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void minorUnitsDoNotDrift()
+    {
+        Order order = new Order();
+        order.addLineItems(LineItem.ofMinorUnits("nail", 10L), 10);
+        for (int i = 0; i < 10; i++)
+        {
+            order.addLineItem(new LineItem("screw", 0.1));
+        }
+
+        Assertions.assertEquals(200L, order.getValueInMinorUnits());
+        Assertions.assertEquals(0.1, LineItem.ofMinorUnits("nail", 10L).getValue(), 0.0);
+        Assertions.assertEquals(13L, new LineItem("saucer", 0.125).getValueInMinorUnits());
+        Assertions.assertEquals(0L, new LineItem("pin", 0.001).getValueInMinorUnits());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void sumOrderValuesByCity()
+    {
+        ObjectDoubleMap<String> map = this.company.sumOrderValuesBy(Customer::getCity);
+
+        Assertions.assertEquals(
+                this.company.getCustomers().sumByDouble(Customer::getCity, Customer::getTotalOrderValue), map);
+        Assertions.assertEquals(446.25, map.get("London"), 0.0);
+        Assertions.assertEquals(857.0, map.get("Liphook"), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void sumLineItemValuesByItem()
+    {
+        ObjectDoubleMap<String> map = this.company.sumLineItemValuesBy(LineItem::getName);
+
+        Assertions.assertEquals(12, map.size());
+        Assertions.assertEquals(100.0, map.get("shed"), 0.0);
+        Assertions.assertEquals(10.5, map.get("cup"), 0.0);
+        Assertions.assertEquals(
+                this.company.getTotalOrderValuesInMinorUnitsByItem(),
+                this.company.sumLineItemValuesInMinorUnitsBy(LineItem::getName));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void sumLineItemValuesByItemInParallel()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            Assertions.assertEquals(
+                    this.company.sumLineItemValuesBy(LineItem::getName),
+                    this.company.sumLineItemValuesByInParallel(LineItem::getName, executor, 1));
+            Assertions.assertEquals(
+                    this.company.sumLineItemValuesInMinorUnitsBy(LineItem::getName),
+                    this.company.sumLineItemValuesInMinorUnitsByInParallel(LineItem::getName, executor, 2));
+            Assertions.assertTrue(new Company("Empty").sumLineItemValuesByInParallel(LineItem::getName, executor, 1).isEmpty());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void suppliersOfItemNamed()
+    {
+        Assertions.assertEquals(
+                this.company.getSuppliers().select(supplier -> ArrayIterate.contains(supplier.getItemNames(), "sofa")),
+                this.company.getSuppliersOfItemNamed("sofa"));
+        Assertions.assertEquals(
+                Lists.mutable.with("Furniture Hamlet", "SFD"),
+                this.company.getSuppliersOfItemNamed("chair").collect(Supplier::getName));
+        Assertions.assertTrue(this.company.getSuppliersOfItemNamed("never heard of it").isEmpty());
+
+        Supplier kitchenware = new Supplier("Kitchenware", new String[]{"kettle", "kettle", "cup"});
+        this.company.addSupplier(kitchenware);
+        Assertions.assertEquals(
+                Lists.mutable.with("Doxins", "Kitchenware"),
+                this.company.getSuppliersOfItemNamed("kettle").collect(Supplier::getName));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void itemNamesWithoutSupplier()
+    {
+        Assertions.assertTrue(this.company.getItemNamesWithoutSupplier().isEmpty());
+
+        Order order = new Order();
+        order.addLineItem(new LineItem("spoon", 1.0));
+        this.company.getCustomerNamed("Fred").addOrder(order);
+        Assertions.assertEquals(Sets.mutable.with("spoon"), this.company.getItemNamesWithoutSupplier());
+
+        this.company.addSupplier(new Supplier("Cutlery Direct", new String[]{"spoon", "fork"}));
+        Assertions.assertTrue(this.company.getItemNamesWithoutSupplier().isEmpty());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void topLineItemsBy()
+    {
+        Assertions.assertEquals(
+                DoubleLists.mutable.with(500.0, 150.0, 120.0, 75.0, 50.0, 50.0),
+                this.company.topLineItemsBy(6, LineItem::getValue).collectDouble(LineItem::getValue));
+        Assertions.assertEquals("big shed", this.company.topLineItemsBy(1, LineItem::getValue).getOnly().getName());
+
+        MutableList<LineItem> allLineItems = this.company.getOrders().flatCollect(Order::getLineItems);
+        MutableList<Double> sortedValues = allLineItems.collect(LineItem::getValue).sortThis(Comparator.reverseOrder());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            for (int k = 0; k <= allLineItems.size() + 1; k++)
+            {
+                MutableList<Double> expected = sortedValues.take(k);
+                Assertions.assertEquals(expected, this.company.topLineItemsBy(k, LineItem::getValue).collect(LineItem::getValue));
+                Assertions.assertEquals(
+                        expected,
+                        this.company.topLineItemsByInParallel(k, LineItem::getValue, executor, 1).collect(LineItem::getValue));
+            }
+            Assertions.assertEquals(
+                    sortedValues,
+                    this.company.topLineItemsBy(Integer.MAX_VALUE, LineItem::getValue).collect(LineItem::getValue));
+            Assertions.assertEquals(
+                    sortedValues,
+                    this.company.topLineItemsByInParallel(Integer.MAX_VALUE, LineItem::getValue, executor, 1)
+                            .collect(LineItem::getValue));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> this.company.topLineItemsBy(-1, LineItem::getValue));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void sumLineItemValuesBySupplier()
+    {
+        ObjectDoubleMap<Supplier> map = this.company.sumLineItemValuesBySupplier();
+
+        Assertions.assertEquals(600.0, map.get(this.company.getSuppliers().detect(s -> "Shedtastic".equals(s.getName()))), 0.0);
+        Assertions.assertEquals(20.75, map.get(this.company.getSuppliers().detect(s -> "Splendid Crocks".equals(s.getName()))), 0.0);
+        Assertions.assertFalse(map.containsKey(this.company.getSuppliers().detect(s -> "Doxins".equals(s.getName()))));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress test for a company built up from many threads while readers take consistent snapshots.
+ */
+public class ConcurrentCompanyTest
+{
+    private static final int WRITERS = 8;
+    private static final int CUSTOMERS_PER_WRITER = 250;
+    private static final int SHARED_CUSTOMERS = 16;
+
+    @Test
+    @Tag("SOLUTION")
+    public void concurrentIngestion() throws Exception
+    {
+        Company company = Company.newConcurrentCompany("Concurrent Supplies");
+        MutableList<Customer> shared = Interval.oneTo(SHARED_CUSTOMERS).collect(i -> new Customer("Shared " + i, "London")).toList();
+        shared.each(company::addCustomer);
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Future<Integer> reader = executor.submit(() -> {
+                start.await();
+                int snapshots = 0;
+                while (writing.get() || snapshots == 0)
+                {
+                    Assertions.assertTrue(company.withReadLock(ConcurrentCompanyTest::totalsAreConsistent));
+                    snapshots++;
+                }
+                return snapshots;
+            });
+            MutableList<Future<?>> writers = Lists.mutable.empty();
+            for (int writer = 0; writer < WRITERS; writer++)
+            {
+                int writerId = writer;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    ConcurrentCompanyTest.ingest(company, shared, writerId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers)
+            {
+                writer.get();
+            }
+            writing.set(false);
+            Assertions.assertTrue(reader.get() > 0);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(SHARED_CUSTOMERS + WRITERS * CUSTOMERS_PER_WRITER, company.getCustomers().size());
+        Assertions.assertEquals(WRITERS, company.getSuppliers().size());
+        Assertions.assertTrue(ConcurrentCompanyTest.totalsAreConsistent(company));
+        Assertions.assertEquals(WRITERS * CUSTOMERS_PER_WRITER, company.getOrdersContainingItemNamed("gnome").size());
+        Assertions.assertEquals(shared.toSet(), company.getCustomersWhoOrderedItemNamed("kettle"));
+        shared.each(customer -> Assertions.assertEquals(WRITERS * CUSTOMERS_PER_WRITER * 2 / SHARED_CUSTOMERS, customer.getOrders().size()));
+        for (int writer = 0; writer < WRITERS; writer++)
+        {
+            for (int i = 0; i < CUSTOMERS_PER_WRITER; i++)
+            {
+                Customer customer = company.getCustomerNamed("Customer " + writer + "-" + i);
+                Assertions.assertEquals(2_250L, customer.getTotalOrderValueInMinorUnits());
+            }
+        }
+        Assertions.assertEquals(
+                WRITERS * CUSTOMERS_PER_WRITER * (2_250L + 2 * 1_225L),
+                company.getCustomers().sumOfLong(Customer::getTotalOrderValueInMinorUnits));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void withReadLockEvaluatesQuery()
+    {
+        Company company = Company.newConcurrentCompany("Concurrent Supplies");
+        Customer customer = new Customer("Fred", "London");
+        company.addCustomer(customer);
+        Order order = new Order();
+        customer.addOrder(order);
+        order.addLineItems(new LineItem("cup", 1.5), 3);
+
+        Assertions.assertTrue(company.isConcurrent());
+        Assertions.assertFalse(new Company("Plain").isConcurrent());
+        Assertions.assertEquals(Lists.mutable.with(order), company.withReadLock(Company::getOrders));
+        Assertions.assertEquals(4.5, company.withReadLock(c -> c.getCustomerNamed("Fred").getTotalOrderValue()), 0.0);
+    }
+
+    /**
+     * Each writer adds its own customers with an order that gains a line item after it is attached, and adds two
+     * orders to the shared customers, which contend for the same locks.
+     */
+    private static void ingest(Company company, MutableList<Customer> shared, int writerId)
+    {
+        company.addSupplier(new Supplier("Supplier " + writerId, new String[]{"gnome", "kettle"}));
+        for (int i = 0; i < CUSTOMERS_PER_WRITER; i++)
+        {
+            Customer customer = new Customer("Customer " + writerId + "-" + i, i % 2 == 0 ? "London" : "Liphook");
+            Order order = new Order();
+            order.addLineItems(new LineItem("gnome", 7.50), 2);
+            customer.addOrder(order);
+            company.addCustomer(customer);
+            order.addLineItem(new LineItem("shed", 7.50));
+
+            for (int j = 0; j < 2; j++)
+            {
+                Order sharedOrder = new Order();
+                shared.get((writerId * CUSTOMERS_PER_WRITER * 2 + i * 2 + j) % SHARED_CUSTOMERS).addOrder(sharedOrder);
+                sharedOrder.addLineItem(new LineItem("kettle", 12.25));
+            }
+        }
+    }
+
+    private static boolean totalsAreConsistent(Company company)
+    {
+        return company.getSuppliers().size() == company.getSuppliersOfItemNamed("gnome").size()
+                && company.getCustomers().allSatisfy(customer ->
+                customer.getTotalOrderValueInMinorUnits() == customer.computeTotalOrderValueInMinorUnits()
+                        && customer.getOrders().allSatisfy(order ->
+                        order.getValueInMinorUnits() == order.computeValueInMinorUnits()));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.factory.Bags;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.primitive.ObjectIntPair;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.tuple.primitive.PrimitiveTuples;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ItemCooccurrenceTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void customersWhoBoughtAlsoBought()
+    {
+        ItemCooccurrence cooccurrence = this.company.getItemCooccurrence();
+
+        Assertions.assertEquals(2, cooccurrence.customerCount("cup"));
+        Assertions.assertEquals(2, cooccurrence.count("cup", "saucer"));
+        Assertions.assertEquals(cooccurrence.count("cup", "saucer"), cooccurrence.count("saucer", "cup"));
+        Assertions.assertEquals(2, cooccurrence.count("cup", "cup"));
+        Assertions.assertEquals(0, cooccurrence.count("cup", "never ordered by anyone"));
+        Assertions.assertEquals(0, cooccurrence.customerCount("never ordered by anyone"));
+        Assertions.assertEquals(
+                Lists.mutable.with(PrimitiveTuples.pair("saucer", 2), PrimitiveTuples.pair("big shed", 1)),
+                cooccurrence.topNeighbors("cup", 2));
+        Assertions.assertTrue(cooccurrence.topNeighbors("cup", 0).isEmpty());
+        Assertions.assertTrue(cooccurrence.topNeighbors("never ordered by anyone", 5).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cooccurrence.topNeighbors("cup", -1));
+        ItemCooccurrenceTest.assertMatchesNestedCollections(this.company, cooccurrence);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void parallelMatchesSerial()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            Company company = new CompanyDataGenerator(5L)
+                    .withCustomers(3_000)
+                    .withOrdersPerCustomer(3)
+                    .withItems(60, 1.0)
+                    .generate("Generated Supplies", executor);
+            ItemCooccurrence serial = company.getItemCooccurrence();
+            ItemCooccurrence parallel = company.getItemCooccurrenceInParallel(executor, 97);
+
+            ItemCooccurrenceTest.assertMatchesNestedCollections(company, serial);
+            ItemCooccurrenceTest.assertMatchesNestedCollections(company, parallel);
+            Assertions.assertEquals(serial.pairCount(), parallel.pairCount());
+            for (int rank = 0; rank < 60; rank++)
+            {
+                String itemName = CompanyDataGenerator.itemName(rank);
+                Assertions.assertEquals(serial.topNeighbors(itemName, 10), parallel.topNeighbors(itemName, 10));
+            }
+            Assertions.assertEquals(
+                    0,
+                    new Company("Empty").getItemCooccurrenceInParallel(executor, 10).pairCount());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Recomputes the counts with the nested collections the co-occurrence matrix replaces.
+     */
+    private static void assertMatchesNestedCollections(Company company, ItemCooccurrence cooccurrence)
+    {
+        MutableList<MutableSet<String>> baskets = company.getCustomers().collect(customer -> customer.getOrders()
+                .flatCollect(Order::getLineItems)
+                .collect(LineItem::getName)
+                .toSet());
+        MutableBag<String> customerCounts = baskets.flatCollect(basket -> basket, Bags.mutable.empty());
+        MutableBag<String> pairCounts = Bags.mutable.empty();
+        baskets.each(basket -> basket.each(item -> basket.each(other ->
+        {
+            if (item.compareTo(other) < 0)
+            {
+                pairCounts.add(item + '\u0000' + other);
+            }
+        })));
+
+        Assertions.assertEquals(pairCounts.sizeDistinct(), cooccurrence.pairCount());
+        customerCounts.forEachWithOccurrences(
+                (item, count) -> Assertions.assertEquals(count, cooccurrence.customerCount(item), item));
+        pairCounts.forEachWithOccurrences((pair, count) ->
+        {
+            String[] items = pair.split("\u0000");
+            Assertions.assertEquals(count, cooccurrence.count(items[0], items[1]), pair);
+        });
+        customerCounts.forEachWithOccurrences((item, count) ->
+        {
+            MutableList<ObjectIntPair<String>> expected = customerCounts
+                    .toSet()
+                    .reject(item::equals)
+                    .collect(other -> PrimitiveTuples.pair(other, cooccurrence.count(item, other)))
+                    .reject(pair -> pair.getTwo() == 0)
+                    .toSortedList((pair1, pair2) -> pair1.getTwo() != pair2.getTwo()
+                            ? Integer.compare(pair2.getTwo(), pair1.getTwo())
+                            : pair1.getOne().compareTo(pair2.getOne()))
+                    .take(5);
+            Assertions.assertEquals(expected, cooccurrence.topNeighbors(item, 5), item);
+        });
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.SetIterable;
+import org.eclipse.collections.impl.list.Interval;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ItemNameFilterTest extends CompanyDomainForKata
+{
+    private static final int ABSENT_NAMES = 100_000;
+
+    @AfterEach
+    public void tearDown()
+    {
+        Order.setItemNameFilterEnabled(false);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void filteredOrderBehavesLikeUnfilteredOrder()
+    {
+        Order.setItemNameFilterEnabled(true);
+        Order filtered = new Order();
+        Order filteredColumnar = Order.newColumnarOrder();
+        Order.setItemNameFilterEnabled(false);
+        Order unfiltered = new Order();
+        for (Order order : new Order[]{filtered, filteredColumnar, unfiltered})
+        {
+            order.addLineItems(new LineItem("cup", 1.5), 3);
+            order.addLineItem(new LineItem("saucer", 1.0));
+            order.addLineItem(new LineItem("shed", 50.0));
+        }
+
+        Assertions.assertTrue(filtered.hasItemNameFilter());
+        Assertions.assertFalse(unfiltered.hasItemNameFilter());
+        Assertions.assertFalse(filtered.isColumnar());
+        Assertions.assertTrue(filteredColumnar.isColumnar());
+        Assertions.assertEquals(unfiltered.getLineItems(), filtered.getLineItems());
+        Assertions.assertEquals(unfiltered.getValueInMinorUnits(), filteredColumnar.getValueInMinorUnits());
+        for (String itemName : new String[]{"cup", "saucer", "shed", "gnome", "never ordered by anyone"})
+        {
+            Assertions.assertEquals(unfiltered.containsItemNamed(itemName), filtered.containsItemNamed(itemName));
+            Assertions.assertEquals(unfiltered.containsItemNamed(itemName), filteredColumnar.containsItemNamed(itemName));
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void orderFilterFalsePositiveRate()
+    {
+        Random random = new Random(1L);
+        for (int itemCount : new int[]{1, 3, 5, 10})
+        {
+            long falsePositives = 0L;
+            for (int order = 0; order < 100; order++)
+            {
+                long word = 0L;
+                for (int i = 0; i < itemCount; i++)
+                {
+                    String itemName = "item " + random.nextInt(1_000_000);
+                    word = ItemNameFilter.addTo(word, itemName);
+                    Assertions.assertTrue(ItemNameFilter.mightContain(word, itemName));
+                }
+                for (int i = 0; i < ABSENT_NAMES / 100; i++)
+                {
+                    if (ItemNameFilter.mightContain(word, "absent " + i))
+                    {
+                        falsePositives++;
+                    }
+                }
+            }
+            double rate = (double) falsePositives / ABSENT_NAMES;
+            double expected = Math.pow(1.0 - Math.exp(-(double) ItemNameFilter.WORD_HASHES * itemCount / Long.SIZE), 2);
+            Assertions.assertEquals(expected, rate, 0.5 * expected + 0.002);
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void companyFilterHasNoFalseNegatives()
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Company company = new CompanyDataGenerator(3L)
+                .withCustomers(2_000)
+                .withItems(5_000, 1.0)
+                .generate("Generated Supplies", executor);
+        executor.shutdown();
+        ItemNameFilter filter = company.getItemNameFilter();
+        Interval.zeroTo(4_999)
+                .collect(CompanyDataGenerator::itemName)
+                .each(itemName -> Assertions.assertEquals(
+                        company.getCustomersWhoOrderedItemNamed(itemName).notEmpty(),
+                        company.getCustomers().anySatisfyWith(Customer::orderedItemNamed, itemName),
+                        itemName));
+        company.getOrders().each(order -> order.forEachLineItemWithOccurrences(
+                (item, occurrences) -> Assertions.assertTrue(filter.mightContain(item.getName()))));
+
+        long falsePositives = Interval.oneTo(ABSENT_NAMES).count(i -> filter.mightContain("absent " + i));
+        double rate = (double) falsePositives / ABSENT_NAMES;
+        Assertions.assertEquals(1, filter.layerCount());
+        Assertions.assertEquals(filter.expectedFalsePositiveRate(), rate, 0.001);
+        Assertions.assertTrue(rate < 0.01);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void orderedItemNamedSeesItemsAddedLater()
+    {
+        Customer bill = this.company.getCustomerNamed("Bill");
+        Assertions.assertFalse(bill.orderedItemNamed("teapot"));
+        Assertions.assertFalse(this.company.mightHaveOrderedItemNamed("teapot"));
+
+        bill.getOrders().getFirst().addLineItem(new LineItem("teapot", 19.99));
+        Assertions.assertTrue(bill.orderedItemNamed("teapot"));
+        Assertions.assertFalse(this.company.getCustomerNamed("Fred").orderedItemNamed("teapot"));
+
+        Order order = new Order();
+        order.addLineItem(new LineItem("kettle", 25.0));
+        Customer ann = new Customer("Ann", "York");
+        ann.addOrder(order);
+        Assertions.assertFalse(this.company.mightHaveOrderedItemNamed("kettle"));
+        this.company.addCustomer(ann);
+        Assertions.assertTrue(ann.orderedItemNamed("kettle"));
+        Assertions.assertTrue(this.company.mightHaveOrderedItemNamed("kettle"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void filterGrowsWithTheNames() throws InterruptedException
+    {
+        int names = 500_000;
+        ItemNameFilter filter = new ItemNameFilter();
+        ItemNameFilter concurrentFilter = ItemNameFilter.newConcurrentFilter();
+        Interval.zeroTo(names - 1).each(i -> filter.add("item " + i));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int thread = 0; thread < 4; thread++)
+        {
+            int offset = thread;
+            executor.execute(() ->
+            {
+                for (int i = offset; i < names; i += 4)
+                {
+                    concurrentFilter.add("item " + i);
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1L, TimeUnit.MINUTES));
+
+        for (ItemNameFilter each : new ItemNameFilter[]{filter, concurrentFilter})
+        {
+            Assertions.assertTrue(each.layerCount() > 1);
+            Assertions.assertTrue(Interval.zeroTo(names - 1).allSatisfy(i -> each.mightContain("item " + i)));
+            long falsePositives = Interval.oneTo(ABSENT_NAMES).count(i -> each.mightContain("absent " + i));
+            double rate = (double) falsePositives / ABSENT_NAMES;
+            Assertions.assertEquals(each.expectedFalsePositiveRate(), rate, 0.003);
+            Assertions.assertTrue(rate < 0.03, String.valueOf(rate));
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void concurrentCompanyFilter() throws InterruptedException
+    {
+        Company company = Company.newConcurrentCompany("Concurrent Supplies");
+        MutableList<Customer> customers = Interval.oneTo(8).collect(i -> new Customer("Customer " + i, "London")).toList();
+        customers.each(company::addCustomer);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        customers.each(customer -> executor.execute(() ->
+        {
+            for (int i = 0; i < 1_000; i++)
+            {
+                Order order = new Order();
+                order.addLineItem(new LineItem(customer.getName() + " item " + i, 1.0));
+                customer.addOrder(order);
+            }
+        }));
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1L, TimeUnit.MINUTES));
+
+        customers.each(customer -> Interval.zeroTo(999).each(i ->
+        {
+            String itemName = customer.getName() + " item " + i;
+            Assertions.assertTrue(company.mightHaveOrderedItemNamed(itemName));
+            Assertions.assertTrue(customer.orderedItemNamed(itemName));
+        }));
+        SetIterable<Customer> bills = company.getCustomersWhoOrderedItemNamed("Customer 1 item 7");
+        Assertions.assertEquals(1, bills.size());
+    }
+}
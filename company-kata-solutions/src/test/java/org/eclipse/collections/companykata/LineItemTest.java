@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.Interval;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class LineItemTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void namesAreInterned()
+    {
+        LineItem cup = new LineItem(new String("cup".toCharArray()), 1.5);
+        LineItem anotherCup = LineItem.ofMinorUnits(new String("cup".toCharArray()), 200L);
+        LineItem saucer = new LineItem("saucer", 1.0);
+
+        Assertions.assertSame(cup.getName(), anotherCup.getName());
+        Assertions.assertEquals(cup.getNameId(), anotherCup.getNameId());
+        Assertions.assertNotEquals(cup.getNameId(), saucer.getNameId());
+        Assertions.assertEquals(cup.getNameId(), ItemNameDictionary.shared().getIfPresent("cup"));
+        Assertions.assertEquals("cup", ItemNameDictionary.shared().nameOf(cup.getNameId()));
+        Assertions.assertEquals(-1, ItemNameDictionary.shared().getIfPresent("never ordered by anyone"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void dictionaryLimitOnlyAppliesToNewNames()
+    {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        for (int i = 0; i < 100; i++)
+        {
+            Assertions.assertEquals(i, dictionary.idOf("item " + i, 100));
+        }
+        Assertions.assertEquals(42, dictionary.idOf("item 42", 100));
+        Assertions.assertEquals(-1, dictionary.idOf("one too many", 100));
+        Assertions.assertEquals(-1, dictionary.getIfPresent("one too many"));
+        Assertions.assertEquals(100, dictionary.size());
+        Assertions.assertEquals(100, dictionary.idOf("one too many"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void dictionaryInternsConsistentlyAcrossThreads() throws Exception
+    {
+        ItemNameDictionary dictionary = new ItemNameDictionary();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try
+        {
+            MutableList<Future<int[]>> futures = Lists.mutable.empty();
+            for (int thread = 0; thread < 4; thread++)
+            {
+                int offset = thread * 250;
+                futures.add(executor.submit(() -> Interval.zeroTo(1_999)
+                        .collectInt(i -> dictionary.idOf("item " + (i + offset) % 2_000))
+                        .toArray()));
+            }
+            for (int thread = 0; thread < 4; thread++)
+            {
+                int[] ids = futures.get(thread).get();
+                for (int i = 0; i < ids.length; i++)
+                {
+                    Assertions.assertEquals("item " + (i + thread * 250) % 2_000, dictionary.nameOf(ids[i]));
+                }
+            }
+            Assertions.assertEquals(2_000, dictionary.size());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void byNameOrdersAlphabetically()
+    {
+        var items = Lists.mutable.with(
+                new LineItem("table", 1.0),
+                new LineItem("cup", 1.5),
+                new LineItem("saucer", 1.0),
+                new LineItem("cup", 2.0));
+
+        Assertions.assertEquals(
+                Lists.mutable.with("cup", "cup", "saucer", "table"),
+                items.sortThis(LineItem.byName()).collect(LineItem::getName));
+        Assertions.assertEquals(0, LineItem.byName().compare(items.get(0), items.get(1)));
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MutationLogTest extends CompanyDomainForKata
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    @Tag("SOLUTION")
+    public void replayRebuildsTheCompany() throws IOException
+    {
+        Path path = this.directory.resolve("company.log");
+        try (MutationLog log = MutationLog.create(this.company, path))
+        {
+            this.makeChanges();
+            Assertions.assertSame(this.company, log.getCompany());
+        }
+        this.assertSameCompany(this.company, MutationLog.replay(path));
+
+        this.company.getCustomerNamed("Bill").getOrders().getLast().addLineItem(new LineItem("kettle", 9.0));
+        Assertions.assertFalse(MutationLog.replay(path).getCustomerNamed("Bill").orderedItemNamed("kettle"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void recoverFromTruncatedLog() throws IOException
+    {
+        Path path = this.directory.resolve("company.log");
+        long sizeBeforeLastRecord;
+        try (MutationLog log = MutationLog.create(this.company, path))
+        {
+            this.makeChanges();
+            log.commit();
+            sizeBeforeLastRecord = log.size();
+            this.company.getCustomerNamed("Fred").getOrders().getFirst().addLineItems(new LineItem("teapot", 20.0), 2);
+        }
+        long fullSize = Files.size(path);
+        Assertions.assertTrue(fullSize > sizeBeforeLastRecord);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+        {
+            channel.truncate(fullSize - 3);
+        }
+        Company replayed = MutationLog.replay(path);
+        Assertions.assertFalse(
+                replayed.getCustomerNamed("Fred").getOrders().getFirst().getLineItems().anySatisfy(
+                        item -> item.getName().equals("teapot")));
+        Assertions.assertEquals(2, replayed.getCustomerNamed("Ann").getOrders().size());
+        Assertions.assertEquals(fullSize - 3, Files.size(path));
+
+        Company recovered;
+        try (MutationLog log = MutationLog.recover(path))
+        {
+            Assertions.assertEquals(sizeBeforeLastRecord, Files.size(path));
+            recovered = log.getCompany();
+            recovered.getCustomerNamed("Fred").getOrders().getFirst().addLineItems(new LineItem("teapot", 20.0), 2);
+            recovered.addCustomer(new Customer("Zoe", "Leeds"));
+            Order order = new Order();
+            order.addLineItem(new LineItem("cup", 1.5));
+            recovered.getCustomerNamed("Zoe").addOrder(order);
+            order.deliver();
+        }
+        Assertions.assertTrue(recovered.getCustomerNamed("Fred").orderedItemNamed("teapot"));
+        this.assertSameCompany(recovered, MutationLog.replay(path));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void corruptLengthEndsTheLog() throws IOException
+    {
+        Path path = this.directory.resolve("company.log");
+        long sizeBeforeLastRecord;
+        try (MutationLog log = MutationLog.create(this.company, path))
+        {
+            this.makeChanges();
+            log.commit();
+            sizeBeforeLastRecord = log.size();
+            this.company.getCustomerNamed("Fred").getOrders().getFirst().addLineItems(new LineItem("teapot", 20.0), 2);
+        }
+
+        for (int length : new int[]{0x7FFFFFF0, -16})
+        {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+            {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, length), sizeBeforeLastRecord);
+            }
+            Company replayed = MutationLog.replay(path);
+            Assertions.assertFalse(replayed.getCustomerNamed("Fred").orderedItemNamed("teapot"));
+            Assertions.assertEquals(2, replayed.getCustomerNamed("Ann").getOrders().size());
+        }
+        try (MutationLog log = MutationLog.recover(path))
+        {
+            Assertions.assertEquals(sizeBeforeLastRecord, Files.size(path));
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsOtherFiles() throws IOException
+    {
+        Path path = Files.writeString(this.directory.resolve("orders.csv"), "Fred,London,1,cup,1.5,2\n");
+        Assertions.assertThrows(IOException.class, () -> MutationLog.replay(path));
+    }
+
+    private void makeChanges()
+    {
+        this.company.addSupplier(new Supplier("Teapots Galore", new String[]{"teapot", "kettle"}));
+        Customer ann = new Customer("Ann", "York");
+        Order delivered = Order.newColumnarOrder(1_600_000_000_000L);
+        delivered.addLineItems(new LineItem("teapot", 19.99), 2);
+        delivered.deliver();
+        ann.addOrder(delivered);
+        this.company.addCustomer(ann);
+
+        Order open = new Order();
+        ann.addOrder(open);
+        open.addLineItem(new LineItem("cup", 1.5));
+        open.addLineItems(new LineItem("cup", 1.5), 2);
+        open.addLineItem(new LineItem("saucer", 1.0));
+        this.company.getCustomerNamed("Mary").getOrders().getFirst().deliver();
+        this.company.getCustomerNamed("Bill").getOrders().getFirst().addLineItem(new LineItem("gnome", 7.5));
+    }
+
+    private void assertSameCompany(Company expected, Company actual)
+    {
+        Assertions.assertEquals(expected.getName(), actual.getName());
+        Assertions.assertEquals(expected.getCustomers().collect(Customer::getName), actual.getCustomers().collect(Customer::getName));
+        Assertions.assertEquals(expected.getCustomers().collect(Customer::getCity), actual.getCustomers().collect(Customer::getCity));
+        MutableList<Order> expectedOrders = expected.getOrders();
+        MutableList<Order> actualOrders = actual.getOrders();
+        Assertions.assertEquals(expectedOrders.collectInt(Order::getOrderNumber), actualOrders.collectInt(Order::getOrderNumber));
+        Assertions.assertEquals(expectedOrders.collectLong(Order::getTimestamp), actualOrders.collectLong(Order::getTimestamp));
+        Assertions.assertEquals(expectedOrders.collectBoolean(Order::isDelivered), actualOrders.collectBoolean(Order::isDelivered));
+        Assertions.assertEquals(expectedOrders.collectBoolean(Order::isColumnar), actualOrders.collectBoolean(Order::isColumnar));
+        Assertions.assertEquals(
+                expectedOrders.collect(order -> order.getLineItems().toStringOfItemToCount()),
+                actualOrders.collect(order -> order.getLineItems().toStringOfItemToCount()));
+        Assertions.assertEquals(
+                expectedOrders.collectLong(Order::getValueInMinorUnits),
+                actualOrders.collectLong(Order::getValueInMinorUnits));
+        Assertions.assertEquals(
+                expected.getSuppliers().collect(supplier -> supplier.getName() + Arrays.toString(supplier.getItemNames())),
+                actual.getSuppliers().collect(supplier -> supplier.getName() + Arrays.toString(supplier.getItemNames())));
+        Assertions.assertEquals(expected.getUndeliveredOrderCount(), actual.getUndeliveredOrderCount());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class OrderIngestionPipelineTest extends CompanyDomainForKata
+{
+    private static final String[] CITIES = {"London", "Liphook", "York", "Leeds"};
+    private static final String[] ITEMS = {"cup", "saucer", "shed", "gnome", "teapot"};
+    private static final long[] PRICES_IN_MINOR_UNITS = {150L, 125L, 50_000L, 750L, 1_999L};
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void startExecutor()
+    {
+        this.executor = Executors.newFixedThreadPool(5);
+    }
+
+    @AfterEach
+    public void stopExecutor()
+    {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void ingestMillionsOfOrders() throws Exception
+    {
+        int orders = 2_000_000;
+        int bufferSize = 256;
+        Company company = new Company("Synthetic Supplies");
+        OrderIngestionPipeline pipeline = new OrderIngestionPipeline(company, this.executor, bufferSize, 100);
+        MutableObjectLongMap<String> expectedByCity = new ObjectLongHashMap<>();
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>(this.executor, 64))
+        {
+            publisher.subscribe(pipeline);
+            StringBuilder message = new StringBuilder();
+            for (int i = 0; i < orders; i++)
+            {
+                int customer = i % 10_000;
+                String city = CITIES[customer % CITIES.length];
+                int item = i % ITEMS.length;
+                int count = 1 + i % 3;
+                message.setLength(0);
+                message.append("Customer ").append(customer).append(',').append(city).append(',')
+                        .append(ITEMS[item]).append(',').append(PRICES_IN_MINOR_UNITS[item] / 100.0).append(',')
+                        .append(count);
+                expectedByCity.addToValue(city, PRICES_IN_MINOR_UNITS[item] * count);
+                publisher.submit(message.toString());
+            }
+        }
+
+        Assertions.assertEquals(orders, pipeline.getCompletion().get(5L, TimeUnit.MINUTES).longValue());
+        Assertions.assertEquals(10_000, company.getCustomers().size());
+        Assertions.assertEquals(orders, company.getOrderCount());
+        Assertions.assertEquals(expectedByCity, company.getTotalOrderValuesInMinorUnitsByCity());
+
+        ImmutableList<OrderIngestionPipeline.StageMetrics> metrics = pipeline.getStageMetrics();
+        Assertions.assertEquals(
+                "parse validate lookUp insert",
+                metrics.collect(OrderIngestionPipeline.StageMetrics::getName).makeString(" "));
+        metrics.each(stage ->
+        {
+            Assertions.assertEquals(orders, stage.getProcessed());
+            Assertions.assertEquals(0L, stage.getRejected());
+            Assertions.assertEquals(bufferSize, stage.getQueueCapacity());
+            Assertions.assertTrue(stage.getMaximumQueueDepth() <= bufferSize);
+            Assertions.assertEquals(0, stage.getQueueDepth());
+            Assertions.assertTrue(stage.getThroughput() > 0.0);
+        });
+        Assertions.assertTrue(metrics.getLast().getBatches() >= orders / 100);
+        Assertions.assertTrue(metrics.getLast().getBatches() <= orders);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsMalformedAndInvalidOrders() throws Exception
+    {
+        OrderIngestionPipeline pipeline = new OrderIngestionPipeline(this.company, this.executor, 4, 2);
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>(this.executor, 4))
+        {
+            publisher.subscribe(pipeline);
+            publisher.submit("Fred,London,kettle,25.0,1,cup,1.5,2");
+            publisher.submit("Fred,London,kettle");
+            publisher.submit("Fred,London,kettle,cheap,1");
+            publisher.submit("Fred,London,kettle,25.0,0");
+            publisher.submit(",London,kettle,25.0,1");
+            publisher.submit("Ann,York,teapot,19.99,1");
+        }
+
+        Assertions.assertEquals(2L, pipeline.getCompletion().get(1L, TimeUnit.MINUTES).longValue());
+        ImmutableList<OrderIngestionPipeline.StageMetrics> metrics = pipeline.getStageMetrics();
+        Assertions.assertEquals(6L, metrics.get(0).getProcessed());
+        Assertions.assertEquals(2L, metrics.get(0).getRejected());
+        Assertions.assertEquals(2L, metrics.get(1).getRejected());
+        Assertions.assertEquals(2L, metrics.get(3).getProcessed());
+        Assertions.assertTrue(metrics.get(3).getBatches() >= 1L);
+
+        Customer fred = this.company.getCustomerNamed("Fred");
+        Assertions.assertEquals(2, fred.getOrders().size());
+        Assertions.assertEquals(28.0, fred.getOrders().getLast().getValue(), 0.0);
+        Assertions.assertEquals("York", this.company.getCustomerNamed("Ann").getCity());
+        Assertions.assertTrue(this.company.getCustomersWhoOrderedItemNamed("kettle").contains(fred));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsItemNamesPastTheLimit() throws Exception
+    {
+        new LineItem("cup", 1.5);
+        int limit = ItemNameDictionary.shared().size();
+        OrderIngestionPipeline pipeline = new OrderIngestionPipeline(this.company, this.executor, 4, 2, limit);
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>(this.executor, 4))
+        {
+            publisher.subscribe(pipeline);
+            publisher.submit("Fred,London,cup,1.5,2,item the pipeline has not seen,1.0,1");
+            publisher.submit("Fred,London,cup,1.5,2");
+        }
+
+        Assertions.assertEquals(1L, pipeline.getCompletion().get(1L, TimeUnit.MINUTES).longValue());
+        Assertions.assertEquals(1L, pipeline.getStageMetrics().get(2).getRejected());
+        Assertions.assertEquals(-1, ItemNameDictionary.shared().getIfPresent("item the pipeline has not seen"));
+        Assertions.assertEquals(3.0, this.company.getCustomerNamed("Fred").getOrders().getLast().getValue(), 0.0);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void publisherFailure()
+    {
+        OrderIngestionPipeline pipeline = new OrderIngestionPipeline(this.company, this.executor, 4, 2);
+        SubmissionPublisher<String> publisher = new SubmissionPublisher<>(this.executor, 4);
+        publisher.subscribe(pipeline);
+        publisher.submit("Fred,London,kettle,25.0,1");
+        publisher.closeExceptionally(new IllegalStateException("Source went away"));
+        ExecutionException exception = Assertions.assertThrows(
+                ExecutionException.class,
+                () -> pipeline.getCompletion().get(1L, TimeUnit.MINUTES));
+        Assertions.assertEquals("Source went away", exception.getCause().getMessage());
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> new OrderIngestionPipeline(this.company, this.executor, 1, 1));
+    }
+}
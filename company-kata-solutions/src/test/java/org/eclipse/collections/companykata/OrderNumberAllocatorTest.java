@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class OrderNumberAllocatorTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void ordersAreNumberedFromOneAfterReset()
+    {
+        new Order();
+        Order.resetNextOrderNumber();
+
+        Assertions.assertEquals(
+                IntLists.mutable.with(1, 2, 3),
+                Lists.mutable.with(new Order(), Order.newColumnarOrder(), new Order()).collectInt(Order::getOrderNumber));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void blocksAreLeasedInOrder()
+    {
+        OrderNumberAllocator allocator = new OrderNumberAllocator(2);
+        MutableIntList numbers = IntLists.mutable.empty();
+        for (int i = 0; i < 5; i++)
+        {
+            numbers.add(allocator.next());
+        }
+        allocator.reset();
+        numbers.add(allocator.next());
+
+        Assertions.assertEquals(IntLists.mutable.with(1, 2, 3, 4, 5, 1), numbers);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new OrderNumberAllocator(0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void numbersAreUniqueAcrossThreads() throws Exception
+    {
+        OrderNumberAllocator allocator = new OrderNumberAllocator(16);
+        int threads = 8;
+        int numbersPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            MutableList<Future<MutableIntList>> futures = Lists.mutable.empty();
+            for (int thread = 0; thread < threads; thread++)
+            {
+                futures.add(executor.submit(() -> {
+                    MutableIntList numbers = IntLists.mutable.empty();
+                    for (int i = 0; i < numbersPerThread; i++)
+                    {
+                        numbers.add(allocator.next());
+                    }
+                    return numbers;
+                }));
+            }
+            MutableIntSet unique = IntSets.mutable.empty();
+            for (Future<MutableIntList> future : futures)
+            {
+                unique.addAll(future.get());
+            }
+            Assertions.assertEquals(threads * numbersPerThread, unique.size());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.test.Verify;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class OrderTest
+{
+    private static void addLineItems(Order order)
+    {
+        order.addLineItem(new LineItem("shed", 50.0));
+        order.addLineItems(new LineItem("cup", 1.5), 3);
+        order.addLineItems(new LineItem("saucer", 1.0), 3);
+        order.addLineItem(new LineItem("chair", 12.50));
+        order.addLineItem(new LineItem("table", 1.0));
+        order.addLineItem(new LineItem("cup", 1.5));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void columnarOrderBehavesLikeSortedBagOrder()
+    {
+        Order bagOrder = new Order();
+        Order columnarOrder = Order.newColumnarOrder();
+        OrderTest.addLineItems(bagOrder);
+        OrderTest.addLineItems(columnarOrder);
+
+        Bag<LineItem> bagItems = bagOrder.getLineItems();
+        Bag<LineItem> columnarItems = columnarOrder.getLineItems();
+        Verify.assertSize(10, columnarItems);
+        Assertions.assertEquals(bagItems.toList().collect(LineItem::getName), columnarItems.toList().collect(LineItem::getName));
+        Assertions.assertEquals(bagItems.toList().collect(LineItem::getValue), columnarItems.toList().collect(LineItem::getValue));
+        Assertions.assertEquals(
+                Lists.mutable.with("chair", "cup", "saucer", "shed", "table"),
+                columnarItems.toSortedSet(SortedBagLineItemStore.BY_NAME).collect(LineItem::getName).toList());
+
+        Assertions.assertEquals(bagOrder.getValue(), columnarOrder.getValue(), 0.0);
+        Assertions.assertEquals(bagOrder.computeValue(), columnarOrder.computeValue(), 0.0);
+        Assertions.assertEquals(bagOrder.computeValueInMinorUnits(), columnarOrder.computeValueInMinorUnits());
+        Assertions.assertTrue(columnarOrder.containsItemNamed("saucer"));
+        Assertions.assertFalse(columnarOrder.containsItemNamed("gnome"));
+        Assertions.assertFalse(columnarOrder.containsItemNamed("never ordered by anyone"));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void columnarOrderKeepsFirstItemForName()
+    {
+        Order bagOrder = new Order();
+        Order columnarOrder = Order.newColumnarOrder();
+        bagOrder.addLineItem(new LineItem("cup", 1.5));
+        bagOrder.addLineItem(new LineItem("cup", 2.0));
+        columnarOrder.addLineItem(new LineItem("cup", 1.5));
+        columnarOrder.addLineItem(new LineItem("cup", 2.0));
+
+        Assertions.assertEquals(bagOrder.computeValue(), columnarOrder.computeValue(), 0.0);
+        Assertions.assertEquals(2, columnarOrder.getLineItems().occurrencesOf(columnarOrder.getLineItems().getFirst()));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void columnarOrdersInCompany()
+    {
+        Company company = new Company("Bloggs Shed Supplies");
+        Customer fred = new Customer("Fred", "London");
+        Order order = Order.newColumnarOrder();
+        fred.addOrder(order);
+        company.addCustomer(fred);
+        OrderTest.addLineItems(order);
+
+        Assertions.assertEquals(72.5, fred.getTotalOrderValue(), 0.0);
+        Assertions.assertEquals(6.0, company.sumLineItemValuesBy(LineItem::getName).get("cup"), 0.0);
+        Assertions.assertTrue(company.getCustomersWhoOrderedItemNamed("table").contains(fred));
+    }
+}
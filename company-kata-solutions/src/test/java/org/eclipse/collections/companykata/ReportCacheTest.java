@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import org.eclipse.collections.api.map.primitive.ObjectDoubleMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ReportCacheTest extends CompanyDomainForKata
+{
+    @Test
+    @Tag("SOLUTION")
+    public void versionChangesWithEveryMutation()
+    {
+        long version = this.company.getVersion();
+        Customer ann = new Customer("Ann", "York");
+        Order order = new Order();
+        ann.addOrder(order);
+        Assertions.assertEquals(version, this.company.getVersion());
+
+        this.company.addCustomer(ann);
+        version = this.assertVersionChanged(version);
+        order.addLineItem(new LineItem("cup", 1.5));
+        version = this.assertVersionChanged(version);
+        ann.addOrder(new Order());
+        version = this.assertVersionChanged(version);
+        order.deliver();
+        version = this.assertVersionChanged(version);
+        order.deliver();
+        Assertions.assertEquals(version, this.company.getVersion());
+        this.company.addSupplier(new Supplier("Teapots Galore", new String[]{"teapot"}));
+        this.assertVersionChanged(version);
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void cachedUntilTheCompanyChanges()
+    {
+        ReportCache cache = new ReportCache(this.company, 10);
+        int[] computations = new int[1];
+        ObjectDoubleMap<String> byCity = cache.get("byCity", company ->
+        {
+            computations[0]++;
+            return company.sumOrderValuesBy(Customer::getCity);
+        });
+        Assertions.assertSame(byCity, cache.get("byCity", company -> company.sumOrderValuesBy(Customer::getCity)));
+        Assertions.assertEquals(1, computations[0]);
+        Assertions.assertEquals(1L, cache.getHitCount());
+        Assertions.assertEquals(1L, cache.getMissCount());
+
+        this.company.getCustomerNamed("Fred").getOrders().getFirst().addLineItem(new LineItem("sofa", 120.0));
+        ObjectDoubleMap<String> updated = cache.get("byCity", company -> company.sumOrderValuesBy(Customer::getCity));
+        Assertions.assertNotSame(byCity, updated);
+        Assertions.assertEquals(byCity.get("London") + 120.0, updated.get("London"), 0.001);
+        Assertions.assertEquals(this.company.sumOrderValuesBy(Customer::getCity), updated);
+        Assertions.assertEquals(2L, cache.getMissCount());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void evictsLeastRecentlyUsed()
+    {
+        ReportCache cache = new ReportCache(this.company, 2);
+        ObjectLongMap<String> byCity = cache.get("byCity", Company::getTotalOrderValuesInMinorUnitsByCity);
+        cache.get("byItem", Company::getTotalOrderValuesInMinorUnitsByItem);
+        cache.get("byCity", Company::getTotalOrderValuesInMinorUnitsByCity);
+        cache.get("bySupplier", Company::sumLineItemValuesBySupplier);
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1L, cache.getHitCount());
+        Assertions.assertEquals(3L, cache.getMissCount());
+
+        Assertions.assertSame(byCity, cache.get("byCity", Company::getTotalOrderValuesInMinorUnitsByCity));
+        cache.get("byItem", Company::getTotalOrderValuesInMinorUnitsByItem);
+        Assertions.assertEquals(4L, cache.getMissCount());
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ReportCache(this.company, 0));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void concurrentCompany()
+    {
+        Company concurrent = Company.newConcurrentCompany("Bloggs Shed Supplies");
+        this.company.getCustomers().each(concurrent::addCustomer);
+        ReportCache cache = new ReportCache(concurrent, 4);
+        Assertions.assertEquals(
+                this.company.getTotalOrderValuesInMinorUnitsByCity(),
+                cache.get("byCity", Company::getTotalOrderValuesInMinorUnitsByCity));
+        Assertions.assertEquals(
+                this.company.getTotalOrderValuesInMinorUnitsByCity(),
+                cache.get("byCity", Company::getTotalOrderValuesInMinorUnitsByCity));
+        Assertions.assertEquals(1L, cache.getHitCount());
+    }
+
+    private long assertVersionChanged(long version)
+    {
+        Assertions.assertNotEquals(version, this.company.getVersion());
+        return this.company.getVersion();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.companykata;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.ObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class RevenueRollupTest
+{
+    private static final long NOW = 1_609_459_200_000L;
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    @Tag("SOLUTION")
+    public void revenueInTheLastMinutesByCity()
+    {
+        MutableClock clock = new MutableClock(NOW);
+        Company company = new Company("Timely Teapots");
+        Customer fred = new Customer("Fred", "London");
+        fred.addOrder(RevenueRollupTest.orderAt(NOW - 2L * 60L * MINUTE, new LineItem("shed", 500.0), 1));
+        company.addCustomer(fred);
+        RevenueRollup rollup = company.addRevenueRollup(Duration.ofMinutes(1L), 60, clock);
+
+        Order recent = RevenueRollupTest.orderAt(NOW - MINUTE, new LineItem("cup", 1.5), 2);
+        fred.addOrder(recent);
+        Customer mary = new Customer("Mary", "Liphook");
+        mary.addOrder(RevenueRollupTest.orderAt(NOW - 10L * MINUTE, new LineItem("teapot", 19.99), 1));
+        company.addCustomer(mary);
+
+        Assertions.assertEquals(ObjectLongHashMap.newWithKeysValues("London", 300L), rollup.getRevenueInMinorUnitsByCity(Duration.ofMinutes(5L)));
+        Assertions.assertEquals(
+                ObjectLongHashMap.newWithKeysValues("London", 300L, "Liphook", 1_999L),
+                rollup.getRevenueInMinorUnitsByCity(Duration.ofMinutes(15L)));
+        Assertions.assertEquals(
+                rollup.getRevenueInMinorUnitsByCity(Duration.ofMinutes(60L)),
+                rollup.getRevenueInMinorUnitsByCity(Duration.ofHours(3L)));
+        Assertions.assertEquals(3.0, rollup.getRevenueByCity(Duration.ofMinutes(5L)).get("London"), 0.0);
+
+        recent.addLineItem(new LineItem("saucer", 1.0));
+        Assertions.assertEquals(
+                ObjectLongHashMap.newWithKeysValues("cup", 300L, "saucer", 100L),
+                rollup.getRevenueInMinorUnitsByItem(Duration.ofMinutes(5L)));
+        Assertions.assertEquals(4.0, rollup.getRevenueByItem(Duration.ofMinutes(5L)).sum(), 0.0);
+
+        clock.advance(Duration.ofMinutes(30L));
+        Assertions.assertTrue(rollup.getRevenueByCity(Duration.ofMinutes(5L)).isEmpty());
+        Assertions.assertEquals(1_999L, rollup.getRevenueInMinorUnitsByCity(Duration.ofMinutes(45L)).get("Liphook"));
+
+        clock.advance(Duration.ofMinutes(60L));
+        fred.addOrder(RevenueRollupTest.orderAt(clock.millis(), new LineItem("gnome", 7.5), 1));
+        fred.addOrder(RevenueRollupTest.orderAt(NOW - MINUTE, new LineItem("shed", 500.0), 1));
+        Assertions.assertEquals(
+                ObjectLongHashMap.newWithKeysValues("London", 750L),
+                rollup.getRevenueInMinorUnitsByCity(Duration.ofHours(1L)));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void matchesScanOfGeneratedOrders()
+    {
+        long from = NOW - 3L * 60L * MINUTE;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            for (long seed = 0L; seed < 5L; seed++)
+            {
+                Company company = new CompanyDataGenerator(seed)
+                        .withCustomers(2_000)
+                        .withTimestamps(from, NOW)
+                        .generate("Generated Supplies " + seed, executor);
+                MutableClock clock = new MutableClock(NOW - 1L);
+                RevenueRollup rollup = company.addRevenueRollup(Duration.ofMinutes(5L), 24, clock);
+                for (long minutes : new long[]{1L, 5L, 17L, 60L, 120L, 500L})
+                {
+                    Duration window = Duration.ofMinutes(minutes);
+                    long bucketCount = Math.min((minutes + 4L) / 5L, 24L);
+                    long after = NOW - bucketCount * 5L * MINUTE;
+                    Assertions.assertEquals(
+                            RevenueRollupTest.scanByCity(company, after, NOW),
+                            rollup.getRevenueInMinorUnitsByCity(window),
+                            "seed " + seed + ", window " + window);
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void ordersAheadOfTheClockAreDropped()
+    {
+        MutableClock clock = new MutableClock(NOW);
+        Company company = new Company("Timely Teapots");
+        Customer fred = new Customer("Fred", "London");
+        company.addCustomer(fred);
+        RevenueRollup rollup = company.addRevenueRollup(Duration.ofMinutes(1L), 60, clock);
+        fred.addOrder(RevenueRollupTest.orderAt(NOW - 2L * MINUTE, new LineItem("cup", 1.5), 2));
+
+        fred.addOrder(RevenueRollupTest.orderAt(NOW + 58L * MINUTE, new LineItem("shed", 500.0), 1));
+        fred.addOrder(RevenueRollupTest.orderAt(NOW + MINUTE, new LineItem("gnome", 7.5), 1));
+        Assertions.assertEquals(
+                ObjectLongHashMap.newWithKeysValues("cup", 300L),
+                rollup.getRevenueInMinorUnitsByItem(Duration.ofMinutes(5L)));
+
+        clock.advance(Duration.ofMinutes(2L));
+        Assertions.assertEquals(
+                ObjectLongHashMap.newWithKeysValues("cup", 300L),
+                rollup.getRevenueInMinorUnitsByItem(Duration.ofMinutes(5L)));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void rejectsBadArguments()
+    {
+        Company company = new Company("Timely Teapots");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> company.addRevenueRollup(Duration.ZERO, 10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> company.addRevenueRollup(Duration.ofMinutes(1L), 0));
+        RevenueRollup rollup = company.addRevenueRollup(Duration.ofMinutes(1L), 10);
+        Assertions.assertEquals(Duration.ofMinutes(10L), rollup.getRetention());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> rollup.getRevenueByCity(Duration.ofMinutes(-1L)));
+    }
+
+    private static Order orderAt(long timestamp, LineItem item, int count)
+    {
+        Order order = new Order(timestamp);
+        order.addLineItems(item, count);
+        return order;
+    }
+
+    private static ObjectLongMap<String> scanByCity(Company company, long from, long to)
+    {
+        MutableObjectLongMap<String> result = new ObjectLongHashMap<>();
+        company.getCustomers().each(customer -> customer.getOrders()
+                .select(order -> order.getTimestamp() >= from && order.getTimestamp() < to)
+                .each(order -> result.addToValue(customer.getCity(), order.getValueInMinorUnits())));
+        return result;
+    }
+
+    private static final class MutableClock extends Clock
+    {
+        private long millis;
+
+        private MutableClock(long millis)
+        {
+            this.millis = millis;
+        }
+
+        private void advance(Duration duration)
+        {
+            this.millis += duration.toMillis();
+        }
+
+        @Override
+        public long millis()
+        {
+            return this.millis;
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return Instant.ofEpochMilli(this.millis);
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone)
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
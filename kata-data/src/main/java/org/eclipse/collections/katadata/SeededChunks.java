@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katadata;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeds the random generator of each chunk of generated data from the seed of the whole run and the index of the
+ * chunk, so that chunks can be generated in any order, on any thread, and still give the same data. The seeds of
+ * consecutive chunks are a golden-ratio increment apart, which {@link SplittableRandom} spreads into unrelated
+ * streams.
+ */
+public final class SeededChunks
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private SeededChunks()
+    {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Returns a new random generator for the chunk with the given index, counting from 0.
+     */
+    public static SplittableRandom randomFor(long seed, int chunk)
+    {
+        if (chunk < 0)
+        {
+            throw new IllegalArgumentException("Chunk must not be negative but was " + chunk);
+        }
+        return new SplittableRandom(seed + (chunk + 1L) * GOLDEN_GAMMA);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katadata;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Samples ranks from 0 to {@code size - 1} with a Zipf distribution, where rank {@code k} is drawn with a
+ * probability proportional to {@code 1 / (k + 1)^exponent}. An exponent of 0 gives a uniform distribution. A sample
+ * is a binary search of the cumulative probabilities, which are computed once. It is shared by the data generators
+ * of the katas, so that they draw the same ranks from the same random numbers.
+ */
+public final class ZipfDistribution
+{
+    private final double[] cumulativeProbabilities;
+
+    public ZipfDistribution(int size, double exponent)
+    {
+        if (size <= 0)
+        {
+            throw new IllegalArgumentException("Size must be positive but was " + size);
+        }
+        if (exponent < 0.0 || Double.isNaN(exponent))
+        {
+            throw new IllegalArgumentException("Exponent must not be negative but was " + exponent);
+        }
+        this.cumulativeProbabilities = new double[size];
+        double total = 0.0;
+        for (int rank = 0; rank < size; rank++)
+        {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            this.cumulativeProbabilities[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++)
+        {
+            this.cumulativeProbabilities[rank] /= total;
+        }
+        this.cumulativeProbabilities[size - 1] = 1.0;
+    }
+
+    public int size()
+    {
+        return this.cumulativeProbabilities.length;
+    }
+
+    public double probabilityOf(int rank)
+    {
+        double below = rank == 0 ? 0.0 : this.cumulativeProbabilities[rank - 1];
+        return this.cumulativeProbabilities[rank] - below;
+    }
+
+    public int sample(SplittableRandom random)
+    {
+        int index = Arrays.binarySearch(this.cumulativeProbabilities, random.nextDouble());
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+}
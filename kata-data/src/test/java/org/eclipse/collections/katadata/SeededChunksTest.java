@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katadata;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class SeededChunksTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void randomFor()
+    {
+        Assertions.assertEquals(
+                new SplittableRandom(42L + 0x9E3779B97F4A7C15L).nextLong(),
+                SeededChunks.randomFor(42L, 0).nextLong());
+        Assertions.assertEquals(SeededChunks.randomFor(42L, 3).nextLong(), SeededChunks.randomFor(42L, 3).nextLong());
+        Assertions.assertNotEquals(SeededChunks.randomFor(42L, 3).nextLong(), SeededChunks.randomFor(42L, 4).nextLong());
+        Assertions.assertNotEquals(SeededChunks.randomFor(42L, 3).nextLong(), SeededChunks.randomFor(43L, 3).nextLong());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SeededChunks.randomFor(42L, -1));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2021 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.katadata;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ZipfDistributionTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void probabilities()
+    {
+        ZipfDistribution distribution = new ZipfDistribution(4, 1.0);
+        Assertions.assertEquals(4, distribution.size());
+        double harmonic = 1.0 + 1.0 / 2 + 1.0 / 3 + 1.0 / 4;
+        for (int rank = 0; rank < 4; rank++)
+        {
+            Assertions.assertEquals(1.0 / (rank + 1) / harmonic, distribution.probabilityOf(rank), 1.0e-12);
+        }
+        ZipfDistribution uniform = new ZipfDistribution(5, 0.0);
+        for (int rank = 0; rank < 5; rank++)
+        {
+            Assertions.assertEquals(0.2, uniform.probabilityOf(rank), 1.0e-12);
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(4, -1.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(4, Double.NaN));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void samples()
+    {
+        ZipfDistribution distribution = new ZipfDistribution(4, 1.0);
+        SplittableRandom random = new SplittableRandom(0L);
+        int[] counts = new int[4];
+        for (int i = 0; i < 100_000; i++)
+        {
+            counts[distribution.sample(random)]++;
+        }
+        for (int rank = 0; rank < 4; rank++)
+        {
+            double expected = distribution.probabilityOf(rank) * 100_000;
+            Assertions.assertEquals(expected, counts[rank], 0.05 * expected);
+        }
+        Assertions.assertEquals(0, new ZipfDistribution(1, 3.0).sample(random));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.katadata.SeededChunks;
+import org.eclipse.collections.katadata.ZipfDistribution;
+
+/**
+ * Generates a list of {@link Person}s with synthetic pets, for studying how the kata's queries scale. Pet types are
+ * drawn with a Zipf distribution in the order of {@link PetType#values()}, so cats are the most common and snakes the
+ * rarest. Each person has between zero and a maximum number of pets, uniformly.
+ * <p/>
+ * The list is a function of the seed and the sizes only. People are generated in fixed-size chunks on an
+ * {@link ExecutorService}, each chunk from its own random generator seeded from the chunk index by
+ * {@link SeededChunks}, and are added to the list in order, so the result does not depend on the number of threads.
+ */
+public final class PetDataGenerator
+{
+    static final int CHUNK_SIZE = 4_096;
+
+    private static final String[] FIRST_NAMES = {
+            "Mary", "Bob", "Ted", "Jake", "Barry", "Terry", "Harry", "John", "Ann", "Sue",
+            "Alice", "Omar", "Priya", "Chen", "Olga", "Luis", "Fatima", "Kenji", "Noor", "Ivan"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Snake", "Bird", "Turtle", "Hamster", "Doe", "Jones", "Brown", "Patel", "Garcia",
+            "Kim", "Nguyen", "Muller", "Rossi", "Silva", "Novak", "Khan", "Sato", "Olsen", "Dubois"};
+    private static final String[] PET_NAMES = {
+            "Tabby", "Dolly", "Spot", "Spike", "Serpy", "Tweety", "Speedy", "Fuzzy", "Wuzzy", "Rex",
+            "Bella", "Max", "Luna", "Charlie", "Coco", "Milo", "Nala", "Oscar", "Pip", "Ziggy"};
+    private static final PetType[] PET_TYPES = PetType.values();
+
+    private final long seed;
+    private int personCount = 1_000;
+    private int maximumPetsPerPerson = 3;
+    private double petTypeExponent = 1.0;
+    private int maximumAge = 15;
+
+    public PetDataGenerator(long seed)
+    {
+        this.seed = seed;
+    }
+
+    public PetDataGenerator withPeople(int personCount)
+    {
+        if (personCount < 0)
+        {
+            throw new IllegalArgumentException("Person count must not be negative but was " + personCount);
+        }
+        this.personCount = personCount;
+        return this;
+    }
+
+    public PetDataGenerator withMaximumPetsPerPerson(int maximumPetsPerPerson)
+    {
+        if (maximumPetsPerPerson < 0)
+        {
+            throw new IllegalArgumentException("Pets per person must not be negative but was " + maximumPetsPerPerson);
+        }
+        this.maximumPetsPerPerson = maximumPetsPerPerson;
+        return this;
+    }
+
+    /**
+     * Sets the exponent of the Zipf distribution that pet types are drawn from; an exponent of 0 draws them uniformly.
+     */
+    public PetDataGenerator withPetTypeExponent(double exponent)
+    {
+        if (!(exponent >= 0.0))
+        {
+            throw new IllegalArgumentException("Exponent must not be negative but was " + exponent);
+        }
+        this.petTypeExponent = exponent;
+        return this;
+    }
+
+    public PetDataGenerator withMaximumAge(int maximumAge)
+    {
+        if (maximumAge <= 0)
+        {
+            throw new IllegalArgumentException("Maximum age must be positive but was " + maximumAge);
+        }
+        this.maximumAge = maximumAge;
+        return this;
+    }
+
+    /**
+     * Generates the people, creating them and their pets on the executor.
+     */
+    public MutableList<Person> generate(ExecutorService executor)
+    {
+        ZipfDistribution petTypes = new ZipfDistribution(PET_TYPES.length, this.petTypeExponent);
+        MutableList<Callable<Person[]>> tasks = Lists.mutable.empty();
+        for (int from = 0; from < this.personCount; from += CHUNK_SIZE)
+        {
+            int chunkFrom = from;
+            int chunkTo = Math.min(from + CHUNK_SIZE, this.personCount);
+            tasks.add(() -> this.generatePeople(chunkFrom, chunkTo, petTypes));
+        }
+        MutableList<Person> people = Lists.mutable.withInitialCapacity(this.personCount);
+        try
+        {
+            for (Future<Person[]> future : executor.invokeAll(tasks))
+            {
+                people.addAll(Lists.fixedSize.with(future.get()));
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating people", e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException("Could not generate people", e.getCause());
+        }
+        return people;
+    }
+
+    private Person[] generatePeople(int from, int to, ZipfDistribution petTypes)
+    {
+        SplittableRandom random = SeededChunks.randomFor(this.seed, from / CHUNK_SIZE);
+        Person[] people = new Person[to - from];
+        for (int i = 0; i < people.length; i++)
+        {
+            Person person = new Person(
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            for (int pets = random.nextInt(this.maximumPetsPerPerson + 1); pets > 0; pets--)
+            {
+                person.addPet(
+                        PET_TYPES[petTypes.sample(random)],
+                        PET_NAMES[random.nextInt(PET_NAMES.length)],
+                        1 + random.nextInt(this.maximumAge));
+            }
+            people[i] = person;
+        }
+        return people;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019 Goldman Sachs and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Eclipse Distribution License v. 1.0 which accompany this distribution.
+ * The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ * and the Eclipse Distribution License is available at
+ * http://www.eclipse.org/org/documents/edl-v10.php.
+ */
+
+package org.eclipse.collections.petkata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.collections.api.bag.MutableBag;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class PetDataGeneratorTest
+{
+    @Test
+    @Tag("SOLUTION")
+    public void sizesAndRanges()
+    {
+        MutableList<Person> people = PetDataGeneratorTest.generate(
+                new PetDataGenerator(7L).withPeople(10_000).withMaximumPetsPerPerson(4).withMaximumAge(12),
+                4);
+
+        Assertions.assertEquals(10_000, people.size());
+        Assertions.assertTrue(people.allSatisfy(person -> person.getPets().size() <= 4));
+        Assertions.assertTrue(people.flatCollect(Person::getPets).allSatisfy(pet -> pet.getAge() >= 1 && pet.getAge() <= 12));
+        Assertions.assertEquals(20_000.0, people.sumOfInt(person -> person.getPets().size()), 1_000.0);
+        Assertions.assertEquals(2_000.0, people.count(person -> !person.isPetPerson()), 200.0);
+        Assertions.assertTrue(
+                PetDataGeneratorTest.generate(new PetDataGenerator(7L).withMaximumPetsPerPerson(0), 1)
+                        .noneSatisfy(Person::isPetPerson));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void samePeopleForAnyNumberOfThreads()
+    {
+        PetDataGenerator generator = new PetDataGenerator(42L).withPeople(3 * PetDataGenerator.CHUNK_SIZE + 17);
+        MutableList<Person> people = PetDataGeneratorTest.generate(generator, 1);
+        MutableList<Person> others = PetDataGeneratorTest.generate(generator, 4);
+
+        Assertions.assertEquals(
+                people.collect(PetDataGeneratorTest::describe),
+                others.collect(PetDataGeneratorTest::describe));
+        Assertions.assertNotEquals(
+                people.collect(PetDataGeneratorTest::describe),
+                PetDataGeneratorTest.generate(new PetDataGenerator(43L).withPeople(people.size()), 4)
+                        .collect(PetDataGeneratorTest::describe));
+    }
+
+    @Test
+    @Tag("SOLUTION")
+    public void petTypesFollowZipf()
+    {
+        MutableBag<PetType> petTypes = PetDataGeneratorTest.generate(new PetDataGenerator(1L).withPeople(40_000), 2)
+                .flatCollect(Person::getPets)
+                .countBy(Pet::getType);
+
+        double harmonic = 1.0 + 1.0 / 2 + 1.0 / 3 + 1.0 / 4 + 1.0 / 5 + 1.0 / 6;
+        int total = petTypes.size();
+        PetType[] types = PetType.values();
+        for (int rank = 0; rank < types.length; rank++)
+        {
+            double expected = total / harmonic / (rank + 1);
+            Assertions.assertEquals(expected, petTypes.occurrencesOf(types[rank]), 0.1 * expected);
+        }
+
+        MutableBag<PetType> uniform = PetDataGeneratorTest.generate(
+                new PetDataGenerator(1L).withPeople(40_000).withPetTypeExponent(0.0),
+                2).flatCollect(Person::getPets).countBy(Pet::getType);
+        uniform.forEachWithOccurrences(
+                (type, count) -> Assertions.assertEquals(uniform.size() / 6.0, count, 0.05 * uniform.size() / 6.0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new PetDataGenerator(0L).withPetTypeExponent(-1.0));
+    }
+
+    private static String describe(Person person)
+    {
+        return person.getFirstName() + ' ' + person.getLastName() + ' '
+                + person.getPets().collect(pet -> pet.getType() + " " + pet.getName() + " " + pet.getAge());
+    }
+
+    private static MutableList<Person> generate(PetDataGenerator generator, int threads)
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            return generator.generate(executor);
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+}